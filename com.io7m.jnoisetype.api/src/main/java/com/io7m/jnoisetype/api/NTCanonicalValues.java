@@ -0,0 +1,74 @@
+/*
+ * Copyright © 2019 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jnoisetype.api;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+
+/**
+ * A table of canonical values for the unsigned 16-bit integers, created on first use. The table
+ * is divided into pages, and only the pages that have been used are allocated.
+ *
+ * @param <T> The type of values
+ */
+
+final class NTCanonicalValues<T>
+{
+  private static final int PAGE_BITS = 8;
+  private static final int PAGE_SIZE = 1 << PAGE_BITS;
+  private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+  private final IntFunction<T> constructor;
+  private final AtomicReferenceArray<AtomicReferenceArray<T>> pages;
+
+  NTCanonicalValues(
+    final IntFunction<T> in_constructor)
+  {
+    this.constructor = Objects.requireNonNull(in_constructor, "constructor");
+    this.pages = new AtomicReferenceArray<>(0x10000 >>> PAGE_BITS);
+  }
+
+  /**
+   * @param value A value in the range {@code [0, 0xffff]}
+   *
+   * @return The canonical value for {@code value}
+   */
+
+  T get(
+    final int value)
+  {
+    final var page_index = value >>> PAGE_BITS;
+    var page = this.pages.get(page_index);
+    if (page == null) {
+      this.pages.compareAndSet(page_index, null, new AtomicReferenceArray<>(PAGE_SIZE));
+      page = this.pages.get(page_index);
+    }
+
+    final var slot = value & PAGE_MASK;
+    final var existing = page.get(slot);
+    if (existing != null) {
+      return existing;
+    }
+
+    final var created = this.constructor.apply(value);
+    if (page.compareAndSet(slot, null, created)) {
+      return created;
+    }
+    return page.get(slot);
+  }
+}
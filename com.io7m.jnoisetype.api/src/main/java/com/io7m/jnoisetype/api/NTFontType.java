@@ -17,6 +17,7 @@
 package com.io7m.jnoisetype.api;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * The type of SoundFonts®
@@ -47,4 +48,52 @@ public interface NTFontType
    */
 
   List<NTSampleType> samples();
+
+  /**
+   * Find the preset with the given bank and program number. If more than one preset has the
+   * same bank and program number, the first is returned. The lookup uses an index built when
+   * the font is interpreted.
+   *
+   * @param bank    The bank
+   * @param program The program number
+   *
+   * @return The preset, if one exists
+   */
+
+  Optional<NTPresetType> presetFor(
+    int bank,
+    int program);
+
+  /**
+   * Find the preset with the given name. If more than one preset has the same name, the first
+   * is returned.
+   *
+   * @param name The name
+   *
+   * @return The preset, if one exists
+   */
+
+  Optional<NTPresetType> presetNamed(String name);
+
+  /**
+   * Find the instrument with the given name. If more than one instrument has the same name,
+   * the first is returned.
+   *
+   * @param name The name
+   *
+   * @return The instrument, if one exists
+   */
+
+  Optional<NTInstrumentType> instrumentNamed(String name);
+
+  /**
+   * Find the sample with the given name. If more than one sample has the same name, the first
+   * is returned.
+   *
+   * @param name The name
+   *
+   * @return The sample, if one exists
+   */
+
+  Optional<NTSampleType> sampleNamed(String name);
 }
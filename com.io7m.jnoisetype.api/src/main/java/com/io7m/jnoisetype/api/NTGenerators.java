@@ -16,6 +16,8 @@
 
 package com.io7m.jnoisetype.api;
 
+import com.io7m.jranges.RangeCheck;
+
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.Collections;
@@ -34,8 +36,18 @@ import java.util.TreeMap;
 
 public final class NTGenerators
 {
+  /**
+   * The number of generator operators defined by the specification, including the unused and
+   * reserved operators. Operators in the range {@code [0, STANDARD_GENERATOR_COUNT)} are known.
+   */
+
+  public static final int STANDARD_GENERATOR_COUNT = 61;
+
   private static final GeneratorSet GENERATORS = loadGenerators();
 
+  private static final NTCanonicalValues<NTGenerator> UNKNOWN_GENERATORS =
+    new NTCanonicalValues<>(value -> NTGenerator.of(NTGeneratorOperatorIndex.of(value), "unknown"));
+
   private NTGenerators()
   {
 
@@ -45,15 +57,19 @@ public final class NTGenerators
   {
     private final SortedMap<Integer, NTGenerator> generators_by_id;
     private final SortedMap<String, NTGenerator> generators_by_name;
+    private final NTGenerator[] generators_by_index;
 
     private GeneratorSet(
       final SortedMap<Integer, NTGenerator> in_generators_by_id,
-      final SortedMap<String, NTGenerator> in_generators_by_name)
+      final SortedMap<String, NTGenerator> in_generators_by_name,
+      final NTGenerator[] in_generators_by_index)
     {
       this.generators_by_id =
         Objects.requireNonNull(in_generators_by_id, "generators_by_id");
       this.generators_by_name =
         Objects.requireNonNull(in_generators_by_name, "generators_by_name");
+      this.generators_by_index =
+        Objects.requireNonNull(in_generators_by_index, "generators_by_index");
     }
   }
 
@@ -75,9 +91,15 @@ public final class NTGenerators
         generators_by_name.put(name, generator);
       }
 
+      final var generators_by_index = new NTGenerator[generators_by_id.lastKey().intValue() + 1];
+      for (final var generator : generators_by_id.values()) {
+        generators_by_index[generator.index().value()] = generator;
+      }
+
       return new GeneratorSet(
         Collections.unmodifiableSortedMap(generators_by_id),
-        Collections.unmodifiableSortedMap(generators_by_name));
+        Collections.unmodifiableSortedMap(generators_by_name),
+        generators_by_index);
     } catch (final IOException e) {
       throw new UncheckedIOException(e);
     }
@@ -93,9 +115,20 @@ public final class NTGenerators
 
   public static NTGenerator find(final int value)
   {
-    return GENERATORS.generators_by_id.getOrDefault(
-      Integer.valueOf(value),
-      NTGenerator.of(NTGeneratorOperatorIndex.of(value), "unknown"));
+    final var by_index = GENERATORS.generators_by_index;
+    if (value >= 0 && value < by_index.length) {
+      final var generator = by_index[value];
+      if (generator != null) {
+        return generator;
+      }
+    }
+
+    RangeCheck.checkIncludedInInteger(
+      value,
+      "Generator operator index value",
+      NTRanges.UNSIGNED_16_RANGE,
+      "Valid generator operator index values");
+    return UNKNOWN_GENERATORS.get(value);
   }
 
   /**
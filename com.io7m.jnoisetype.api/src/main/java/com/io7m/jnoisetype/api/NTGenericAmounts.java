@@ -16,17 +16,42 @@
 
 package com.io7m.jnoisetype.api;
 
+import com.io7m.jranges.RangeCheck;
+
 /**
  * Functions to construct generic amounts.
  */
 
 public final class NTGenericAmounts
 {
+  private static final NTCanonicalValues<NTGenericAmount> AMOUNTS =
+    new NTCanonicalValues<>(NTGenericAmount::of);
+
   private NTGenericAmounts()
   {
 
   }
 
+  /**
+   * Obtain the canonical amount with the given value.
+   *
+   * @param value The raw value in the range {@code [0, 0xffff]}
+   *
+   * @return A generic amount
+   */
+
+  public static NTGenericAmount of(
+    final int value)
+  {
+    RangeCheck.checkIncludedInInteger(
+      value,
+      "Value",
+      NTRanges.UNSIGNED_16_RANGE,
+      "Unsigned 16-bit integer range");
+
+    return AMOUNTS.get(value);
+  }
+
   /**
    * Construct an amount from the given pair of values.
    *
@@ -42,6 +67,6 @@ public final class NTGenericAmounts
   {
     final var msb = ((int) hi << 8);
     final var lsb = (int) lo & 0xff;
-    return NTGenericAmount.of(msb | lsb);
+    return of(msb | lsb);
   }
 }
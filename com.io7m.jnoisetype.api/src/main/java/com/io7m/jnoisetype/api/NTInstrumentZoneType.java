@@ -17,6 +17,7 @@
 package com.io7m.jnoisetype.api;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * An instrument zone.
@@ -42,6 +43,36 @@ public interface NTInstrumentZoneType
 
   List<NTInstrumentZoneGeneratorType> generators();
 
+  /**
+   * Find the generator with the given operator. If the zone contains more than one generator
+   * with the operator, the last one is returned. For the operators defined by the specification,
+   * this is a constant-time lookup.
+   *
+   * @param operator The generator operator
+   *
+   * @return The generator, if the zone contains one
+   */
+
+  Optional<NTInstrumentZoneGeneratorType> generatorFor(int operator);
+
+  /**
+   * @param operator The generator operator
+   *
+   * @return {@code true} iff the zone contains a generator with the given operator
+   */
+
+  boolean hasGenerator(int operator);
+
+  /**
+   * The sample referred to by the zone's {@code sampleID} generator. The reference is resolved
+   * when the font is interpreted. If the zone has no {@code sampleID} generator, or the generator
+   * refers to a nonexistent sample, the result is empty.
+   *
+   * @return The sample referred to by the zone
+   */
+
+  Optional<NTSampleType> linkedSample();
+
   /**
    * @return The list of modulators for the zone
    */
@@ -0,0 +1,61 @@
+/*
+ * Copyright © 2019 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jnoisetype.api;
+
+import com.io7m.jranges.RangeCheck;
+
+/**
+ * Functions to construct pitches.
+ */
+
+public final class NTPitches
+{
+  private static final NTPitch[] PITCHES = createPitches();
+
+  private NTPitches()
+  {
+
+  }
+
+  private static NTPitch[] createPitches()
+  {
+    final var pitches = new NTPitch[NTRanges.PITCH_RANGE.upper() + 1];
+    for (var index = 0; index < pitches.length; ++index) {
+      pitches[index] = NTPitch.of(index);
+    }
+    return pitches;
+  }
+
+  /**
+   * Obtain the canonical pitch with the given value.
+   *
+   * @param value The raw value in the range {@code [0, 127]}
+   *
+   * @return A pitch
+   */
+
+  public static NTPitch of(
+    final int value)
+  {
+    RangeCheck.checkIncludedInInteger(
+      value,
+      "Pitch value",
+      NTRanges.PITCH_RANGE,
+      "Valid pitch values");
+    return PITCHES[value];
+  }
+}
@@ -36,6 +36,12 @@ public interface NTPresetType extends NTFontMemberType, NTNamedType
 
   NTPresetIndex index();
 
+  /**
+   * @return The MIDI program number of the preset
+   */
+
+  int program();
+
   /**
    * @return The name of the preset
    */
@@ -0,0 +1,200 @@
+/*
+ * Copyright © 2019 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jnoisetype.api;
+
+import java.nio.BufferOverflowException;
+import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+import java.util.Objects;
+
+/**
+ * Functions to convert 16-bit signed PCM sample data to normalized floating point values. A
+ * value {@code x} is converted to {@code x / 32768.0}, and so results lie in the range
+ * {@code [-1.0, 1.0)}.
+ */
+
+public final class NTSampleConversions
+{
+  /**
+   * The number of frames converted per step. Frames in buffers that are not backed by arrays are
+   * copied in bulk into per-thread scratch arrays and then converted in a simple counted loop that
+   * the JIT compiler can vectorize. Array-backed buffers are converted in place.
+   */
+
+  private static final int CHUNK_FRAMES = 4096;
+
+  private static final float SCALE = 1.0f / 32768.0f;
+
+  private static final ThreadLocal<Scratch> SCRATCH =
+    ThreadLocal.withInitial(Scratch::new);
+
+  private NTSampleConversions()
+  {
+
+  }
+
+  /**
+   * Convert a single frame.
+   *
+   * @param frame The frame
+   *
+   * @return The normalized value
+   */
+
+  public static float convert(
+    final short frame)
+  {
+    return (float) frame * SCALE;
+  }
+
+  /**
+   * Convert all of the remaining frames in {@code source}, writing the results to {@code target}
+   * starting at {@code offset}. The position of {@code source} is advanced by the number of
+   * frames converted.
+   *
+   * @param source The source frames
+   * @param target The target array
+   * @param offset The offset of the first element written in {@code target}
+   *
+   * @return The number of frames converted
+   *
+   * @throws IndexOutOfBoundsException If {@code target} has insufficient space after {@code offset}
+   */
+
+  public static int convert(
+    final ShortBuffer source,
+    final float[] target,
+    final int offset)
+  {
+    Objects.requireNonNull(source, "source");
+    Objects.requireNonNull(target, "target");
+
+    final var count = source.remaining();
+    Objects.checkFromIndexSize(offset, count, target.length);
+
+    if (source.hasArray()) {
+      final var position = source.position();
+      convertChunk(source.array(), source.arrayOffset() + position, count, target, offset);
+      source.position(position + count);
+      return count;
+    }
+
+    final var chunk = SCRATCH.get().frames;
+    var written = 0;
+    while (written < count) {
+      final var size = Math.min(CHUNK_FRAMES, count - written);
+      source.get(chunk, 0, size);
+      convertChunk(chunk, 0, size, target, offset + written);
+      written += size;
+    }
+    return count;
+  }
+
+  /**
+   * Convert all of the remaining frames in {@code source}, writing the results to {@code target}.
+   * The positions of both buffers are advanced by the number of frames converted.
+   *
+   * @param source The source frames
+   * @param target The target buffer
+   *
+   * @return The number of frames converted
+   *
+   * @throws BufferOverflowException If {@code target} has insufficient space remaining
+   */
+
+  public static int convert(
+    final ShortBuffer source,
+    final FloatBuffer target)
+  {
+    Objects.requireNonNull(source, "source");
+    Objects.requireNonNull(target, "target");
+
+    final var count = source.remaining();
+    if (target.remaining() < count) {
+      throw new BufferOverflowException();
+    }
+
+    if (target.hasArray()) {
+      final var position = target.position();
+      convert(source, target.array(), target.arrayOffset() + position);
+      target.position(position + count);
+      return count;
+    }
+
+    final var scratch = SCRATCH.get();
+    final var frames = scratch.frames;
+    final var converted = scratch.converted;
+    var written = 0;
+    while (written < count) {
+      final var size = Math.min(CHUNK_FRAMES, count - written);
+      if (source.hasArray()) {
+        final var position = source.position();
+        convertChunk(source.array(), source.arrayOffset() + position, size, converted, 0);
+        source.position(position + size);
+      } else {
+        source.get(frames, 0, size);
+        convertChunk(frames, 0, size, converted, 0);
+      }
+      target.put(converted, 0, size);
+      written += size;
+    }
+    return count;
+  }
+
+  /**
+   * Convert all of the remaining frames in {@code source} to a new array. The position of
+   * {@code source} is not modified.
+   *
+   * @param source The source frames
+   *
+   * @return The converted frames
+   */
+
+  public static float[] convert(
+    final ShortBuffer source)
+  {
+    Objects.requireNonNull(source, "source");
+
+    final var target = new float[source.remaining()];
+    convert(source.duplicate(), target, 0);
+    return target;
+  }
+
+  private static void convertChunk(
+    final short[] chunk,
+    final int chunk_offset,
+    final int size,
+    final float[] target,
+    final int offset)
+  {
+    for (var index = 0; index < size; ++index) {
+      target[offset + index] = (float) chunk[chunk_offset + index] * SCALE;
+    }
+  }
+
+  private static final class Scratch
+  {
+    private final short[] frames;
+    private final float[] converted;
+
+    Scratch()
+    {
+      this.frames = new short[CHUNK_FRAMES];
+      this.converted = new float[CHUNK_FRAMES];
+    }
+  }
+}
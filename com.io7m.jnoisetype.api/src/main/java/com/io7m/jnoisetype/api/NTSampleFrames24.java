@@ -0,0 +1,132 @@
+/*
+ * Copyright © 2019 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jnoisetype.api;
+
+import java.nio.ByteBuffer;
+import java.nio.ShortBuffer;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+/**
+ * A read-only view of 24-bit sample frames. Each frame is combined on access from the 16-bit
+ * value held in the {@code smpl} chunk and the 8-bit value held in the {@code sm24} chunk; no
+ * merged copy of the data is ever produced. If the sample has no {@code sm24} data, the least
+ * significant eight bits of each frame are zero.
+ *
+ * @see "SoundFont® Technical Specification 2.04, §6.2 Sample Data Format in the sm24 Sub-chunk"
+ */
+
+public final class NTSampleFrames24
+{
+  private final ShortBuffer high;
+  private final ByteBuffer low;
+  private final int size;
+
+  private NTSampleFrames24(
+    final ShortBuffer in_high,
+    final ByteBuffer in_low)
+  {
+    this.high = Objects.requireNonNull(in_high, "high");
+    this.low = in_low;
+    this.size = in_high.remaining();
+  }
+
+  /**
+   * Create a view of 24-bit frames. The views are retained, not copied; the frames are the
+   * remaining elements of each view.
+   *
+   * @param high The most significant sixteen bits of each frame
+   * @param low  The least significant eight bits of each frame, if present
+   *
+   * @return A view of the frames
+   *
+   * @throws IllegalArgumentException If {@code low} is present and does not have exactly one
+   *                                  byte per frame
+   */
+
+  public static NTSampleFrames24 of(
+    final ShortBuffer high,
+    final Optional<ByteBuffer> low)
+  {
+    Objects.requireNonNull(high, "high");
+    Objects.requireNonNull(low, "low");
+
+    if (low.isPresent() && low.get().remaining() != high.remaining()) {
+      throw new IllegalArgumentException(
+        new StringBuilder(64)
+          .append("Low byte count must match the frame count")
+          .append(System.lineSeparator())
+          .append("  Frames: ")
+          .append(high.remaining())
+          .append(System.lineSeparator())
+          .append("  Low bytes: ")
+          .append(low.get().remaining())
+          .append(System.lineSeparator())
+          .toString());
+    }
+
+    return new NTSampleFrames24(
+      high.slice(),
+      low.map(ByteBuffer::slice).orElse(null));
+  }
+
+  /**
+   * @return The number of frames
+   */
+
+  public int size()
+  {
+    return this.size;
+  }
+
+  /**
+   * @return {@code true} if the frames have {@code sm24} data
+   */
+
+  public boolean hasLowBytes()
+  {
+    return this.low != null;
+  }
+
+  /**
+   * @param index The frame index
+   *
+   * @return The signed 24-bit value of the frame at {@code index}
+   *
+   * @throws IndexOutOfBoundsException If {@code index} is not in {@code [0, size())}
+   */
+
+  public int get(
+    final int index)
+  {
+    final var value = (int) this.high.get(index) << 8;
+    if (this.low == null) {
+      return value;
+    }
+    return value | ((int) this.low.get(index) & 0xff);
+  }
+
+  /**
+   * @return A stream of the signed 24-bit values of the frames
+   */
+
+  public IntStream stream()
+  {
+    return IntStream.range(0, this.size).map(this::get);
+  }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright © 2019 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jnoisetype.api;
+
+import java.io.IOException;
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A reader that produces an endless stream of frames from a sample, honouring the loop points of
+ * the sample.
+ *
+ * Frames are produced from the start of the sample up to {@link NTSampleDescription#loopEnd()},
+ * after which reading continues from {@link NTSampleDescription#loopStart()} indefinitely. If the
+ * loop of the sample is empty ({@code loopStart == loopEnd}, which includes the common case of
+ * one-shot samples that store zero for both loop points), the sample is played once through to
+ * its end and the reader then produces silence.
+ *
+ * Frames are copied directly out of {@link NTSampleType#dataFrames()} in blocks that run up to
+ * the next loop seam, so there are no per-frame bounds checks against the sample data, and
+ * reading never allocates. Readers are not thread-safe, but any number of readers may be created
+ * for the same sample.
+ */
+
+public final class NTSampleLoopReader
+{
+  private static final int SCRATCH_FRAMES = 256;
+
+  private final ShortBuffer frames;
+  private final int loop_start;
+  private final int boundary;
+  private final boolean looping;
+  private final short[] scratch;
+  private int position;
+
+  private NTSampleLoopReader(
+    final ShortBuffer in_frames,
+    final int in_loop_start,
+    final int in_loop_end)
+  {
+    this.frames = Objects.requireNonNull(in_frames, "frames");
+    this.looping = in_loop_end > in_loop_start;
+    this.loop_start = in_loop_start;
+    this.boundary = this.looping ? in_loop_end : in_frames.limit();
+    this.scratch = new short[SCRATCH_FRAMES];
+    this.position = 0;
+  }
+
+  /**
+   * Create a reader for the given sample.
+   *
+   * @param sample The sample
+   *
+   * @return A reader positioned at the start of the sample
+   *
+   * @throws IOException On I/O errors, or if the sample has a non-empty loop region that does not
+   *                     lie within the sample data
+   * @see NTSampleType#loopFrames()
+   */
+
+  public static NTSampleLoopReader create(
+    final NTSampleType sample)
+    throws IOException
+  {
+    Objects.requireNonNull(sample, "sample");
+
+    final var frames = sample.dataFrames();
+    final var description = sample.description();
+    if (description.loopStart() == description.loopEnd()) {
+      return new NTSampleLoopReader(frames, 0, 0);
+    }
+
+    final var loop = sample.loopFrames();
+    final var loop_start = (int) (description.loopStart() - description.start());
+    return new NTSampleLoopReader(frames, loop_start, loop_start + loop.limit());
+  }
+
+  /**
+   * @return The index of the next frame that will be read, relative to the start of the sample
+   */
+
+  public int position()
+  {
+    return this.position;
+  }
+
+  /**
+   * @return {@code true} if the sample has a non-empty loop
+   */
+
+  public boolean isLooping()
+  {
+    return this.looping;
+  }
+
+  /**
+   * Return to the start of the sample.
+   */
+
+  public void reset()
+  {
+    this.position = 0;
+  }
+
+  /**
+   * Read exactly {@code count} frames into {@code target} starting at {@code offset}.
+   *
+   * @param target The target array
+   * @param offset The offset of the first frame written in {@code target}
+   * @param count  The number of frames to read
+   *
+   * @throws IndexOutOfBoundsException If {@code target} has insufficient space after {@code offset}
+   */
+
+  public void read(
+    final short[] target,
+    final int offset,
+    final int count)
+  {
+    Objects.requireNonNull(target, "target");
+    Objects.checkFromIndexSize(offset, count, target.length);
+
+    var written = 0;
+    while (written < count) {
+      if (this.position == this.boundary) {
+        if (!this.looping) {
+          Arrays.fill(target, offset + written, offset + count, (short) 0);
+          return;
+        }
+        this.position = this.loop_start;
+      }
+
+      final var size = Math.min(count - written, this.boundary - this.position);
+      this.frames.get(this.position, target, offset + written, size);
+      this.position += size;
+      written += size;
+    }
+  }
+
+  /**
+   * Read exactly {@code count} frames into {@code target} starting at {@code offset}, converting
+   * each frame with {@link NTSampleConversions#convert(short)}.
+   *
+   * @param target The target array
+   * @param offset The offset of the first frame written in {@code target}
+   * @param count  The number of frames to read
+   *
+   * @throws IndexOutOfBoundsException If {@code target} has insufficient space after {@code offset}
+   */
+
+  public void read(
+    final float[] target,
+    final int offset,
+    final int count)
+  {
+    Objects.requireNonNull(target, "target");
+    Objects.checkFromIndexSize(offset, count, target.length);
+
+    var written = 0;
+    while (written < count) {
+      final var size = Math.min(count - written, this.scratch.length);
+      this.read(this.scratch, 0, size);
+      for (var index = 0; index < size; ++index) {
+        target[offset + written + index] = NTSampleConversions.convert(this.scratch[index]);
+      }
+      written += size;
+    }
+  }
+}
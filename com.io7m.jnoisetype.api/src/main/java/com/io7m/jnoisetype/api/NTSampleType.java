@@ -18,6 +18,12 @@ package com.io7m.jnoisetype.api;
 
 import com.io7m.jranges.RangeHalfOpenL;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.util.Optional;
+
 /**
  * The type of samples.
  */
@@ -36,6 +42,132 @@ public interface NTSampleType extends NTFontMemberType, NTNamedType
 
   RangeHalfOpenL dataByteRange();
 
+  /**
+   * Obtain a read-only view of the sample data. The view covers exactly {@link #dataByteRange()},
+   * has a position of {@code 0}, and uses the byte order of the parsed file. The data is not
+   * copied if the file was parsed from a byte buffer or a memory-mappable channel.
+   *
+   * @return A read-only view of the sample data
+   *
+   * @throws IOException On I/O errors
+   */
+
+  ByteBuffer dataBytes()
+    throws IOException;
+
+  /**
+   * Obtain a read-only view of the sample data as 16-bit signed frames. The view is backed by
+   * {@link #dataBytes()} and so is subject to the same copying guarantees. Sample data is always
+   * little-endian regardless of the byte order of the parsed file. The view has a position of
+   * {@code 0} and a limit equal to the number of frames in the sample. The returned view may
+   * be freely repositioned; each call returns a new view.
+   *
+   * @return A read-only view of the sample frames
+   *
+   * @throws IOException On I/O errors
+   */
+
+  default ShortBuffer dataFrames()
+    throws IOException
+  {
+    return this.dataBytes()
+      .order(ByteOrder.LITTLE_ENDIAN)
+      .asShortBuffer();
+  }
+
+  /**
+   * Obtain a read-only view of the {@code sm24} data of the sample. The view holds the least
+   * significant eight bits of each 24-bit frame, one byte per frame of {@link #dataFrames()},
+   * and is subject to the same copying guarantees as {@link #dataBytes()}.
+   *
+   * @return A read-only view of the data, or nothing if the font does not have {@code sm24} data
+   *
+   * @throws IOException On I/O errors
+   * @see "SoundFont® Technical Specification 2.04, §6.2 Sample Data Format in the sm24 Sub-chunk"
+   */
+
+  default Optional<ByteBuffer> dataLowBytes()
+    throws IOException
+  {
+    return Optional.empty();
+  }
+
+  /**
+   * Obtain a view of the sample data as 24-bit frames, combining {@link #dataFrames()} and
+   * {@link #dataLowBytes()} on access.
+   *
+   * @return A view of the 24-bit frames
+   *
+   * @throws IOException On I/O errors
+   */
+
+  default NTSampleFrames24 dataFrames24()
+    throws IOException
+  {
+    return NTSampleFrames24.of(this.dataFrames(), this.dataLowBytes());
+  }
+
+  /**
+   * Decode the sample data to normalized floating point values using
+   * {@link NTSampleConversions#convert(ShortBuffer)}.
+   *
+   * @return A new array containing one value per frame of {@link #dataFrames()}
+   *
+   * @throws IOException On I/O errors
+   */
+
+  default float[] dataFramesAsFloat()
+    throws IOException
+  {
+    return NTSampleConversions.convert(this.dataFrames());
+  }
+
+  /**
+   * Obtain a read-only view of the frames in the loop region of the sample. The loop region is
+   * given by {@link NTSampleDescription#loopStart()} (inclusive) and
+   * {@link NTSampleDescription#loopEnd()} (exclusive), and the view is a slice of
+   * {@link #dataFrames()}: Index {@code 0} of the returned view is the first frame of the loop.
+   *
+   * @return A read-only view of the loop frames
+   *
+   * @throws IOException On I/O errors, or if the loop region does not lie within the sample data
+   */
+
+  default ShortBuffer loopFrames()
+    throws IOException
+  {
+    final var frames = this.dataFrames();
+    final var description = this.description();
+    final var loop_start = description.loopStart() - description.start();
+    final var loop_end = description.loopEnd() - description.start();
+
+    if (loop_start < 0L || loop_end < loop_start || loop_end > (long) frames.limit()) {
+      final var separator = System.lineSeparator();
+      throw new IOException(
+        new StringBuilder(128)
+          .append("Sample loop region lies outside of the sample data")
+          .append(separator)
+          .append("  Sample: ")
+          .append(description.nameText())
+          .append(separator)
+          .append("  Sample range: [")
+          .append(description.start())
+          .append(", ")
+          .append(description.end())
+          .append(')')
+          .append(separator)
+          .append("  Loop range: [")
+          .append(description.loopStart())
+          .append(", ")
+          .append(description.loopEnd())
+          .append(')')
+          .append(separator)
+          .toString());
+    }
+
+    return frames.slice((int) loop_start, (int) (loop_end - loop_start));
+  }
+
   /**
    * @return The byte range of the sample data within the parsed file including the specification-mandated zero values
    */
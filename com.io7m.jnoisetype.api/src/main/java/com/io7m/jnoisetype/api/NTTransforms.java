@@ -16,6 +16,8 @@
 
 package com.io7m.jnoisetype.api;
 
+import com.io7m.jranges.RangeCheck;
+
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.AbstractMap;
@@ -32,12 +34,32 @@ import java.util.stream.Collectors;
 public final class NTTransforms
 {
   private static final Map<NTTransformIndex, NTTransform> TRANSFORMS = loadGenerators();
+  private static final NTTransform[] TRANSFORMS_BY_INDEX = indexTransforms(TRANSFORMS);
+  private static final NTCanonicalValues<NTTransform> UNKNOWN_TRANSFORMS =
+    new NTCanonicalValues<>(value -> NTTransform.of(NTTransformIndex.of(value), "unknown"));
 
   private NTTransforms()
   {
 
   }
 
+  private static NTTransform[] indexTransforms(
+    final Map<NTTransformIndex, NTTransform> transforms)
+  {
+    final var size =
+      transforms.keySet()
+        .stream()
+        .mapToInt(NTTransformIndex::value)
+        .max()
+        .orElse(-1) + 1;
+
+    final var by_index = new NTTransform[size];
+    for (final var transform : transforms.values()) {
+      by_index[transform.index().value()] = transform;
+    }
+    return by_index;
+  }
+
   private static Map<NTTransformIndex, NTTransform> loadGenerators()
   {
     try (var stream = NTTransforms.class.getResourceAsStream(
@@ -73,9 +95,19 @@ public final class NTTransforms
 
   public static NTTransform find(final int value)
   {
-    return TRANSFORMS.getOrDefault(
-      NTTransformIndex.of(value),
-      NTTransform.of(NTTransformIndex.of(value), "unknown"));
+    if (value >= 0 && value < TRANSFORMS_BY_INDEX.length) {
+      final var transform = TRANSFORMS_BY_INDEX[value];
+      if (transform != null) {
+        return transform;
+      }
+    }
+
+    RangeCheck.checkIncludedInInteger(
+      value,
+      "Transform index value",
+      NTRanges.UNSIGNED_16_RANGE,
+      "Valid transform index values");
+    return UNKNOWN_TRANSFORMS.get(value);
   }
 
   /**
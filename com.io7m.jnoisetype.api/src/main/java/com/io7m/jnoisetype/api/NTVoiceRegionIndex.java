@@ -0,0 +1,187 @@
+/*
+ * Copyright © 2019 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jnoisetype.api;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An index of the regions in a {@link NTVoiceRegionTable} by preset, key, and velocity. For each
+ * preset, the regions that respond to each of the 128 keys are held in a bucket, so a note-on
+ * lookup inspects only the regions whose key range covers the key. Presets are located by bank
+ * and program number using the index of the font itself (see
+ * {@link NTFontType#presetFor(int, int)}). Lookups by preset index do not allocate.
+ */
+
+public final class NTVoiceRegionIndex
+{
+  private static final int KEYS = 128;
+
+  private final NTVoiceRegionTable regions;
+  private final int[] bucket_starts;
+  private final int[] buckets;
+
+  private NTVoiceRegionIndex(
+    final NTVoiceRegionTable in_regions,
+    final int[] in_bucket_starts,
+    final int[] in_buckets)
+  {
+    this.regions = Objects.requireNonNull(in_regions, "regions");
+    this.bucket_starts = Objects.requireNonNull(in_bucket_starts, "bucket_starts");
+    this.buckets = Objects.requireNonNull(in_buckets, "buckets");
+  }
+
+  /**
+   * Create an index of the given regions.
+   *
+   * @param regions The regions
+   *
+   * @return An index
+   */
+
+  public static NTVoiceRegionIndex create(
+    final NTVoiceRegionTable regions)
+  {
+    Objects.requireNonNull(regions, "regions");
+
+    final var presets = regions.font().presets();
+    final var bucket_starts = new int[presets.size() * KEYS + 1];
+    for (var region = 0; region < regions.size(); ++region) {
+      final var base = regions.presetIndex(region) * KEYS;
+      for (var key = regions.keyLow(region); key <= regions.keyHigh(region); ++key) {
+        ++bucket_starts[base + key + 1];
+      }
+    }
+    for (var index = 1; index < bucket_starts.length; ++index) {
+      bucket_starts[index] += bucket_starts[index - 1];
+    }
+
+    final var buckets = new int[bucket_starts[bucket_starts.length - 1]];
+    final var fill = Arrays.copyOf(bucket_starts, bucket_starts.length - 1);
+    for (var region = 0; region < regions.size(); ++region) {
+      final var base = regions.presetIndex(region) * KEYS;
+      for (var key = regions.keyLow(region); key <= regions.keyHigh(region); ++key) {
+        final var bucket = base + key;
+        buckets[fill[bucket]] = region;
+        fill[bucket] += 1;
+      }
+    }
+
+    return new NTVoiceRegionIndex(regions, bucket_starts, buckets);
+  }
+
+  /**
+   * @return The indexed regions
+   */
+
+  public NTVoiceRegionTable regions()
+  {
+    return this.regions;
+  }
+
+  /**
+   * Find the preset with the given bank and program number. If more than one preset has the
+   * same bank and program number, the first is returned.
+   *
+   * @param bank    The bank
+   * @param program The program number
+   *
+   * @return The index of the preset in {@link NTFontType#presets()}, or {@code -1} if no preset
+   * exists
+   */
+
+  public int presetFor(
+    final int bank,
+    final int program)
+  {
+    final var preset = this.regions.font().presetFor(bank, program);
+    if (preset.isPresent()) {
+      return preset.get().index().value();
+    }
+    return -1;
+  }
+
+  /**
+   * Find the regions of a preset that respond to the given key and velocity. The indices of the
+   * matching regions are written to {@code output} in region order. If {@code output} is too
+   * small, only as many regions as will fit are written.
+   *
+   * @param preset   The index of the preset in {@link NTFontType#presets()}
+   * @param key      The key
+   * @param velocity The velocity
+   * @param output   The array that receives region indices
+   *
+   * @return The total number of matching regions
+   */
+
+  public int find(
+    final int preset,
+    final int key,
+    final int velocity,
+    final int[] output)
+  {
+    Objects.requireNonNull(output, "output");
+    if (key < 0 || key >= KEYS) {
+      return 0;
+    }
+
+    final var presets = this.regions.font().presets().size();
+    final var bucket = Objects.checkIndex(preset, presets) * KEYS + key;
+    var count = 0;
+    for (var index = this.bucket_starts[bucket]; index < this.bucket_starts[bucket + 1]; ++index) {
+      final var region = this.buckets[index];
+      if (velocity >= this.regions.velocityLow(region)
+        && velocity <= this.regions.velocityHigh(region)) {
+        if (count < output.length) {
+          output[count] = region;
+        }
+        ++count;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Find the regions of the preset with the given bank and program number that respond to the
+   * given key and velocity.
+   *
+   * @param bank     The bank
+   * @param program  The program number
+   * @param key      The key
+   * @param velocity The velocity
+   * @param output   The array that receives region indices
+   *
+   * @return The total number of matching regions, or {@code 0} if no preset exists
+   *
+   * @see #find(int, int, int, int[])
+   */
+
+  public int find(
+    final int bank,
+    final int program,
+    final int key,
+    final int velocity,
+    final int[] output)
+  {
+    final var preset = this.presetFor(bank, program);
+    if (preset < 0) {
+      return 0;
+    }
+    return this.find(preset, key, velocity, output);
+  }
+}
@@ -0,0 +1,543 @@
+/*
+ * Copyright © 2019 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jnoisetype.api;
+
+import com.io7m.jranges.RangeHalfOpenI;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A compiled table of the playable regions of a font. A region is a pairing of a preset zone and
+ * an instrument zone whose key and velocity ranges intersect. Each region holds its key range,
+ * velocity range, sample, and the effective value of every generator: instrument generators
+ * override the instrument's global zone, which in turn override the default values given by the
+ * specification, and preset generators (after the same global zone inheritance) are added to the
+ * result. Generators that are not permitted at the preset level are ignored there. Zones that
+ * refer to nonexistent instruments or samples do not produce regions.
+ *
+ * Regions are ordered by preset, and then by preset zone and instrument zone. All values are held
+ * in primitive arrays, and so querying a region does not allocate.
+ *
+ * @see "SoundFont® Technical Specification 2.04, §8.1.3 Generator Summary"
+ * @see "SoundFont® Technical Specification 2.04, §9.4 The SoundFont Generator Model"
+ */
+
+public final class NTVoiceRegionTable
+{
+  /**
+   * The number of generator operators, including the unused and reserved operators.
+   */
+
+  public static final int GENERATOR_COUNT = NTGenerators.STANDARD_GENERATOR_COUNT;
+
+  private static final int INSTRUMENT = 41;
+  private static final int KEY_RANGE = 43;
+  private static final int VELOCITY_RANGE = 44;
+  private static final int SAMPLE_ID = 53;
+  private static final int SAMPLE_MODES = 54;
+  private static final int FULL_RANGE = 0x7f00;
+  private static final int RANGE_MAXIMUM = 127;
+
+  private static final int[] DEFAULTS = defaults();
+  private static final boolean[] ADDITIVE = additive();
+
+  private final NTFontType font;
+  private final int size;
+  private final int[] preset_starts;
+  private final int[] presets;
+  private final int[] instruments;
+  private final int[] samples;
+  private final int[] generators;
+
+  private NTVoiceRegionTable(
+    final NTFontType in_font,
+    final int in_size,
+    final int[] in_preset_starts,
+    final int[] in_presets,
+    final int[] in_instruments,
+    final int[] in_samples,
+    final int[] in_generators)
+  {
+    this.font = Objects.requireNonNull(in_font, "font");
+    this.size = in_size;
+    this.preset_starts = Objects.requireNonNull(in_preset_starts, "preset_starts");
+    this.presets = Objects.requireNonNull(in_presets, "presets");
+    this.instruments = Objects.requireNonNull(in_instruments, "instruments");
+    this.samples = Objects.requireNonNull(in_samples, "samples");
+    this.generators = Objects.requireNonNull(in_generators, "generators");
+  }
+
+  private static int[] defaults()
+  {
+    final var values = new int[GENERATOR_COUNT];
+    values[8] = 13500;
+    for (final var delay : new int[]{21, 23, 25, 26, 27, 28, 30, 33, 34, 35, 36, 38}) {
+      values[delay] = -12000;
+    }
+    values[KEY_RANGE] = FULL_RANGE;
+    values[VELOCITY_RANGE] = FULL_RANGE;
+    values[46] = -1;
+    values[47] = -1;
+    values[56] = 100;
+    values[58] = -1;
+    return values;
+  }
+
+  private static boolean[] additive()
+  {
+    final var values = new boolean[GENERATOR_COUNT];
+    Arrays.fill(values, true);
+
+    /*
+     * Unused and reserved operators, index generators, range generators, and the
+     * sample-related generators that are only meaningful at the instrument level.
+     */
+
+    for (final var index : new int[]{
+      0, 1, 2, 3, 4, 12, 14, 18, 19, 20, INSTRUMENT, 42, KEY_RANGE, VELOCITY_RANGE,
+      45, 46, 47, 49, 50, SAMPLE_ID, SAMPLE_MODES, 55, 57, 58, 59, 60}) {
+      values[index] = false;
+    }
+    return values;
+  }
+
+  /**
+   * Compile a region table for the given font.
+   *
+   * @param font The font
+   *
+   * @return A region table
+   */
+
+  public static NTVoiceRegionTable compile(
+    final NTFontType font)
+  {
+    return new Compiler(Objects.requireNonNull(font, "font")).compile();
+  }
+
+  /**
+   * @param operator The generator operator
+   *
+   * @return The default value of the generator, as defined by the specification
+   */
+
+  public static int defaultValue(
+    final int operator)
+  {
+    return DEFAULTS[Objects.checkIndex(operator, GENERATOR_COUNT)];
+  }
+
+  private static int amountOf(
+    final int operator,
+    final NTGenericAmount amount)
+  {
+    switch (operator) {
+      case INSTRUMENT:
+      case KEY_RANGE:
+      case VELOCITY_RANGE:
+      case SAMPLE_ID:
+      case SAMPLE_MODES:
+        return amount.asUnsigned16();
+      default:
+        return amount.asSigned16();
+    }
+  }
+
+  /*
+   * Key and velocity ranges are stored as bytes, but only MIDI values in [0, 127] are
+   * meaningful. Clamping here guarantees that indexes built over the table never see a key or
+   * velocity outside of that range.
+   */
+
+  private static int intersect(
+    final int range_a,
+    final int range_b)
+  {
+    final var lo = Math.max(range_a & 0xff, range_b & 0xff);
+    final var hi =
+      Math.min(RANGE_MAXIMUM, Math.min((range_a >>> 8) & 0xff, (range_b >>> 8) & 0xff));
+    return lo <= hi ? (hi << 8) | lo : -1;
+  }
+
+  /**
+   * @return The font from which the table was compiled
+   */
+
+  public NTFontType font()
+  {
+    return this.font;
+  }
+
+  /**
+   * @return The number of regions
+   */
+
+  public int size()
+  {
+    return this.size;
+  }
+
+  /**
+   * @param preset The index of a preset in {@link NTFontType#presets()}
+   *
+   * @return The range of regions that belong to the preset
+   */
+
+  public RangeHalfOpenI presetRegions(
+    final int preset)
+  {
+    Objects.checkIndex(preset, this.preset_starts.length - 1);
+    return RangeHalfOpenI.of(this.preset_starts[preset], this.preset_starts[preset + 1]);
+  }
+
+  /**
+   * @param region The region
+   *
+   * @return The index of the region's preset in {@link NTFontType#presets()}
+   */
+
+  public int presetIndex(
+    final int region)
+  {
+    return this.presets[Objects.checkIndex(region, this.size)];
+  }
+
+  /**
+   * @param region The region
+   *
+   * @return The index of the region's instrument in {@link NTFontType#instruments()}
+   */
+
+  public int instrumentIndex(
+    final int region)
+  {
+    return this.instruments[Objects.checkIndex(region, this.size)];
+  }
+
+  /**
+   * @param region The region
+   *
+   * @return The index of the region's sample in {@link NTFontType#samples()}
+   */
+
+  public int sampleIndex(
+    final int region)
+  {
+    return this.samples[Objects.checkIndex(region, this.size)];
+  }
+
+  /**
+   * @param region The region
+   *
+   * @return The region's preset
+   */
+
+  public NTPresetType preset(
+    final int region)
+  {
+    return this.font.presets().get(this.presetIndex(region));
+  }
+
+  /**
+   * @param region The region
+   *
+   * @return The region's instrument
+   */
+
+  public NTInstrumentType instrument(
+    final int region)
+  {
+    return this.font.instruments().get(this.instrumentIndex(region));
+  }
+
+  /**
+   * @param region The region
+   *
+   * @return The region's sample
+   */
+
+  public NTSampleType sample(
+    final int region)
+  {
+    return this.font.samples().get(this.sampleIndex(region));
+  }
+
+  /**
+   * @param region The region
+   *
+   * @return The lowest key (inclusive) to which the region responds
+   */
+
+  public int keyLow(
+    final int region)
+  {
+    return this.generator(region, KEY_RANGE) & 0xff;
+  }
+
+  /**
+   * @param region The region
+   *
+   * @return The highest key (inclusive) to which the region responds
+   */
+
+  public int keyHigh(
+    final int region)
+  {
+    return this.generator(region, KEY_RANGE) >>> 8;
+  }
+
+  /**
+   * @param region The region
+   *
+   * @return The lowest velocity (inclusive) to which the region responds
+   */
+
+  public int velocityLow(
+    final int region)
+  {
+    return this.generator(region, VELOCITY_RANGE) & 0xff;
+  }
+
+  /**
+   * @param region The region
+   *
+   * @return The highest velocity (inclusive) to which the region responds
+   */
+
+  public int velocityHigh(
+    final int region)
+  {
+    return this.generator(region, VELOCITY_RANGE) >>> 8;
+  }
+
+  /**
+   * Obtain the effective value of a generator. Values are signed, with the exception of the
+   * {@code instrument}, {@code sampleID}, and {@code sampleModes} generators, and the range
+   * generators, which are packed as {@code (high << 8) | low}. Sums of preset and instrument
+   * values are not clamped.
+   *
+   * @param region   The region
+   * @param operator The generator operator
+   *
+   * @return The effective value of the generator for the region
+   */
+
+  public int generator(
+    final int region,
+    final int operator)
+  {
+    Objects.checkIndex(region, this.size);
+    Objects.checkIndex(operator, GENERATOR_COUNT);
+    return this.generators[region * GENERATOR_COUNT + operator];
+  }
+
+  /**
+   * Obtain the effective value of a generator.
+   *
+   * @param region   The region
+   * @param operator The generator operator
+   *
+   * @return The effective value of the generator for the region
+   *
+   * @see #generator(int, int)
+   */
+
+  public int generator(
+    final int region,
+    final NTGenerator operator)
+  {
+    return this.generator(region, operator.index().value());
+  }
+
+  private static final class Compiler
+  {
+    private final NTFontType font;
+    private final List<NTPresetType> font_presets;
+    private final int[] preset_starts;
+    private int size;
+    private int[] presets;
+    private int[] instruments;
+    private int[] samples;
+    private int[] generators;
+
+    Compiler(
+      final NTFontType in_font)
+    {
+      this.font = in_font;
+      this.font_presets = in_font.presets();
+      this.preset_starts = new int[this.font_presets.size() + 1];
+      this.presets = new int[16];
+      this.instruments = new int[16];
+      this.samples = new int[16];
+      this.generators = new int[16 * GENERATOR_COUNT];
+    }
+
+    private static void applyPresetGenerators(
+      final NTPresetZoneType zone,
+      final int[] values)
+    {
+      for (final var generator : zone.generators()) {
+        final var operator = generator.generatorOperator().index().value();
+        if (operator < GENERATOR_COUNT) {
+          values[operator] = amountOf(operator, generator.amount());
+          if (operator == INSTRUMENT) {
+            return;
+          }
+        }
+      }
+    }
+
+    private static void applyInstrumentGenerators(
+      final NTInstrumentZoneType zone,
+      final int[] values)
+    {
+      for (final var generator : zone.generators()) {
+        final var operator = generator.generatorOperator().index().value();
+        if (operator < GENERATOR_COUNT) {
+          values[operator] = amountOf(operator, generator.amount());
+          if (operator == SAMPLE_ID) {
+            return;
+          }
+        }
+      }
+    }
+
+    NTVoiceRegionTable compile()
+    {
+      for (var index = 0; index < this.font_presets.size(); ++index) {
+        this.preset_starts[index] = this.size;
+        this.compilePreset(index, this.font_presets.get(index));
+      }
+      this.preset_starts[this.font_presets.size()] = this.size;
+
+      return new NTVoiceRegionTable(
+        this.font,
+        this.size,
+        this.preset_starts,
+        Arrays.copyOf(this.presets, this.size),
+        Arrays.copyOf(this.instruments, this.size),
+        Arrays.copyOf(this.samples, this.size),
+        Arrays.copyOf(this.generators, this.size * GENERATOR_COUNT));
+    }
+
+    private void compilePreset(
+      final int preset_index,
+      final NTPresetType preset)
+    {
+      final var global = new int[GENERATOR_COUNT];
+      global[KEY_RANGE] = FULL_RANGE;
+      global[VELOCITY_RANGE] = FULL_RANGE;
+      global[INSTRUMENT] = -1;
+
+      for (final var zone : preset.zones()) {
+        if (zone.isGlobal()) {
+          applyPresetGenerators(zone, global);
+          global[INSTRUMENT] = -1;
+        }
+      }
+
+      final var instrument_count = this.font.instruments().size();
+      for (final var zone : preset.zones()) {
+        if (zone.isGlobal()) {
+          continue;
+        }
+
+        final var values = global.clone();
+        applyPresetGenerators(zone, values);
+        final var instrument = values[INSTRUMENT];
+        if (instrument >= 0 && instrument < instrument_count) {
+          this.compileInstrument(
+            preset_index,
+            values,
+            instrument,
+            this.font.instruments().get(instrument));
+        }
+      }
+    }
+
+    private void compileInstrument(
+      final int preset_index,
+      final int[] preset_values,
+      final int instrument_index,
+      final NTInstrumentType instrument)
+    {
+      final var global = DEFAULTS.clone();
+      global[SAMPLE_ID] = -1;
+
+      for (final var zone : instrument.zones()) {
+        if (zone.isGlobal()) {
+          applyInstrumentGenerators(zone, global);
+          global[SAMPLE_ID] = -1;
+        }
+      }
+
+      final var sample_count = this.font.samples().size();
+      for (final var zone : instrument.zones()) {
+        if (zone.isGlobal()) {
+          continue;
+        }
+
+        final var values = global.clone();
+        applyInstrumentGenerators(zone, values);
+        final var sample = values[SAMPLE_ID];
+        if (sample >= 0 && sample < sample_count) {
+          this.addRegion(preset_index, preset_values, instrument_index, values);
+        }
+      }
+    }
+
+    private void addRegion(
+      final int preset_index,
+      final int[] preset_values,
+      final int instrument_index,
+      final int[] instrument_values)
+    {
+      final var key_range =
+        intersect(preset_values[KEY_RANGE], instrument_values[KEY_RANGE]);
+      final var velocity_range =
+        intersect(preset_values[VELOCITY_RANGE], instrument_values[VELOCITY_RANGE]);
+      if (key_range < 0 || velocity_range < 0) {
+        return;
+      }
+
+      if (this.size == this.presets.length) {
+        final var capacity = this.size * 2;
+        this.presets = Arrays.copyOf(this.presets, capacity);
+        this.instruments = Arrays.copyOf(this.instruments, capacity);
+        this.samples = Arrays.copyOf(this.samples, capacity);
+        this.generators = Arrays.copyOf(this.generators, capacity * GENERATOR_COUNT);
+      }
+
+      final var base = this.size * GENERATOR_COUNT;
+      for (var operator = 0; operator < GENERATOR_COUNT; ++operator) {
+        final var offset = ADDITIVE[operator] ? preset_values[operator] : 0;
+        this.generators[base + operator] = instrument_values[operator] + offset;
+      }
+      this.generators[base + INSTRUMENT] = instrument_index;
+      this.generators[base + KEY_RANGE] = key_range;
+      this.generators[base + VELOCITY_RANGE] = velocity_range;
+
+      this.presets[this.size] = preset_index;
+      this.instruments[this.size] = instrument_index;
+      this.samples[this.size] = instrument_values[SAMPLE_ID];
+      ++this.size;
+    }
+  }
+}
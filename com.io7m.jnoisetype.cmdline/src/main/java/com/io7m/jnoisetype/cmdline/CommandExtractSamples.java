@@ -31,8 +31,6 @@ import javax.sound.sampled.AudioFormat;
 import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
 import java.io.IOException;
-import java.nio.ByteOrder;
-import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -114,7 +112,7 @@ final class CommandExtractSamples extends CommandRoot
         final var name = sample.nameText();
         if (pattern_include.matcher(name).matches()) {
           if (!pattern_exclude.matcher(name).matches()) {
-            this.extractSample(sample, map);
+            this.extractSample(sample);
           }
         }
       }
@@ -124,8 +122,7 @@ final class CommandExtractSamples extends CommandRoot
   }
 
   private void extractSample(
-    final NTSampleType sample,
-    final MappedByteBuffer map)
+    final NTSampleType sample)
     throws IOException
   {
     final var output_path =
@@ -134,12 +131,7 @@ final class CommandExtractSamples extends CommandRoot
 
     LOG.info("extracting {} -> {}", sample.nameText(), output_path);
 
-    final var range = sample.dataByteRange();
-
-    final var view = map.slice();
-    view.limit(Math.toIntExact(range.upper()));
-    view.position(Math.toIntExact(range.lower()));
-    view.order(map.order());
+    final var view = sample.dataBytes();
 
     try (var stream = new ByteBufferBackedInputStream(view)) {
       final var sample_rate = (float) sample.description().sampleRate();
@@ -147,8 +139,7 @@ final class CommandExtractSamples extends CommandRoot
       final var sample_channels = sampleChannels(sample.description().kind());
       final var sample_frame_size = 2;
       final var sample_frame_rate = sample.description().sampleRate();
-      final var sample_big_endian = map.order().equals(ByteOrder.BIG_ENDIAN);
-      final var sample_count = sample.description().end() - sample.description().start();
+      final var sample_count = (long) sample.dataFrames().limit();
 
       final var format =
         new AudioFormat(
@@ -158,7 +149,8 @@ final class CommandExtractSamples extends CommandRoot
           sample_channels,
           sample_frame_size,
           sample_frame_rate,
-          sample_big_endian);
+          // SoundFont® sample data is always little-endian
+          false);
 
       try (var input = new AudioInputStream(stream, format, sample_count)) {
         try (var output = Files.newOutputStream(output_path, CREATE, TRUNCATE_EXISTING, WRITE)) {
@@ -32,7 +32,6 @@ import java.nio.file.Path;
 import java.util.List;
 import java.util.ServiceLoader;
 
-import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
 import static java.nio.file.StandardOpenOption.READ;
 
 @Parameters(commandDescription = "Display the contents of a SoundFont® file")
@@ -67,8 +66,7 @@ final class CommandShow extends CommandRoot
           "No SoundFont® file interpreter service available"));
 
     try (var channel = FileChannel.open(this.path, READ)) {
-      final var map = channel.map(READ_ONLY, 0L, channel.size());
-      final var parser = parsers.createForByteBuffer(this.path.toUri(), map);
+      final var parser = parsers.createForChannel(this.path.toUri(), channel);
       final var file_raw = parser.parse();
       final var file = interpreters.createInterpreter(file_raw).interpret();
 
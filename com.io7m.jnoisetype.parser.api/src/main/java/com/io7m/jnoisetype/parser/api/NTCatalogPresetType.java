@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2019 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jnoisetype.parser.api;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import com.io7m.jnoisetype.api.NTBankIndex;
+import com.io7m.jnoisetype.api.NTNamedType;
+import com.io7m.jnoisetype.api.NTPresetIndex;
+import com.io7m.jnoisetype.api.NTPresetName;
+import org.immutables.value.Value;
+
+/**
+ * An entry in the preset directory of a {@link NTCatalogType}.
+ *
+ * @see "SoundFont® Technical Specification 2.04, §7.2 The PHDR subchunk"
+ */
+
+@Value.Immutable
+@ImmutablesStyleType
+public interface NTCatalogPresetType extends NTNamedType
+{
+  /**
+   * @return The index of the preset within the font
+   */
+
+  NTPresetIndex index();
+
+  /**
+   * @return The bank containing the preset
+   */
+
+  NTBankIndex bank();
+
+  /**
+   * @return The MIDI program number of the preset
+   */
+
+  int program();
+
+  /**
+   * @return The name of the preset
+   */
+
+  NTPresetName name();
+
+  @Override
+  default String nameText()
+  {
+    return this.name().value();
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2019 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jnoisetype.parser.api;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import com.io7m.jnoisetype.api.NTInfo;
+import com.io7m.jnoisetype.api.NTSource;
+import org.immutables.value.Value;
+
+import java.util.List;
+
+/**
+ * A catalog of a SoundFont®: the information associated with the font and a directory of the
+ * presets it contains. A catalog is produced without examining any zones, generators, modulators,
+ * instruments, or samples.
+ *
+ * @see NTFileParserProviderType
+ */
+
+@Value.Immutable
+@ImmutablesStyleType
+public interface NTCatalogType
+{
+  /**
+   * @return The location of the font
+   */
+
+  NTSource source();
+
+  /**
+   * @return The information associated with the SoundFont
+   */
+
+  NTInfo info();
+
+  /**
+   * @return The presets contained within the SoundFont, in file order, excluding the terminal
+   * record
+   */
+
+  List<NTCatalogPreset> presets();
+}
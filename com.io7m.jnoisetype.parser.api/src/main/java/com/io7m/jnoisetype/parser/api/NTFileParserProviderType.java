@@ -18,6 +18,18 @@ package com.io7m.jnoisetype.parser.api;
 
 import java.net.URI;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 
 /**
  * A provider of SoundFont® parsers.
@@ -38,4 +50,138 @@ public interface NTFileParserProviderType
     URI source,
     ByteBuffer data);
 
+  /**
+   * Create a parser that reads data from the given channel. The parser reads
+   * only the RIFF chunk headers and the contents of the {@code INFO} and
+   * {@code pdta} chunks; sample data is left in the channel and is not read.
+   * Unlike {@link #createForByteBuffer(URI, ByteBuffer)}, this method is not
+   * limited to files smaller than 2GiB. The channel is not closed by the
+   * parser.
+   *
+   * If the channel is a {@link java.nio.channels.FileChannel}, chunk data and
+   * sample data are accessed via memory mapping and are not copied. Otherwise,
+   * they are read from the channel on demand, and so the channel must remain
+   * open for as long as sample data is required.
+   *
+   * @param source  The URI of the source
+   * @param channel The input channel
+   *
+   * @return A new parser
+   */
+
+  NTFileParserType createForChannel(
+    URI source,
+    SeekableByteChannel channel);
+
+  /**
+   * Read a catalog of the font in the given byte buffer. Only the {@code INFO} chunk and the
+   * preset headers in the {@code phdr} chunk are examined; no {@link NTParsedFileType} is
+   * constructed, and the font is not interpreted. This is substantially cheaper than a full
+   * parse and is intended for indexing large collections of fonts.
+   *
+   * @param source The URI of the source
+   * @param data   The input data
+   *
+   * @return A catalog of the font
+   *
+   * @throws NTParseException On parse errors
+   */
+
+  NTCatalog catalogForByteBuffer(
+    URI source,
+    ByteBuffer data)
+    throws NTParseException;
+
+  /**
+   * Read a catalog of the font in the given channel. Only the RIFF chunk headers, the
+   * {@code INFO} chunk, and the {@code phdr} chunk are read from the channel. The channel is not
+   * closed.
+   *
+   * @param source  The URI of the source
+   * @param channel The input channel
+   *
+   * @return A catalog of the font
+   *
+   * @throws NTParseException On parse errors
+   * @see #catalogForByteBuffer(URI, ByteBuffer)
+   */
+
+  NTCatalog catalogForChannel(
+    URI source,
+    SeekableByteChannel channel)
+    throws NTParseException;
+
+  /**
+   * Parse a set of files concurrently. Each file is opened as a {@link FileChannel}, parsed with a
+   * parser created by {@link #createForChannel(URI, SeekableByteChannel)}, and closed again. Each
+   * file is parsed on its own virtual thread, but no more than {@code concurrency} files are
+   * open and being parsed at any one time.
+   *
+   * The returned map contains one future per distinct path, in the iteration order of
+   * {@code paths}. Each future either completes with the parsed file or completes exceptionally
+   * with an {@link NTParseException} whose source is the URI of the file that failed; a failure
+   * to parse one file does not affect the others. If the task parsing a file fails with an
+   * {@link Error}, the future for that file completes exceptionally with that error.
+   *
+   * The channel is closed by this method once the file has been parsed. File data is memory mapped
+   * during parsing, and the mappings remain valid after the channel is closed, so the sample data
+   * of the returned files remains accessible even for files larger than 2GiB. The exception is a
+   * single sample larger than 1GiB in a file larger than 2GiB, which is mapped on demand and
+   * cannot be accessed once the channel is closed.
+   *
+   * @param paths       The files
+   * @param concurrency The maximum number of files parsed at once
+   *
+   * @return A future for each file
+   */
+
+  default Map<Path, CompletableFuture<NTParsedFile>> parseAll(
+    final Collection<Path> paths,
+    final int concurrency)
+  {
+    Objects.requireNonNull(paths, "paths");
+    if (concurrency < 1) {
+      throw new IllegalArgumentException(
+        "Concurrency must be positive (received " + concurrency + ")");
+    }
+
+    final var permits = new Semaphore(concurrency);
+    final var results = new LinkedHashMap<Path, CompletableFuture<NTParsedFile>>(paths.size());
+    final var executor = Executors.newVirtualThreadPerTaskExecutor();
+    try {
+      for (final var path : paths) {
+        Objects.requireNonNull(path, "path");
+        if (results.containsKey(path)) {
+          continue;
+        }
+
+        final var future = new CompletableFuture<NTParsedFile>();
+        results.put(path, future);
+        executor.execute(() -> {
+          final var uri = path.toUri();
+          try {
+            permits.acquire();
+            try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+              future.complete(this.createForChannel(uri, channel).parse());
+            } finally {
+              permits.release();
+            }
+          } catch (final NTParseException e) {
+            future.completeExceptionally(e);
+          } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(new NTParseException(e, uri, 0L));
+          } catch (final Exception e) {
+            future.completeExceptionally(new NTParseException(e, uri, 0L));
+          } catch (final Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+          }
+        });
+      }
+    } finally {
+      executor.shutdown();
+    }
+    return Collections.unmodifiableMap(results);
+  }
 }
@@ -16,6 +16,10 @@
 
 package com.io7m.jnoisetype.parser.api;
 
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 /**
  * A SoundFont® parser.
  */
@@ -32,4 +36,66 @@ public interface NTFileParserType
 
   NTParsedFile parse()
     throws NTParseException;
+
+  /**
+   * Parse a SoundFont®, validating the hydra sub-chunks concurrently on the given executor. Each
+   * sub-chunk is processed as an independent task, and the records of large sample header tables
+   * are split into ranges that are processed independently. The result is equal to the result of
+   * {@link #parse()}, and errors are reported exactly as {@link #parse()} would report them.
+   *
+   * @param executor The executor used to run decoding tasks
+   *
+   * @return The resulting parsed file
+   *
+   * @throws NTParseException On parse errors
+   */
+
+  NTParsedFile parse(Executor executor)
+    throws NTParseException;
+
+  /**
+   * Parse a SoundFont® and deliver each of its records to the given visitor. The file is fully
+   * validated before any records are delivered, and so the visitor never observes a prefix of a
+   * file that subsequently fails to parse. Records are decoded directly from the file data one at
+   * a time; the per-chunk record lists exposed by {@link NTParsedFileType} are never constructed.
+   *
+   * @param visitor The visitor
+   *
+   * @throws NTParseException On parse errors
+   * @see NTParsedFileType#accept(NTParsedFileVisitorType)
+   */
+
+  default void visit(
+    final NTParsedFileVisitorType visitor)
+    throws NTParseException
+  {
+    this.parse().accept(visitor);
+  }
+
+  /**
+   * Parse a SoundFont® asynchronously on the given executor. The returned future completes
+   * exceptionally with an {@link NTParseException} on parse errors.
+   *
+   * @param executor The executor that will run the parser
+   *
+   * @return The resulting parsed file, when it is ready
+   *
+   * @see #parse()
+   */
+
+  default CompletableFuture<NTParsedFile> parseAsync(
+    final Executor executor)
+  {
+    Objects.requireNonNull(executor, "executor");
+
+    final var future = new CompletableFuture<NTParsedFile>();
+    executor.execute(() -> {
+      try {
+        future.complete(this.parse());
+      } catch (final Throwable e) {
+        future.completeExceptionally(e);
+      }
+    });
+    return future;
+  }
 }
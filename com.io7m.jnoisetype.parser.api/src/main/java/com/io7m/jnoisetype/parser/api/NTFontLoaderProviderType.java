@@ -0,0 +1,62 @@
+/*
+ * Copyright © 2019 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jnoisetype.parser.api;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * A provider of SoundFont® loaders. A loader parses a file and interprets the result in a single
+ * call. The resulting font is equal to the font produced by parsing the file with a
+ * {@link NTFileParserProviderType} and interpreting the result with a
+ * {@link NTInterpreterProviderType}.
+ */
+
+public interface NTFontLoaderProviderType
+{
+  /**
+   * Create a loader from the data in the given byte buffer.
+   *
+   * @param source The URI of the source
+   * @param data   The input data
+   *
+   * @return A new loader
+   *
+   * @see NTFileParserProviderType#createForByteBuffer(URI, ByteBuffer)
+   */
+
+  NTFontLoaderType createForByteBuffer(
+    URI source,
+    ByteBuffer data);
+
+  /**
+   * Create a loader that reads data from the given channel.
+   *
+   * @param source  The URI of the source
+   * @param channel The input channel
+   *
+   * @return A new loader
+   *
+   * @see NTFileParserProviderType#createForChannel(URI, SeekableByteChannel)
+   */
+
+  NTFontLoaderType createForChannel(
+    URI source,
+    SeekableByteChannel channel);
+}
@@ -18,6 +18,10 @@ package com.io7m.jnoisetype.parser.api;
 
 import com.io7m.jnoisetype.api.NTFontType;
 
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 /**
  * A SoundFont® interpreter.
  */
@@ -34,4 +38,66 @@ public interface NTInterpreterType
 
   NTFontType interpret()
     throws NTParseException;
+
+  /**
+   * Execute the interpreter, interpreting instruments and presets concurrently on the given
+   * executor. Instruments and presets are split into ranges that are interpreted independently,
+   * and are then added to the font in index order. The result is equal to the result of
+   * {@link #interpret()}, and errors are reported exactly as {@link #interpret()} would report
+   * them.
+   *
+   * @param executor The executor used to run interpretation tasks
+   *
+   * @return An interpreted font
+   *
+   * @throws NTParseException On interpretation errors
+   */
+
+  NTFontType interpret(Executor executor)
+    throws NTParseException;
+
+  /**
+   * Execute the interpreter lazily. Samples, and the headers of presets and instruments, are
+   * interpreted immediately. The zones, generators, and modulators of each preset and instrument
+   * are interpreted when the zones are first accessed. The structure of every preset and
+   * instrument is validated before this method returns, and so structural errors are reported
+   * here rather than on first access, and accessing the zones of a preset or instrument cannot
+   * fail. The resulting font is safe to access from multiple threads.
+   *
+   * @return An interpreted font
+   *
+   * @throws NTParseException On interpretation errors
+   *
+   * @see #interpret()
+   */
+
+  NTFontType interpretLazily()
+    throws NTParseException;
+
+  /**
+   * Execute the interpreter asynchronously on the given executor. The returned future completes
+   * exceptionally with an {@link NTParseException} on interpretation errors.
+   *
+   * @param executor The executor that will run the interpreter
+   *
+   * @return An interpreted font, when it is ready
+   *
+   * @see #interpret()
+   */
+
+  default CompletableFuture<NTFontType> interpretAsync(
+    final Executor executor)
+  {
+    Objects.requireNonNull(executor, "executor");
+
+    final var future = new CompletableFuture<NTFontType>();
+    executor.execute(() -> {
+      try {
+        future.complete(this.interpret());
+      } catch (final Throwable e) {
+        future.completeExceptionally(e);
+      }
+    });
+    return future;
+  }
 }
@@ -17,11 +17,15 @@
 package com.io7m.jnoisetype.parser.api;
 
 import com.io7m.immutables.styles.ImmutablesStyleType;
+import com.io7m.jnoisetype.api.NTGenericAmounts;
 import com.io7m.jnoisetype.api.NTInfo;
 import com.io7m.jnoisetype.api.NTSource;
 import org.immutables.value.Value;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * A parsed SoundFont®.
@@ -40,22 +44,78 @@ public interface NTParsedFileType
   NTInfo info();
 
   /**
-   * @return The sample records contained within the SoundFont
+   * @return The source of the sample data referenced by the sample records
    */
 
-  List<NTParsedSample> sampleRecords();
+  @Value.Auxiliary
+  NTSampleDataSourceType sampleData();
+
+  /**
+   * @return {@code true} if the producer of this file has already checked that every hydra table
+   *         ends with the terminal record required by the specification
+   */
+
+  @Value.Default
+  @Value.Auxiliary
+  default boolean terminalRecordsChecked()
+  {
+    return false;
+  }
+
+  /**
+   * @return The compact table of samples contained within the SoundFont
+   */
+
+  NTParsedSampleTableType sampleTable();
+
+  /**
+   * @return The samples contained within the SoundFont, derived
+   * from {@link #sampleTable()}
+   */
+
+  @Value.Lazy
+  default List<NTParsedSample> sampleRecords()
+  {
+    final var table = this.sampleTable();
+    final var size = table.size();
+    final var results = new ArrayList<NTParsedSample>(size);
+    for (var index = 0; index < size; ++index) {
+      results.add(table.record(index));
+    }
+    return Collections.unmodifiableList(results);
+  }
 
   /**
    * @return The location in the source file from which samples are sourced
    */
 
-  NTSource sampleRecordsSource();
+  default NTSource sampleRecordsSource()
+  {
+    return this.sampleTable().source();
+  }
+
+  /**
+   * @return The compact table of presets contained within the SoundFont
+   */
+
+  NTParsedPresetTableType presetTable();
 
   /**
-   * @return The preset records contained within the SoundFont
+   * @return The presets contained within the SoundFont, derived
+   * from {@link #presetTable()}
    */
 
-  List<NTParsedPreset> presetRecords();
+  @Value.Lazy
+  default List<NTParsedPreset> presetRecords()
+  {
+    final var table = this.presetTable();
+    final var size = table.size();
+    final var results = new ArrayList<NTParsedPreset>(size);
+    for (var index = 0; index < size; ++index) {
+      results.add(table.record(index));
+    }
+    return Collections.unmodifiableList(results);
+  }
 
   /**
    * @return {@code #presetZoneRecords()}
@@ -70,19 +130,60 @@ public interface NTParsedFileType
    * @return The location in the source file from which presets are sourced
    */
 
-  NTSource presetRecordsSource();
+  default NTSource presetRecordsSource()
+  {
+    return this.presetTable().source();
+  }
+
+  /**
+   * @return The compact table of preset zones contained within the SoundFont
+   */
+
+  NTParsedZoneTableType presetZoneTable();
+
+  /**
+   * @return The preset zones contained within the SoundFont, derived
+   * from {@link #presetZoneTable()}
+   */
+
+  @Value.Lazy
+  default List<NTParsedPresetZone> presetZoneRecords()
+  {
+    final var size = this.presetZoneTable().size();
+    final var results = new ArrayList<NTParsedPresetZone>(size);
+    for (var index = 0; index < size; ++index) {
+      results.add(this.presetZoneRecord(index));
+    }
+    return Collections.unmodifiableList(results);
+  }
 
   /**
-   * @return The preset zones contained within the SoundFont
+   * Decode a single preset zone record from {@link #presetZoneTable()}.
+   *
+   * @param index The record index
+   *
+   * @return The record at {@code index}
    */
 
-  List<NTParsedPresetZone> presetZoneRecords();
+  default NTParsedPresetZone presetZoneRecord(
+    final int index)
+  {
+    final var table = this.presetZoneTable();
+    return NTParsedPresetZone.builder()
+      .setSource(table.recordSource(index))
+      .setGeneratorIndex(table.generatorIndex(index))
+      .setModulatorIndex(table.modulatorIndex(index))
+      .build();
+  }
 
   /**
    * @return The location in the source file from which preset zones are sourced
    */
 
-  NTSource presetZoneRecordsSource();
+  default NTSource presetZoneRecordsSource()
+  {
+    return this.presetZoneTable().source();
+  }
 
   /**
    * @return {@code #presetZoneRecords()}
@@ -94,16 +195,57 @@ public interface NTParsedFileType
   }
 
   /**
-   * @return The preset zone modulators contained within the SoundFont
+   * @return The compact table of preset zone modulators contained within the SoundFont
    */
 
-  List<NTParsedPresetZoneModulator> presetZoneModulatorRecords();
+  NTParsedModulatorTableType presetZoneModulatorTable();
+
+  /**
+   * @return The preset zone modulators contained within the SoundFont, derived
+   * from {@link #presetZoneModulatorTable()}
+   */
+
+  @Value.Lazy
+  default List<NTParsedPresetZoneModulator> presetZoneModulatorRecords()
+  {
+    final var size = this.presetZoneModulatorTable().size();
+    final var results = new ArrayList<NTParsedPresetZoneModulator>(size);
+    for (var index = 0; index < size; ++index) {
+      results.add(this.presetZoneModulatorRecord(index));
+    }
+    return Collections.unmodifiableList(results);
+  }
+
+  /**
+   * Decode a single preset zone modulator record from {@link #presetZoneModulatorTable()}.
+   *
+   * @param index The record index
+   *
+   * @return The record at {@code index}
+   */
+
+  default NTParsedPresetZoneModulator presetZoneModulatorRecord(
+    final int index)
+  {
+    final var table = this.presetZoneModulatorTable();
+    return NTParsedPresetZoneModulator.builder()
+      .setSource(table.recordSource(index))
+      .setSourceOperator(table.sourceOperator(index))
+      .setTargetOperator(table.targetOperator(index))
+      .setModulationAmount(table.modulationAmount(index))
+      .setModulationAmountSourceOperator(table.modulationAmountSourceOperator(index))
+      .setModulationTransformOperator(table.modulationTransformOperator(index))
+      .build();
+  }
 
   /**
    * @return The location in the source file from which preset zone modulators are sourced
    */
 
-  NTSource presetZoneModulatorRecordsSource();
+  default NTSource presetZoneModulatorRecordsSource()
+  {
+    return this.presetZoneModulatorTable().source();
+  }
 
   /**
    * @return {@code #presetZoneModulatorRecords()}
@@ -115,16 +257,54 @@ public interface NTParsedFileType
   }
 
   /**
-   * @return The preset zone generators contained within the SoundFont
+   * @return The compact table of preset zone generators contained within the SoundFont
+   */
+
+  NTParsedGeneratorTableType presetZoneGeneratorTable();
+
+  /**
+   * @return The preset zone generators contained within the SoundFont, derived
+   * from {@link #presetZoneGeneratorTable()}
+   */
+
+  @Value.Lazy
+  default List<NTParsedPresetZoneGenerator> presetZoneGeneratorRecords()
+  {
+    final var size = this.presetZoneGeneratorTable().size();
+    final var results = new ArrayList<NTParsedPresetZoneGenerator>(size);
+    for (var index = 0; index < size; ++index) {
+      results.add(this.presetZoneGeneratorRecord(index));
+    }
+    return Collections.unmodifiableList(results);
+  }
+
+  /**
+   * Decode a single preset zone generator record from {@link #presetZoneGeneratorTable()}.
+   *
+   * @param index The record index
+   *
+   * @return The record at {@code index}
    */
 
-  List<NTParsedPresetZoneGenerator> presetZoneGeneratorRecords();
+  default NTParsedPresetZoneGenerator presetZoneGeneratorRecord(
+    final int index)
+  {
+    final var table = this.presetZoneGeneratorTable();
+    return NTParsedPresetZoneGenerator.builder()
+      .setSource(table.recordSource(index))
+      .setGeneratorOperator(table.generatorOperator(index))
+      .setAmount(NTGenericAmounts.of(table.amount(index)))
+      .build();
+  }
 
   /**
    * @return The location in the source file from which preset zone generators are sourced
    */
 
-  NTSource presetZoneGeneratorRecordsSource();
+  default NTSource presetZoneGeneratorRecordsSource()
+  {
+    return this.presetZoneGeneratorTable().source();
+  }
 
   /**
    * @return {@code #presetZoneGeneratorRecords()}
@@ -136,16 +316,36 @@ public interface NTParsedFileType
   }
 
   /**
-   * @return The instrument records contained within the SoundFont
+   * @return The compact table of instrument records contained within the SoundFont
    */
 
-  List<NTParsedInstrument> instrumentRecords();
+  NTParsedInstrumentTableType instrumentTable();
+
+  /**
+   * @return The instrument records contained within the SoundFont, derived
+   * from {@link #instrumentTable()}
+   */
+
+  @Value.Lazy
+  default List<NTParsedInstrument> instrumentRecords()
+  {
+    final var table = this.instrumentTable();
+    final var size = table.size();
+    final var results = new ArrayList<NTParsedInstrument>(size);
+    for (var index = 0; index < size; ++index) {
+      results.add(table.record(index));
+    }
+    return Collections.unmodifiableList(results);
+  }
 
   /**
    * @return The location in the source file from which instrument records are sourced
    */
 
-  NTSource instrumentRecordsSource();
+  default NTSource instrumentRecordsSource()
+  {
+    return this.instrumentTable().source();
+  }
 
   /**
    * @return {@code #instrumentRecords()}
@@ -157,16 +357,54 @@ public interface NTParsedFileType
   }
 
   /**
-   * @return The instrument zones contained within the SoundFont
+   * @return The compact table of instrument zones contained within the SoundFont
    */
 
-  List<NTParsedInstrumentZone> instrumentZoneRecords();
+  NTParsedZoneTableType instrumentZoneTable();
 
   /**
-   * @return The location in the source file from which instrument zone records are sourced
+   * @return The instrument zones contained within the SoundFont, derived
+   * from {@link #instrumentZoneTable()}
    */
 
-  NTSource instrumentZoneRecordsSource();
+  @Value.Lazy
+  default List<NTParsedInstrumentZone> instrumentZoneRecords()
+  {
+    final var size = this.instrumentZoneTable().size();
+    final var results = new ArrayList<NTParsedInstrumentZone>(size);
+    for (var index = 0; index < size; ++index) {
+      results.add(this.instrumentZoneRecord(index));
+    }
+    return Collections.unmodifiableList(results);
+  }
+
+  /**
+   * Decode a single instrument zone record from {@link #instrumentZoneTable()}.
+   *
+   * @param index The record index
+   *
+   * @return The record at {@code index}
+   */
+
+  default NTParsedInstrumentZone instrumentZoneRecord(
+    final int index)
+  {
+    final var table = this.instrumentZoneTable();
+    return NTParsedInstrumentZone.builder()
+      .setSource(table.recordSource(index))
+      .setGeneratorIndex(table.generatorIndex(index))
+      .setModulatorIndex(table.modulatorIndex(index))
+      .build();
+  }
+
+  /**
+   * @return The location in the source file from which instrument zones are sourced
+   */
+
+  default NTSource instrumentZoneRecordsSource()
+  {
+    return this.instrumentZoneTable().source();
+  }
 
   /**
    * @return {@code #instrumentZoneRecords()}
@@ -178,17 +416,57 @@ public interface NTParsedFileType
   }
 
   /**
-   * @return The instrument zones contained within the SoundFont
+   * @return The compact table of instrument zone modulators contained within the SoundFont
+   */
+
+  NTParsedModulatorTableType instrumentZoneModulatorTable();
+
+  /**
+   * @return The instrument zone modulators contained within the SoundFont, derived
+   * from {@link #instrumentZoneModulatorTable()}
+   */
+
+  @Value.Lazy
+  default List<NTParsedInstrumentZoneModulator> instrumentZoneModulatorRecords()
+  {
+    final var size = this.instrumentZoneModulatorTable().size();
+    final var results = new ArrayList<NTParsedInstrumentZoneModulator>(size);
+    for (var index = 0; index < size; ++index) {
+      results.add(this.instrumentZoneModulatorRecord(index));
+    }
+    return Collections.unmodifiableList(results);
+  }
+
+  /**
+   * Decode a single instrument zone modulator record from {@link #instrumentZoneModulatorTable()}.
+   *
+   * @param index The record index
+   *
+   * @return The record at {@code index}
    */
 
-  List<NTParsedInstrumentZoneModulator> instrumentZoneModulatorRecords();
+  default NTParsedInstrumentZoneModulator instrumentZoneModulatorRecord(
+    final int index)
+  {
+    final var table = this.instrumentZoneModulatorTable();
+    return NTParsedInstrumentZoneModulator.builder()
+      .setSource(table.recordSource(index))
+      .setSourceOperator(table.sourceOperator(index))
+      .setTargetOperator(table.targetOperator(index))
+      .setModulationAmount(table.modulationAmount(index))
+      .setModulationAmountSourceOperator(table.modulationAmountSourceOperator(index))
+      .setModulationTransformOperator(table.modulationTransformOperator(index))
+      .build();
+  }
 
   /**
-   * @return The location in the source file from which instrument zone modulator records are
-   * sourced
+   * @return The location in the source file from which instrument zone modulators are sourced
    */
 
-  NTSource instrumentZoneModulatorRecordsSource();
+  default NTSource instrumentZoneModulatorRecordsSource()
+  {
+    return this.instrumentZoneModulatorTable().source();
+  }
 
   /**
    * @return {@code #instrumentZoneModulatorRecords()}
@@ -200,17 +478,54 @@ public interface NTParsedFileType
   }
 
   /**
-   * @return The instrument zone generators contained within the SoundFont
+   * @return The compact table of instrument zone generators contained within the SoundFont
    */
 
-  List<NTParsedInstrumentZoneGenerator> instrumentZoneGeneratorRecords();
+  NTParsedGeneratorTableType instrumentZoneGeneratorTable();
 
   /**
-   * @return The location in the source file from which instrument zone generator records are
-   * sourced
+   * @return The instrument zone generators contained within the SoundFont, derived
+   * from {@link #instrumentZoneGeneratorTable()}
    */
 
-  NTSource instrumentZoneGeneratorRecordsSource();
+  @Value.Lazy
+  default List<NTParsedInstrumentZoneGenerator> instrumentZoneGeneratorRecords()
+  {
+    final var size = this.instrumentZoneGeneratorTable().size();
+    final var results = new ArrayList<NTParsedInstrumentZoneGenerator>(size);
+    for (var index = 0; index < size; ++index) {
+      results.add(this.instrumentZoneGeneratorRecord(index));
+    }
+    return Collections.unmodifiableList(results);
+  }
+
+  /**
+   * Decode a single instrument zone generator record from {@link #instrumentZoneGeneratorTable()}.
+   *
+   * @param index The record index
+   *
+   * @return The record at {@code index}
+   */
+
+  default NTParsedInstrumentZoneGenerator instrumentZoneGeneratorRecord(
+    final int index)
+  {
+    final var table = this.instrumentZoneGeneratorTable();
+    return NTParsedInstrumentZoneGenerator.builder()
+      .setSource(table.recordSource(index))
+      .setGeneratorOperator(table.generatorOperator(index))
+      .setAmount(NTGenericAmounts.of(table.amount(index)))
+      .build();
+  }
+
+  /**
+   * @return The location in the source file from which instrument zone generators are sourced
+   */
+
+  default NTSource instrumentZoneGeneratorRecordsSource()
+  {
+    return this.instrumentZoneGeneratorTable().source();
+  }
 
   /**
    * @return {@code #instrumentZoneGeneratorRecords()}
@@ -220,4 +535,65 @@ public interface NTParsedFileType
   {
     return this.instrumentZoneGeneratorRecords();
   }
+
+  /**
+   * Deliver each record of the file to the given visitor, in file order. Records are decoded
+   * from the underlying tables one at a time, and the record lists such as
+   * {@link #presetRecords()} are not constructed.
+   *
+   * @param visitor The visitor
+   *
+   * @see NTParsedFileVisitorType
+   */
+
+  default void accept(
+    final NTParsedFileVisitorType visitor)
+  {
+    Objects.requireNonNull(visitor, "visitor");
+
+    visitor.onInfo(this.info());
+    this.acceptPresets(visitor);
+    this.acceptInstruments(visitor);
+
+    final var samples = this.sampleTable();
+    for (var index = 0; index < samples.size(); ++index) {
+      visitor.onSample(index, samples.record(index));
+    }
+  }
+
+  private void acceptPresets(
+    final NTParsedFileVisitorType visitor)
+  {
+    final var presets = this.presetTable();
+    for (var index = 0; index < presets.size(); ++index) {
+      visitor.onPreset(index, presets.record(index));
+    }
+    for (var index = 0; index < this.presetZoneTable().size(); ++index) {
+      visitor.onPresetZone(index, this.presetZoneRecord(index));
+    }
+    for (var index = 0; index < this.presetZoneModulatorTable().size(); ++index) {
+      visitor.onPresetZoneModulator(index, this.presetZoneModulatorRecord(index));
+    }
+    for (var index = 0; index < this.presetZoneGeneratorTable().size(); ++index) {
+      visitor.onPresetZoneGenerator(index, this.presetZoneGeneratorRecord(index));
+    }
+  }
+
+  private void acceptInstruments(
+    final NTParsedFileVisitorType visitor)
+  {
+    final var instruments = this.instrumentTable();
+    for (var index = 0; index < instruments.size(); ++index) {
+      visitor.onInstrument(index, instruments.record(index));
+    }
+    for (var index = 0; index < this.instrumentZoneTable().size(); ++index) {
+      visitor.onInstrumentZone(index, this.instrumentZoneRecord(index));
+    }
+    for (var index = 0; index < this.instrumentZoneModulatorTable().size(); ++index) {
+      visitor.onInstrumentZoneModulator(index, this.instrumentZoneModulatorRecord(index));
+    }
+    for (var index = 0; index < this.instrumentZoneGeneratorTable().size(); ++index) {
+      visitor.onInstrumentZoneGenerator(index, this.instrumentZoneGeneratorRecord(index));
+    }
+  }
 }
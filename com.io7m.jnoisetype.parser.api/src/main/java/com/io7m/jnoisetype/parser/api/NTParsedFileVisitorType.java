@@ -0,0 +1,171 @@
+/*
+ * Copyright © 2019 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jnoisetype.parser.api;
+
+import com.io7m.jnoisetype.api.NTInfo;
+
+/**
+ * A visitor that receives the records of a parsed SoundFont® one at a time. Records are
+ * delivered in file order: the information chunk, followed by each of the hydra sub-chunks in
+ * the order given by the specification, with each sub-chunk delivered in full (including the
+ * terminal record) before the next. All methods do nothing by default.
+ *
+ * @see NTFileParserType#visit(NTParsedFileVisitorType)
+ * @see "SoundFont® Technical Specification 2.04, §7 The Hydra Data Structure"
+ */
+
+public interface NTParsedFileVisitorType
+{
+  /**
+   * Receive the information associated with the font.
+   *
+   * @param info The information
+   */
+
+  default void onInfo(
+    final NTInfo info)
+  {
+
+  }
+
+  /**
+   * Receive a preset header record.
+   *
+   * @param index  The record index within the {@code phdr} chunk
+   * @param preset The record
+   */
+
+  default void onPreset(
+    final int index,
+    final NTParsedPreset preset)
+  {
+
+  }
+
+  /**
+   * Receive a preset zone record.
+   *
+   * @param index The record index within the {@code pbag} chunk
+   * @param zone  The record
+   */
+
+  default void onPresetZone(
+    final int index,
+    final NTParsedPresetZone zone)
+  {
+
+  }
+
+  /**
+   * Receive a preset zone modulator record.
+   *
+   * @param index     The record index within the {@code pmod} chunk
+   * @param modulator The record
+   */
+
+  default void onPresetZoneModulator(
+    final int index,
+    final NTParsedPresetZoneModulator modulator)
+  {
+
+  }
+
+  /**
+   * Receive a preset zone generator record.
+   *
+   * @param index     The record index within the {@code pgen} chunk
+   * @param generator The record
+   */
+
+  default void onPresetZoneGenerator(
+    final int index,
+    final NTParsedPresetZoneGenerator generator)
+  {
+
+  }
+
+  /**
+   * Receive an instrument record.
+   *
+   * @param index      The record index within the {@code inst} chunk
+   * @param instrument The record
+   */
+
+  default void onInstrument(
+    final int index,
+    final NTParsedInstrument instrument)
+  {
+
+  }
+
+  /**
+   * Receive an instrument zone record.
+   *
+   * @param index The record index within the {@code ibag} chunk
+   * @param zone  The record
+   */
+
+  default void onInstrumentZone(
+    final int index,
+    final NTParsedInstrumentZone zone)
+  {
+
+  }
+
+  /**
+   * Receive an instrument zone modulator record.
+   *
+   * @param index     The record index within the {@code imod} chunk
+   * @param modulator The record
+   */
+
+  default void onInstrumentZoneModulator(
+    final int index,
+    final NTParsedInstrumentZoneModulator modulator)
+  {
+
+  }
+
+  /**
+   * Receive an instrument zone generator record.
+   *
+   * @param index     The record index within the {@code igen} chunk
+   * @param generator The record
+   */
+
+  default void onInstrumentZoneGenerator(
+    final int index,
+    final NTParsedInstrumentZoneGenerator generator)
+  {
+
+  }
+
+  /**
+   * Receive a sample header record.
+   *
+   * @param index  The record index within the {@code shdr} chunk
+   * @param sample The record
+   */
+
+  default void onSample(
+    final int index,
+    final NTParsedSample sample)
+  {
+
+  }
+}
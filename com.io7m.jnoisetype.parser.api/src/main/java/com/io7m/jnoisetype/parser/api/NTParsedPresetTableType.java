@@ -0,0 +1,68 @@
+/*
+ * Copyright © 2019 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jnoisetype.parser.api;
+
+import com.io7m.jnoisetype.api.NTPresetName;
+
+/**
+ * A compact table of preset records ({@code phdr}). Records are decoded on access.
+ *
+ * @see "SoundFont® Technical Specification 2.04, §7.2"
+ */
+
+public interface NTParsedPresetTableType extends NTParsedTableType
+{
+  /**
+   * @param index The record index
+   *
+   * @return The fully decoded record
+   */
+
+  NTParsedPreset record(int index);
+
+  /**
+   * @param index The record index
+   *
+   * @return The name of the preset
+   */
+
+  NTPresetName name(int index);
+
+  /**
+   * @param index The record index
+   *
+   * @return The number of the preset
+   */
+
+  int preset(int index);
+
+  /**
+   * @param index The record index
+   *
+   * @return The number of the preset bank
+   */
+
+  int bank(int index);
+
+  /**
+   * @param index The record index
+   *
+   * @return The index into the preset zone table
+   */
+
+  int presetBagIndex(int index);
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright © 2019 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jnoisetype.parser.api;
+
+import com.io7m.jnoisetype.api.NTSource;
+
+/**
+ * A compact table of fixed-size records parsed from one of the hydra sub-chunks. Records are
+ * accessed by index, and no per-record objects are retained.
+ */
+
+public interface NTParsedTableType
+{
+  /**
+   * @return The location in the source file from which the table is sourced
+   */
+
+  NTSource source();
+
+  /**
+   * @return The number of records in the table
+   */
+
+  int size();
+
+  /**
+   * @param index The record index
+   *
+   * @return The location in the source file of the given record
+   */
+
+  NTSource recordSource(int index);
+}
@@ -0,0 +1,514 @@
+/*
+ * Copyright © 2019 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jnoisetype.parser.api;
+
+import com.io7m.jnoisetype.api.NTInstrumentName;
+import com.io7m.jnoisetype.api.NTPresetName;
+import com.io7m.jnoisetype.api.NTSampleName;
+import com.io7m.jnoisetype.api.NTSource;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Functions to construct tables from lists of records. These allow a {@link NTParsedFile} to be
+ * assembled from records that were not parsed from a file, for example:
+ *
+ * <pre>
+ *   NTParsedFile.builder()
+ *     .setPresetZoneTable(NTParsedTables.ofPresetZones(source, zones))
+ *     ...
+ * </pre>
+ *
+ * The record lists derived from a table constructed here (such as
+ * {@link NTParsedFileType#presetZoneRecords()}) are equal to the lists given to the functions.
+ */
+
+public final class NTParsedTables
+{
+  private NTParsedTables()
+  {
+
+  }
+
+  /**
+   * @param source  The location in the source file from which the table is sourced
+   * @param records The preset records
+   *
+   * @return A table of the given preset records
+   */
+
+  public static NTParsedPresetTableType ofPresets(
+    final NTSource source,
+    final List<NTParsedPreset> records)
+  {
+    return new PresetTable(source, records);
+  }
+
+  /**
+   * @param source  The location in the source file from which the table is sourced
+   * @param records The preset zone records
+   *
+   * @return A table of the given preset zone records
+   */
+
+  public static NTParsedZoneTableType ofPresetZones(
+    final NTSource source,
+    final List<NTParsedPresetZone> records)
+  {
+    return new PresetZoneTable(source, records);
+  }
+
+  /**
+   * @param source  The location in the source file from which the table is sourced
+   * @param records The preset zone modulator records
+   *
+   * @return A table of the given preset zone modulator records
+   */
+
+  public static NTParsedModulatorTableType ofPresetZoneModulators(
+    final NTSource source,
+    final List<NTParsedPresetZoneModulator> records)
+  {
+    return new PresetZoneModulatorTable(source, records);
+  }
+
+  /**
+   * @param source  The location in the source file from which the table is sourced
+   * @param records The preset zone generator records
+   *
+   * @return A table of the given preset zone generator records
+   */
+
+  public static NTParsedGeneratorTableType ofPresetZoneGenerators(
+    final NTSource source,
+    final List<NTParsedPresetZoneGenerator> records)
+  {
+    return new PresetZoneGeneratorTable(source, records);
+  }
+
+  /**
+   * @param source  The location in the source file from which the table is sourced
+   * @param records The instrument records
+   *
+   * @return A table of the given instrument records
+   */
+
+  public static NTParsedInstrumentTableType ofInstruments(
+    final NTSource source,
+    final List<NTParsedInstrument> records)
+  {
+    return new InstrumentTable(source, records);
+  }
+
+  /**
+   * @param source  The location in the source file from which the table is sourced
+   * @param records The instrument zone records
+   *
+   * @return A table of the given instrument zone records
+   */
+
+  public static NTParsedZoneTableType ofInstrumentZones(
+    final NTSource source,
+    final List<NTParsedInstrumentZone> records)
+  {
+    return new InstrumentZoneTable(source, records);
+  }
+
+  /**
+   * @param source  The location in the source file from which the table is sourced
+   * @param records The instrument zone modulator records
+   *
+   * @return A table of the given instrument zone modulator records
+   */
+
+  public static NTParsedModulatorTableType ofInstrumentZoneModulators(
+    final NTSource source,
+    final List<NTParsedInstrumentZoneModulator> records)
+  {
+    return new InstrumentZoneModulatorTable(source, records);
+  }
+
+  /**
+   * @param source  The location in the source file from which the table is sourced
+   * @param records The instrument zone generator records
+   *
+   * @return A table of the given instrument zone generator records
+   */
+
+  public static NTParsedGeneratorTableType ofInstrumentZoneGenerators(
+    final NTSource source,
+    final List<NTParsedInstrumentZoneGenerator> records)
+  {
+    return new InstrumentZoneGeneratorTable(source, records);
+  }
+
+  /**
+   * @param source  The location in the source file from which the table is sourced
+   * @param records The sample records
+   *
+   * @return A table of the given sample records
+   */
+
+  public static NTParsedSampleTableType ofSamples(
+    final NTSource source,
+    final List<NTParsedSample> records)
+  {
+    return new SampleTable(source, records);
+  }
+
+  private abstract static class RecordListTable<R extends NTParsedElementType>
+    implements NTParsedTableType
+  {
+    private final NTSource source;
+    private final List<R> records;
+
+    RecordListTable(
+      final NTSource in_source,
+      final List<R> in_records)
+    {
+      this.source = Objects.requireNonNull(in_source, "source");
+      this.records = List.copyOf(Objects.requireNonNull(in_records, "records"));
+    }
+
+    protected final R get(
+      final int index)
+    {
+      return this.records.get(index);
+    }
+
+    @Override
+    public final NTSource source()
+    {
+      return this.source;
+    }
+
+    @Override
+    public final int size()
+    {
+      return this.records.size();
+    }
+
+    @Override
+    public final NTSource recordSource(
+      final int index)
+    {
+      return this.records.get(index).source();
+    }
+
+    @Override
+    public final boolean equals(final Object o)
+    {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || !Objects.equals(this.getClass(), o.getClass())) {
+        return false;
+      }
+      final var other = (RecordListTable<?>) o;
+      return this.source.equals(other.source) && this.records.equals(other.records);
+    }
+
+    @Override
+    public final int hashCode()
+    {
+      return Objects.hash(this.source, this.records);
+    }
+
+    @Override
+    public final String toString()
+    {
+      return new StringBuilder(64)
+        .append('[')
+        .append(this.getClass().getSimpleName())
+        .append(' ')
+        .append(this.records.size())
+        .append(' ')
+        .append(this.source)
+        .append(']')
+        .toString();
+    }
+  }
+
+  private static final class PresetTable
+    extends RecordListTable<NTParsedPreset> implements NTParsedPresetTableType
+  {
+    PresetTable(
+      final NTSource in_source,
+      final List<NTParsedPreset> in_records)
+    {
+      super(in_source, in_records);
+    }
+
+    @Override
+    public NTParsedPreset record(final int index)
+    {
+      return this.get(index);
+    }
+
+    @Override
+    public NTPresetName name(final int index)
+    {
+      return this.get(index).name();
+    }
+
+    @Override
+    public int preset(final int index)
+    {
+      return this.get(index).preset();
+    }
+
+    @Override
+    public int bank(final int index)
+    {
+      return this.get(index).bank();
+    }
+
+    @Override
+    public int presetBagIndex(final int index)
+    {
+      return this.get(index).presetBagIndex();
+    }
+  }
+
+  private static final class PresetZoneTable
+    extends RecordListTable<NTParsedPresetZone> implements NTParsedZoneTableType
+  {
+    PresetZoneTable(
+      final NTSource in_source,
+      final List<NTParsedPresetZone> in_records)
+    {
+      super(in_source, in_records);
+    }
+
+    @Override
+    public int generatorIndex(final int index)
+    {
+      return this.get(index).generatorIndex();
+    }
+
+    @Override
+    public int modulatorIndex(final int index)
+    {
+      return this.get(index).modulatorIndex();
+    }
+  }
+
+  private static final class PresetZoneModulatorTable
+    extends RecordListTable<NTParsedPresetZoneModulator> implements NTParsedModulatorTableType
+  {
+    PresetZoneModulatorTable(
+      final NTSource in_source,
+      final List<NTParsedPresetZoneModulator> in_records)
+    {
+      super(in_source, in_records);
+    }
+
+    @Override
+    public int sourceOperator(final int index)
+    {
+      return this.get(index).sourceOperator();
+    }
+
+    @Override
+    public int targetOperator(final int index)
+    {
+      return this.get(index).targetOperator();
+    }
+
+    @Override
+    public short modulationAmount(final int index)
+    {
+      return this.get(index).modulationAmount();
+    }
+
+    @Override
+    public int modulationAmountSourceOperator(final int index)
+    {
+      return this.get(index).modulationAmountSourceOperator();
+    }
+
+    @Override
+    public int modulationTransformOperator(final int index)
+    {
+      return this.get(index).modulationTransformOperator();
+    }
+  }
+
+  private static final class PresetZoneGeneratorTable
+    extends RecordListTable<NTParsedPresetZoneGenerator> implements NTParsedGeneratorTableType
+  {
+    PresetZoneGeneratorTable(
+      final NTSource in_source,
+      final List<NTParsedPresetZoneGenerator> in_records)
+    {
+      super(in_source, in_records);
+    }
+
+    @Override
+    public int generatorOperator(final int index)
+    {
+      return this.get(index).generatorOperator();
+    }
+
+    @Override
+    public int amount(final int index)
+    {
+      return this.get(index).amount().value();
+    }
+  }
+
+  private static final class InstrumentTable
+    extends RecordListTable<NTParsedInstrument> implements NTParsedInstrumentTableType
+  {
+    InstrumentTable(
+      final NTSource in_source,
+      final List<NTParsedInstrument> in_records)
+    {
+      super(in_source, in_records);
+    }
+
+    @Override
+    public NTParsedInstrument record(final int index)
+    {
+      return this.get(index);
+    }
+
+    @Override
+    public NTInstrumentName name(final int index)
+    {
+      return this.get(index).name();
+    }
+
+    @Override
+    public int instrumentZoneIndex(final int index)
+    {
+      return this.get(index).instrumentZoneIndex();
+    }
+  }
+
+  private static final class InstrumentZoneTable
+    extends RecordListTable<NTParsedInstrumentZone> implements NTParsedZoneTableType
+  {
+    InstrumentZoneTable(
+      final NTSource in_source,
+      final List<NTParsedInstrumentZone> in_records)
+    {
+      super(in_source, in_records);
+    }
+
+    @Override
+    public int generatorIndex(final int index)
+    {
+      return this.get(index).generatorIndex();
+    }
+
+    @Override
+    public int modulatorIndex(final int index)
+    {
+      return this.get(index).modulatorIndex();
+    }
+  }
+
+  private static final class InstrumentZoneModulatorTable
+    extends RecordListTable<NTParsedInstrumentZoneModulator>
+    implements NTParsedModulatorTableType
+  {
+    InstrumentZoneModulatorTable(
+      final NTSource in_source,
+      final List<NTParsedInstrumentZoneModulator> in_records)
+    {
+      super(in_source, in_records);
+    }
+
+    @Override
+    public int sourceOperator(final int index)
+    {
+      return this.get(index).sourceOperator();
+    }
+
+    @Override
+    public int targetOperator(final int index)
+    {
+      return this.get(index).targetOperator();
+    }
+
+    @Override
+    public short modulationAmount(final int index)
+    {
+      return this.get(index).modulationAmount();
+    }
+
+    @Override
+    public int modulationAmountSourceOperator(final int index)
+    {
+      return this.get(index).modulationAmountSourceOperator();
+    }
+
+    @Override
+    public int modulationTransformOperator(final int index)
+    {
+      return this.get(index).modulationTransformOperator();
+    }
+  }
+
+  private static final class InstrumentZoneGeneratorTable
+    extends RecordListTable<NTParsedInstrumentZoneGenerator> implements NTParsedGeneratorTableType
+  {
+    InstrumentZoneGeneratorTable(
+      final NTSource in_source,
+      final List<NTParsedInstrumentZoneGenerator> in_records)
+    {
+      super(in_source, in_records);
+    }
+
+    @Override
+    public int generatorOperator(final int index)
+    {
+      return this.get(index).generatorOperator();
+    }
+
+    @Override
+    public int amount(final int index)
+    {
+      return this.get(index).amount().value();
+    }
+  }
+
+  private static final class SampleTable
+    extends RecordListTable<NTParsedSample> implements NTParsedSampleTableType
+  {
+    SampleTable(
+      final NTSource in_source,
+      final List<NTParsedSample> in_records)
+    {
+      super(in_source, in_records);
+    }
+
+    @Override
+    public NTParsedSample record(final int index)
+    {
+      return this.get(index);
+    }
+
+    @Override
+    public NTSampleName name(final int index)
+    {
+      return this.get(index).description().name();
+    }
+  }
+}
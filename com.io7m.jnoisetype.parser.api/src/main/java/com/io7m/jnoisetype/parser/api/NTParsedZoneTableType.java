@@ -0,0 +1,42 @@
+/*
+ * Copyright © 2019 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jnoisetype.parser.api;
+
+/**
+ * A compact table of zone records ({@code pbag} or {@code ibag}).
+ *
+ * @see "SoundFont® Technical Specification 2.04, §7.3, §7.7"
+ */
+
+public interface NTParsedZoneTableType extends NTParsedTableType
+{
+  /**
+   * @param index The record index
+   *
+   * @return The index of the first generator of the zone
+   */
+
+  int generatorIndex(int index);
+
+  /**
+   * @param index The record index
+   *
+   * @return The index of the first modulator of the zone
+   */
+
+  int modulatorIndex(int index);
+}
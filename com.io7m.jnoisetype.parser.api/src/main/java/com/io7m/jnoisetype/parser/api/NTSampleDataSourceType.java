@@ -0,0 +1,69 @@
+/*
+ * Copyright © 2019 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jnoisetype.parser.api;
+
+import com.io7m.jranges.RangeHalfOpenL;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+
+/**
+ * A source of sample data for a parsed SoundFont®.
+ */
+
+public interface NTSampleDataSourceType
+{
+  /**
+   * Obtain a read-only view of the given range of bytes within the parsed file. The returned
+   * buffer has a position of {@code 0}, a limit equal to the size of the range, and uses the
+   * byte order of the parsed file. Implementations avoid copying the data wherever the underlying
+   * storage allows it.
+   *
+   * @param range The range of bytes, given as absolute offsets within the parsed file
+   *
+   * @return A read-only view of the data
+   *
+   * @throws IOException On I/O errors
+   */
+
+  ByteBuffer bytes(RangeHalfOpenL range)
+    throws IOException;
+
+  /**
+   * Obtain a read-only view of the {@code sm24} data that corresponds to the given range of bytes
+   * within the {@code smpl} chunk. The {@code sm24} chunk holds the least significant eight bits
+   * of 24-bit sample values, one byte per sample value, and so the returned buffer has a limit
+   * equal to half the size of the range. The data is subject to the same copying guarantees as
+   * {@link #bytes(RangeHalfOpenL)}.
+   *
+   * @param range The range of bytes, given as absolute offsets of {@code smpl} data within the
+   *              parsed file
+   *
+   * @return A read-only view of the data, or nothing if the file does not have a usable
+   * {@code sm24} chunk
+   *
+   * @throws IOException On I/O errors
+   * @see "SoundFont® Technical Specification 2.04, §6.2 Sample Data Format in the sm24 Sub-chunk"
+   */
+
+  default Optional<ByteBuffer> lowBytes(final RangeHalfOpenL range)
+    throws IOException
+  {
+    return Optional.empty();
+  }
+}
@@ -17,8 +17,10 @@
 package com.io7m.jnoisetype.tests;
 
 import com.io7m.jnoisetype.api.NTGenerators;
+import com.io7m.jranges.RangeCheckException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestFactory;
 
 import java.util.stream.Stream;
@@ -99,4 +101,28 @@ public final class NTGeneratorsTest
       Assertions.assertEquals(generator, by_id, "By id matches");
     }));
   }
+
+  @Test
+  public void testUnknownGenerators()
+  {
+    final var generator = NTGenerators.find(1000);
+    Assertions.assertEquals("unknown", generator.name());
+    Assertions.assertEquals(1000, generator.index().value());
+    Assertions.assertSame(generator, NTGenerators.find(1000));
+    Assertions.assertSame(NTGenerators.find(51), NTGenerators.find(51));
+    Assertions.assertEquals(
+      NTGenerators.STANDARD_GENERATOR_COUNT,
+      NTGenerators.generators().size());
+  }
+
+  @Test
+  public void testOutOfRangeGenerators()
+  {
+    Assertions.assertThrows(
+      RangeCheckException.class,
+      () -> NTGenerators.find(-1));
+    Assertions.assertThrows(
+      RangeCheckException.class,
+      () -> NTGenerators.find(0x10000));
+  }
 }
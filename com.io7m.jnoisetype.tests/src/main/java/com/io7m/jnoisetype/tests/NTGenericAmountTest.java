@@ -17,6 +17,7 @@
 package com.io7m.jnoisetype.tests;
 
 import com.io7m.jnoisetype.api.NTGenericAmount;
+import com.io7m.jnoisetype.api.NTGenericAmounts;
 import com.io7m.jranges.RangeCheckException;
 import net.jqwik.api.ForAll;
 import net.jqwik.api.Property;
@@ -54,4 +55,24 @@ public final class NTGenericAmountTest
       NTGenericAmount.of(s0).compareTo(NTGenericAmount.of(s1)),
       "Ordering is correct");
   }
+
+  @Test
+  public void testCachedOutOfRange()
+  {
+    Assertions.assertThrows(RangeCheckException.class, () -> {
+      NTGenericAmounts.of(70000);
+    });
+    Assertions.assertThrows(RangeCheckException.class, () -> {
+      NTGenericAmounts.of(-1);
+    });
+  }
+
+  @Property
+  public void testCached(
+    final @ForAll @IntRange(min = 0, max = 0xffff) int s0)
+  {
+    final var amount = NTGenericAmounts.of(s0);
+    Assertions.assertEquals(NTGenericAmount.of(s0), amount);
+    Assertions.assertSame(amount, NTGenericAmounts.of(s0));
+  }
 }
@@ -16,10 +16,18 @@
 
 package com.io7m.jnoisetype.tests;
 
+import com.io7m.jnoisetype.api.NTBankIndex;
+import com.io7m.jnoisetype.api.NTFontType;
+import com.io7m.jnoisetype.api.NTGenericAmount;
+import com.io7m.jnoisetype.api.NTSampleConversions;
 import com.io7m.jnoisetype.api.NTSampleKind;
+import com.io7m.jnoisetype.api.NTVoiceRegionIndex;
+import com.io7m.jnoisetype.api.NTVoiceRegionTable;
 import com.io7m.jnoisetype.parser.api.NTFileParserProviderType;
+import com.io7m.jnoisetype.parser.api.NTFontLoaderProviderType;
 import com.io7m.jnoisetype.parser.api.NTInterpreterProviderType;
 import com.io7m.jnoisetype.parser.api.NTParseException;
+import com.io7m.jnoisetype.parser.api.NTParsedFile;
 import com.io7m.jspiel.api.RiffFileBuilderType;
 import com.io7m.jspiel.api.RiffFileWriterDescriptionType;
 import com.io7m.jspiel.api.RiffWriteException;
@@ -35,14 +43,19 @@ import org.slf4j.Logger;
 import java.io.Closeable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Random;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
 import static java.nio.file.StandardOpenOption.CREATE;
@@ -57,9 +70,12 @@ public abstract class NTInterpretersContract
   private NTFileParserProviderType parsers;
   private Logger logger;
   private NTInterpreterProviderType interpreters;
+  private NTFontLoaderProviderType loaders;
 
   protected abstract NTInterpreterProviderType interpreters();
 
+  protected abstract NTFontLoaderProviderType loaders();
+
   protected abstract NTFileParserProviderType parsers();
 
   protected abstract Logger logger();
@@ -70,6 +86,7 @@ public abstract class NTInterpretersContract
     this.logger = this.logger();
     this.interpreters = this.interpreters();
     this.parsers = this.parsers();
+    this.loaders = this.loaders();
     this.writers = new RiffWriters();
     this.builders = new RiffFileBuilders();
   }
@@ -754,6 +771,356 @@ public abstract class NTInterpretersContract
     }
   }
 
+  /**
+   * Sample data views contain exactly the bytes within each sample's byte range, regardless of
+   * how the file was parsed.
+   *
+   * @return A list of tests
+   */
+
+  @TestFactory
+  public final List<DynamicTest> testSampleDataViews()
+  {
+    return Stream.of(
+      "complex0.sf2",
+      "inst1.sf2",
+      "sample0.sf2",
+      "unbolted_min.sf2")
+      .map(name -> DynamicTest.dynamicTest(
+        "testSampleDataViews_" + name,
+        () -> {
+          try (var map = NamedMap.createFromResource(name)) {
+            final var uri = map.name.toUri();
+            this.checkSampleDataViews(
+              map, this.parsers.createForByteBuffer(uri, map.map).parse());
+            this.checkSampleDataViews(
+              map, this.parsers.createForChannel(uri, map.channel).parse());
+            this.checkSampleDataViews(
+              map, this.parsers.createForChannel(uri, new OpaqueChannel(map.channel)).parse());
+          }
+        }))
+      .collect(Collectors.toList());
+  }
+
+  /**
+   * Key ranges above 127 are clamped when regions are compiled, so that they cannot spill into
+   * the key buckets of other presets.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public final void testVoiceRegionKeyRangeClamped()
+    throws Exception
+  {
+    final var path = NTTestFonts.write("Clamped", builder -> {
+      final var sample =
+        builder.addSample("s0")
+          .setSampleCount(8L)
+          .setDataWriter(channel -> channel.write(ByteBuffer.allocate(16)));
+
+      final var instrument = builder.addInstrument("i0");
+      instrument.addZone()
+        .addGenerator(NTTestFonts.generatorNamed("initialAttenuation"), NTGenericAmount.of(100));
+      instrument.addZone()
+        .addKeyRangeGenerator(120, 255)
+        .addSampleGenerator(sample);
+
+      final var preset0 = builder.addPreset(NTBankIndex.of(0), "p0");
+      preset0.addZone()
+        .addGenerator(NTTestFonts.generatorNamed("pan"), NTGenericAmount.of(0));
+      preset0.addZone()
+        .addKeyRangeGenerator(100, 200)
+        .addInstrumentGenerator(instrument);
+
+      final var preset1 = builder.addPreset(NTBankIndex.of(0), "p1");
+      preset1.addZone()
+        .addGenerator(NTTestFonts.generatorNamed("pan"), NTGenericAmount.of(0));
+      preset1.addZone()
+        .addKeyRangeGenerator(0, 10)
+        .addInstrumentGenerator(instrument);
+    });
+    this.logger.debug("output: {}", path);
+
+    final var font = this.interpretFile(path);
+    final var regions = NTVoiceRegionTable.compile(font);
+    Assertions.assertEquals(1, regions.size());
+    Assertions.assertEquals(120, regions.keyLow(0));
+    Assertions.assertEquals(127, regions.keyHigh(0));
+
+    final var index = NTVoiceRegionIndex.create(regions);
+    final var output = new int[8];
+    Assertions.assertEquals(1, index.find(0, 127, 64, output));
+    Assertions.assertEquals(0, output[0]);
+    for (var key = 0; key < 128; ++key) {
+      Assertions.assertEquals(0, index.find(1, key, 64, output));
+    }
+  }
+
+  /**
+   * Generators can be located on zones by operator.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public final void testZoneGeneratorLookup()
+    throws Exception
+  {
+    final var path = NTTestFonts.write("Regions", NTTestFonts::addRegions);
+    this.logger.debug("output: {}", path);
+    final var font = this.interpretFile(path);
+
+    final var coarse = NTTestFonts.generatorNamed("coarseTune").index().value();
+    final var keys = NTTestFonts.generatorNamed("keyRange").index().value();
+    final var sample = NTTestFonts.generatorNamed("sampleID").index().value();
+    final var filter = NTTestFonts.generatorNamed("initialFilterFc").index().value();
+    final var pan = NTTestFonts.generatorNamed("pan").index().value();
+
+    final var instrument_zone = font.instruments().get(0).zones().get(2);
+    Assertions.assertTrue(instrument_zone.hasGenerator(coarse));
+    Assertions.assertTrue(instrument_zone.hasGenerator(keys));
+    Assertions.assertTrue(instrument_zone.hasGenerator(sample));
+    Assertions.assertFalse(instrument_zone.hasGenerator(filter));
+    Assertions.assertFalse(instrument_zone.hasGenerator(1000));
+    Assertions.assertEquals(
+      -3,
+      instrument_zone.generatorFor(coarse).orElseThrow().amount().asSigned16());
+    Assertions.assertEquals(
+      0x7f40,
+      instrument_zone.generatorFor(keys).orElseThrow().amount().asUnsigned16());
+    Assertions.assertEquals(Optional.empty(), instrument_zone.generatorFor(filter));
+    Assertions.assertEquals(Optional.empty(), instrument_zone.generatorFor(1000));
+
+    for (final var zone : font.instruments().get(0).zones()) {
+      for (final var generator : zone.generators()) {
+        final var operator = generator.generatorOperator().index().value();
+        Assertions.assertTrue(zone.hasGenerator(operator));
+        Assertions.assertEquals(
+          generator.amount(),
+          zone.generatorFor(operator).orElseThrow().amount());
+      }
+    }
+
+    final var preset_zone = font.presets().get(1).zones().get(0);
+    Assertions.assertTrue(preset_zone.hasGenerator(pan));
+    Assertions.assertFalse(preset_zone.hasGenerator(coarse));
+    Assertions.assertEquals(
+      -50,
+      preset_zone.generatorFor(pan).orElseThrow().amount().asSigned16());
+    Assertions.assertEquals(Optional.empty(), preset_zone.generatorFor(coarse));
+  }
+
+  /**
+   * Interpreting a font in parallel produces the same result as interpreting it sequentially.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public final void testParallelInterpret()
+    throws Exception
+  {
+    final var path = NTTestFonts.write("Parallel", builder -> NTTestFonts.addMany(builder, 200));
+    this.logger.debug("output: {}", path);
+
+    final var executor = Executors.newFixedThreadPool(4);
+    try (var channel = FileChannel.open(path, READ)) {
+      final var file =
+        this.parsers.createForChannel(path.toUri(), channel).parse();
+      final var sequential =
+        this.interpreters.createInterpreter(file).interpret();
+      final var parallel =
+        this.interpreters.createInterpreter(file).interpret(executor);
+
+      Assertions.assertEquals(sequential, parallel);
+      Assertions.assertEquals(200, parallel.presets().size());
+      Assertions.assertEquals(200, parallel.instruments().size());
+
+      for (var index = 0; index < 200; ++index) {
+        final var preset = parallel.presets().get(index);
+        final var instrument = parallel.instruments().get(index);
+        Assertions.assertEquals(sequential.presets().get(index).zones(), preset.zones());
+        Assertions.assertEquals(sequential.instruments().get(index).zones(), instrument.zones());
+        Assertions.assertEquals(2, preset.zones().size());
+        Assertions.assertEquals(2, instrument.zones().size());
+        Assertions.assertSame(instrument, preset.zones().get(1).linkedInstrument().get());
+        Assertions.assertSame(
+          parallel.samples().get(index),
+          instrument.zones().get(1).linkedSample().get());
+        Assertions.assertSame(preset, parallel.presetFor(0, index).get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private void checkSampleDataViews(
+    final NamedMap map,
+    final NTParsedFile file)
+    throws Exception
+  {
+    final var interpreted = this.interpreters.createInterpreter(file).interpret();
+    Assertions.assertFalse(interpreted.samples().isEmpty());
+
+    for (final var sample : interpreted.samples()) {
+      final var range = sample.dataByteRange();
+      final var view = sample.dataBytes();
+      final var expected =
+        map.map.slice(Math.toIntExact(range.lower()), Math.toIntExact(range.interval()));
+
+      Assertions.assertTrue(view.isReadOnly());
+      Assertions.assertEquals(ByteOrder.LITTLE_ENDIAN, view.order());
+      Assertions.assertEquals(0, view.position());
+      Assertions.assertEquals(range.interval(), (long) view.limit());
+      Assertions.assertEquals(expected, view);
+
+      final var frames = sample.dataFrames();
+      final var expected_frames =
+        expected.duplicate().order(ByteOrder.LITTLE_ENDIAN).asShortBuffer();
+
+      Assertions.assertTrue(frames.isReadOnly());
+      Assertions.assertEquals(ByteOrder.LITTLE_ENDIAN, frames.order());
+      Assertions.assertEquals(0, frames.position());
+      Assertions.assertEquals(range.interval() / 2L, (long) frames.limit());
+      Assertions.assertEquals(expected_frames, frames);
+
+      final var decoded = sample.dataFramesAsFloat();
+      Assertions.assertEquals(frames.limit(), decoded.length);
+      for (var index = 0; index < decoded.length; ++index) {
+        Assertions.assertEquals(
+          NTSampleConversions.convert(frames.get(index)), decoded[index]);
+      }
+
+      final var description = sample.description();
+      final var loop_start = description.loopStart() - description.start();
+      final var loop_end = description.loopEnd() - description.start();
+      if (loop_start >= 0L && loop_start <= loop_end && loop_end <= (long) frames.limit()) {
+        final var loop = sample.loopFrames();
+        Assertions.assertTrue(loop.isReadOnly());
+        Assertions.assertEquals(0, loop.position());
+        Assertions.assertEquals(loop_end - loop_start, (long) loop.limit());
+        for (var index = 0; index < loop.limit(); ++index) {
+          Assertions.assertEquals(frames.get((int) loop_start + index), loop.get(index));
+        }
+      } else {
+        Assertions.assertThrows(IOException.class, sample::loopFrames);
+      }
+    }
+  }
+
+  /**
+   * Loading a font produces the same result as parsing and then interpreting it.
+   *
+   * @return A list of tests
+   */
+
+  @TestFactory
+  public final List<DynamicTest> testLoaderEquivalent()
+  {
+    return Stream.of(
+      "complex0.sf2",
+      "empty.sf2",
+      "inst1.sf2",
+      "inst1_with_modulator.sf2",
+      "preset1.sf2",
+      "preset1_with_modulator.sf2",
+      "sample0.sf2",
+      "unbolted_min.sf2")
+      .map(name -> DynamicTest.dynamicTest(
+        "testLoaderEquivalent_" + name,
+        () -> {
+          try (var map = NamedMap.createFromResource(name)) {
+            final var uri = map.name.toUri();
+            final var expected =
+              this.interpreters.createInterpreter(
+                this.parsers.createForByteBuffer(uri, map.map.duplicate()).parse())
+                .interpret();
+
+            Assertions.assertEquals(
+              expected,
+              this.loaders.createForByteBuffer(uri, map.map.duplicate()).load());
+            Assertions.assertEquals(
+              expected,
+              this.loaders.createForChannel(uri, map.channel).load());
+          }
+        }))
+      .collect(Collectors.toList());
+  }
+
+  /**
+   * Asynchronous interpretation produces the same result as synchronous interpretation.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public final void testInterpretAsync()
+    throws Exception
+  {
+    final var executor = Executors.newFixedThreadPool(2);
+    try (var map = NamedMap.createFromResource("complex0.sf2")) {
+      final var file =
+        this.parsers.createForByteBuffer(map.name.toUri(), map.map).parse();
+      final var expected =
+        this.interpreters.createInterpreter(file).interpret();
+      final var received =
+        this.interpreters.createInterpreter(file).interpretAsync(executor).get();
+      Assertions.assertEquals(expected, received);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Lazy interpretation produces the same result as eager interpretation.
+   *
+   * @return A list of tests
+   */
+
+  @TestFactory
+  public final List<DynamicTest> testInterpretLazily()
+  {
+    return Stream.of(
+      "complex0.sf2",
+      "empty.sf2",
+      "inst1.sf2",
+      "inst1_with_modulator.sf2",
+      "preset1.sf2",
+      "preset1_with_modulator.sf2",
+      "sample0.sf2",
+      "unbolted_min.sf2")
+      .map(name -> DynamicTest.dynamicTest(
+        "testInterpretLazily_" + name,
+        () -> {
+          try (var map = NamedMap.createFromResource(name)) {
+            final var file =
+              this.parsers.createForByteBuffer(map.name.toUri(), map.map).parse();
+            final var expected =
+              this.interpreters.createInterpreter(file).interpret();
+            final var received =
+              this.interpreters.createInterpreter(file).interpretLazily();
+
+            Assertions.assertEquals(expected, received);
+            Assertions.assertEquals(expected.presets().size(), received.presets().size());
+            for (var index = 0; index < expected.presets().size(); ++index) {
+              Assertions.assertEquals(
+                expected.presets().get(index).zones(),
+                received.presets().get(index).zones());
+            }
+            Assertions.assertEquals(
+              expected.instruments().size(),
+              received.instruments().size());
+            for (var index = 0; index < expected.instruments().size(); ++index) {
+              Assertions.assertEquals(
+                expected.instruments().get(index).zones(),
+                received.instruments().get(index).zones());
+            }
+          }
+        }))
+      .collect(Collectors.toList());
+  }
+
   /**
    * Try various corrupted soundfonts.
    *
@@ -772,6 +1139,62 @@ public abstract class NTInterpretersContract
       .collect(Collectors.toList());
   }
 
+  /**
+   * Try various corrupted soundfonts with lazy interpretation. Structural errors must be
+   * reported when the font is interpreted, and never when zones are accessed.
+   *
+   * @return A list of tests
+   */
+
+  @TestFactory
+  public final List<DynamicTest> testCorruptionLazy()
+  {
+    return LongStream.range(0L, 1_000L)
+      .mapToObj(seed -> DynamicTest.dynamicTest(
+        "testCorruptionLazyWithSeed" + seed,
+        () -> {
+          this.corruptOneLazy(seed);
+        }))
+      .collect(Collectors.toList());
+  }
+
+  private void corruptOneLazy(
+    final long seed)
+    throws IOException
+  {
+    final var map = NamedMap.createFromResource("complex0.sf2");
+
+    try {
+      final var corrupted_map = corruptMap(this.logger, map, seed);
+      final var parser =
+        this.parsers.createForByteBuffer(map.name.toUri(), corrupted_map);
+      final var file = parser.parse();
+      final var font = this.interpreters.createInterpreter(file).interpretLazily();
+      for (final var instrument : font.instruments()) {
+        instrument.zones();
+      }
+      for (final var preset : font.presets()) {
+        preset.zones();
+      }
+    } catch (final NTParseException e) {
+      this.logger.debug("parsing: ", e);
+    } catch (final RuntimeException e) {
+      Assertions.fail(e);
+    } finally {
+      try {
+        try {
+          map.close();
+        } catch (final IOException e) {
+          // This can happen on Windows
+        }
+
+        Files.delete(map.name);
+      } catch (final IOException e) {
+        // This can happen on Windows
+      }
+    }
+  }
+
   /**
    * Test corruption for a single value.
    *
@@ -877,6 +1300,89 @@ public abstract class NTInterpretersContract
     }
   }
 
+  private NTFontType interpretFile(
+    final Path path)
+    throws IOException, NTParseException
+  {
+    try (var channel = FileChannel.open(path, READ)) {
+      final var map = channel.map(READ_ONLY, 0L, channel.size());
+      final var file = this.parsers.createForByteBuffer(path.toUri(), map).parse();
+      return this.interpreters.createInterpreter(file).interpret();
+    }
+  }
+
+  /**
+   * A channel that hides the fact that it is backed by a file channel.
+   */
+
+  private static final class OpaqueChannel implements SeekableByteChannel
+  {
+    private final SeekableByteChannel delegate;
+
+    private OpaqueChannel(
+      final SeekableByteChannel in_delegate)
+    {
+      this.delegate = Objects.requireNonNull(in_delegate, "delegate");
+    }
+
+    @Override
+    public int read(final ByteBuffer dst)
+      throws IOException
+    {
+      return this.delegate.read(dst);
+    }
+
+    @Override
+    public int write(final ByteBuffer src)
+      throws IOException
+    {
+      return this.delegate.write(src);
+    }
+
+    @Override
+    public long position()
+      throws IOException
+    {
+      return this.delegate.position();
+    }
+
+    @Override
+    public SeekableByteChannel position(final long new_position)
+      throws IOException
+    {
+      this.delegate.position(new_position);
+      return this;
+    }
+
+    @Override
+    public long size()
+      throws IOException
+    {
+      return this.delegate.size();
+    }
+
+    @Override
+    public SeekableByteChannel truncate(final long size)
+      throws IOException
+    {
+      this.delegate.truncate(size);
+      return this;
+    }
+
+    @Override
+    public boolean isOpen()
+    {
+      return this.delegate.isOpen();
+    }
+
+    @Override
+    public void close()
+      throws IOException
+    {
+      this.delegate.close();
+    }
+  }
+
   private static final class NamedMap implements Closeable
   {
     private final Path name;
@@ -17,8 +17,10 @@
 package com.io7m.jnoisetype.tests;
 
 import com.io7m.jnoisetype.parser.api.NTFileParserProviderType;
+import com.io7m.jnoisetype.parser.api.NTFontLoaderProviderType;
 import com.io7m.jnoisetype.parser.api.NTInterpreterProviderType;
 import com.io7m.jnoisetype.vanilla.interpreter.NTInterpreters;
+import com.io7m.jnoisetype.vanilla.NTFontLoaders;
 import com.io7m.jnoisetype.vanilla.NTParsers;
 import com.io7m.jspiel.vanilla.RiffParsers;
 import org.slf4j.Logger;
@@ -32,6 +34,12 @@ public final class NTInterpretersTest extends NTInterpretersContract
     return new NTInterpreters();
   }
 
+  @Override
+  protected NTFontLoaderProviderType loaders()
+  {
+    return NTFontLoaders.create(this.parsers());
+  }
+
   @Override
   protected NTFileParserProviderType parsers()
   {
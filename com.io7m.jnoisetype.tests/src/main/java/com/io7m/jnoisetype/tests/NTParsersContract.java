@@ -16,11 +16,23 @@
 
 package com.io7m.jnoisetype.tests;
 
+import com.io7m.jnoisetype.api.NTInfo;
 import com.io7m.jnoisetype.api.NTSampleKind;
 import com.io7m.jnoisetype.api.NTVersion;
 import com.io7m.jnoisetype.parser.api.NTFileParserProviderType;
 import com.io7m.jnoisetype.parser.api.NTParseException;
 import com.io7m.jnoisetype.parser.api.NTParsedFile;
+import com.io7m.jnoisetype.parser.api.NTParsedFileVisitorType;
+import com.io7m.jnoisetype.parser.api.NTParsedInstrument;
+import com.io7m.jnoisetype.parser.api.NTParsedInstrumentZone;
+import com.io7m.jnoisetype.parser.api.NTParsedInstrumentZoneGenerator;
+import com.io7m.jnoisetype.parser.api.NTParsedInstrumentZoneModulator;
+import com.io7m.jnoisetype.parser.api.NTParsedPreset;
+import com.io7m.jnoisetype.parser.api.NTParsedPresetZone;
+import com.io7m.jnoisetype.parser.api.NTParsedPresetZoneGenerator;
+import com.io7m.jnoisetype.parser.api.NTParsedPresetZoneModulator;
+import com.io7m.jnoisetype.parser.api.NTParsedSample;
+import com.io7m.jnoisetype.parser.api.NTParsedTables;
 import com.io7m.jspiel.api.RiffChunkID;
 import com.io7m.jspiel.api.RiffFileBuilderType;
 import com.io7m.jspiel.api.RiffFileWriterDescriptionType;
@@ -29,7 +41,9 @@ import com.io7m.jspiel.vanilla.RiffFileBuilders;
 import com.io7m.jspiel.vanilla.RiffWriters;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DynamicTest;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
 import org.junit.jupiter.api.function.Executable;
 import org.slf4j.Logger;
 
@@ -40,8 +54,15 @@ import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
 import static java.nio.file.StandardOpenOption.CREATE;
@@ -128,6 +149,7 @@ public abstract class NTParsersContract
       final var file = parser.parse();
 
       Assertions.assertAll(standardInfoChecks(file, "Empty"));
+      Assertions.assertTrue(file.terminalRecordsChecked(), "Terminal records checked");
       Assertions.assertAll(
         () -> {
           Assertions.assertEquals(
@@ -1013,6 +1035,540 @@ public abstract class NTParsersContract
     this.expectThrows(builder, "A terminal record is required but was not present");
   }
 
+  /**
+   * The compact record tables agree with the derived record lists.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public final void testTablesAgreeWithRecords()
+    throws Exception
+  {
+    try (var map = NamedMap.createFromResource("complex0.sf2")) {
+      final var file = this.parsers.createForByteBuffer(map.name, map.map).parse();
+
+      final var pbag = file.presetZoneTable();
+      Assertions.assertEquals(file.pbag().size(), pbag.size());
+      Assertions.assertEquals(file.presetZoneRecordsSource(), pbag.source());
+      for (var index = 0; index < pbag.size(); ++index) {
+        final var record = file.pbag().get(index);
+        Assertions.assertEquals(record.source(), pbag.recordSource(index));
+        Assertions.assertEquals(record.generatorIndex(), pbag.generatorIndex(index));
+        Assertions.assertEquals(record.modulatorIndex(), pbag.modulatorIndex(index));
+      }
+
+      final var igen = file.instrumentZoneGeneratorTable();
+      Assertions.assertEquals(file.igen().size(), igen.size());
+      Assertions.assertEquals(file.instrumentZoneGeneratorRecordsSource(), igen.source());
+      for (var index = 0; index < igen.size(); ++index) {
+        final var record = file.igen().get(index);
+        Assertions.assertEquals(record.source(), igen.recordSource(index));
+        Assertions.assertEquals(record.generatorOperator(), igen.generatorOperator(index));
+        Assertions.assertEquals(record.amount().value(), igen.amount(index));
+      }
+
+      final var imod = file.instrumentZoneModulatorTable();
+      Assertions.assertEquals(file.imod().size(), imod.size());
+      for (var index = 0; index < imod.size(); ++index) {
+        final var record = file.imod().get(index);
+        Assertions.assertEquals(record.source(), imod.recordSource(index));
+        Assertions.assertEquals(record.sourceOperator(), imod.sourceOperator(index));
+        Assertions.assertEquals(record.targetOperator(), imod.targetOperator(index));
+        Assertions.assertEquals(record.modulationAmount(), imod.modulationAmount(index));
+      }
+
+      final var phdr = file.presetTable();
+      Assertions.assertEquals(file.phdr().size(), phdr.size());
+      Assertions.assertEquals(file.presetRecordsSource(), phdr.source());
+      for (var index = 0; index < phdr.size(); ++index) {
+        final var record = file.phdr().get(index);
+        Assertions.assertEquals(record, phdr.record(index));
+        Assertions.assertEquals(record.name(), phdr.name(index));
+        Assertions.assertEquals(record.bank(), phdr.bank(index));
+        Assertions.assertEquals(record.preset(), phdr.preset(index));
+        Assertions.assertEquals(record.presetBagIndex(), phdr.presetBagIndex(index));
+      }
+
+      final var inst = file.instrumentTable();
+      Assertions.assertEquals(file.inst().size(), inst.size());
+      for (var index = 0; index < inst.size(); ++index) {
+        final var record = file.inst().get(index);
+        Assertions.assertEquals(record, inst.record(index));
+        Assertions.assertEquals(record.name(), inst.name(index));
+        Assertions.assertEquals(record.instrumentZoneIndex(), inst.instrumentZoneIndex(index));
+      }
+
+      final var shdr = file.sampleTable();
+      Assertions.assertEquals(file.sampleRecords().size(), shdr.size());
+      for (var index = 0; index < shdr.size(); ++index) {
+        final var record = file.sampleRecords().get(index);
+        Assertions.assertEquals(record, shdr.record(index));
+        Assertions.assertEquals(record.description().name(), shdr.name(index));
+      }
+
+      Assertions.assertThrows(
+        IndexOutOfBoundsException.class, () -> pbag.generatorIndex(pbag.size()));
+      Assertions.assertThrows(
+        IndexOutOfBoundsException.class, () -> igen.amount(-1));
+    }
+  }
+
+  /**
+   * A parsed file can be assembled from lists of records, and the record lists derived from it
+   * are the lists it was assembled from.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public final void testBuildFromRecordLists()
+    throws Exception
+  {
+    try (var map = NamedMap.createFromResource("complex0.sf2")) {
+      final var file = this.parsers.createForByteBuffer(map.name, map.map).parse();
+
+      final var rebuilt =
+        NTParsedFile.builder()
+          .setInfo(file.info())
+          .setSampleData(file.sampleData())
+          .setPresetTable(
+            NTParsedTables.ofPresets(file.presetRecordsSource(), file.phdr()))
+          .setPresetZoneTable(
+            NTParsedTables.ofPresetZones(file.presetZoneRecordsSource(), file.pbag()))
+          .setPresetZoneModulatorTable(
+            NTParsedTables.ofPresetZoneModulators(
+              file.presetZoneModulatorRecordsSource(), file.pmod()))
+          .setPresetZoneGeneratorTable(
+            NTParsedTables.ofPresetZoneGenerators(
+              file.presetZoneGeneratorRecordsSource(), file.pgen()))
+          .setInstrumentTable(
+            NTParsedTables.ofInstruments(file.instrumentRecordsSource(), file.inst()))
+          .setInstrumentZoneTable(
+            NTParsedTables.ofInstrumentZones(file.instrumentZoneRecordsSource(), file.ibag()))
+          .setInstrumentZoneModulatorTable(
+            NTParsedTables.ofInstrumentZoneModulators(
+              file.instrumentZoneModulatorRecordsSource(), file.imod()))
+          .setInstrumentZoneGeneratorTable(
+            NTParsedTables.ofInstrumentZoneGenerators(
+              file.instrumentZoneGeneratorRecordsSource(), file.igen()))
+          .setSampleTable(
+            NTParsedTables.ofSamples(file.sampleRecordsSource(), file.sampleRecords()))
+          .build();
+
+      Assertions.assertFalse(rebuilt.terminalRecordsChecked());
+      Assertions.assertEquals(file.phdr(), rebuilt.phdr());
+      Assertions.assertEquals(file.pbag(), rebuilt.pbag());
+      Assertions.assertEquals(file.pmod(), rebuilt.pmod());
+      Assertions.assertEquals(file.pgen(), rebuilt.pgen());
+      Assertions.assertEquals(file.inst(), rebuilt.inst());
+      Assertions.assertEquals(file.ibag(), rebuilt.ibag());
+      Assertions.assertEquals(file.imod(), rebuilt.imod());
+      Assertions.assertEquals(file.igen(), rebuilt.igen());
+      Assertions.assertEquals(file.sampleRecords(), rebuilt.sampleRecords());
+      Assertions.assertEquals(file.presetRecordsSource(), rebuilt.presetRecordsSource());
+      Assertions.assertEquals(file.sampleRecordsSource(), rebuilt.sampleRecordsSource());
+
+      final var phdr = rebuilt.presetTable();
+      for (var index = 0; index < phdr.size(); ++index) {
+        Assertions.assertEquals(file.presetTable().name(index), phdr.name(index));
+        Assertions.assertEquals(
+          file.presetTable().presetBagIndex(index), phdr.presetBagIndex(index));
+      }
+    }
+  }
+
+  /**
+   * Parsing a font with large tables in parallel produces the same result as parsing it
+   * sequentially.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public final void testParallelParseLargeTables()
+    throws Exception
+  {
+    final var path = NTTestFonts.write("Large", builder -> NTTestFonts.addMany(builder, 1500));
+    this.logger.debug("output: {}", path);
+
+    final var executor = Executors.newFixedThreadPool(4);
+    try (var channel = FileChannel.open(path, READ)) {
+      final var sequential =
+        this.parsers.createForChannel(path.toUri(), channel).parse();
+      final var parallel =
+        this.parsers.createForChannel(path.toUri(), channel).parse(executor);
+
+      Assertions.assertEquals(sequential, parallel);
+      Assertions.assertEquals(1501, parallel.sampleRecords().size());
+      Assertions.assertEquals(sequential.presetRecords(), parallel.presetRecords());
+      Assertions.assertEquals(sequential.instrumentRecords(), parallel.instrumentRecords());
+      Assertions.assertEquals(sequential.sampleRecords(), parallel.sampleRecords());
+      Assertions.assertEquals(sequential.pgen(), parallel.pgen());
+      Assertions.assertEquals(sequential.igen(), parallel.igen());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Parsing from a channel yields exactly the same results as parsing from a byte buffer.
+   *
+   * @return A list of tests
+   */
+
+  @TestFactory
+  public final List<DynamicTest> testChannelEquivalent()
+  {
+    return Stream.of(
+      "complex0.sf2",
+      "empty.sf2",
+      "inst1.sf2",
+      "inst1_with_modulator.sf2",
+      "preset1.sf2",
+      "preset1_with_modulator.sf2",
+      "sample0.sf2",
+      "unbolted_min.sf2")
+      .map(name -> DynamicTest.dynamicTest(
+        "testChannelEquivalent_" + name,
+        () -> {
+          try (var map = NamedMap.createFromResource(name)) {
+            final var file_map =
+              this.parsers.createForByteBuffer(map.name, map.map).parse();
+            final var file_channel =
+              this.parsers.createForChannel(map.name, map.channel).parse();
+            Assertions.assertEquals(file_map, file_channel);
+          }
+        }))
+      .collect(Collectors.toList());
+  }
+
+  /**
+   * Parsing in parallel produces the same result as parsing sequentially.
+   *
+   * @return A set of dynamic tests
+   */
+
+  @TestFactory
+  public final List<DynamicTest> testParallelEquivalent()
+  {
+    return Stream.of(
+      "complex0.sf2",
+      "empty.sf2",
+      "inst1.sf2",
+      "inst1_with_modulator.sf2",
+      "preset1.sf2",
+      "preset1_with_modulator.sf2",
+      "sample0.sf2",
+      "unbolted_min.sf2")
+      .map(name -> DynamicTest.dynamicTest(
+        "testParallelEquivalent_" + name,
+        () -> {
+          final var executor = Executors.newFixedThreadPool(2);
+          try (var map = NamedMap.createFromResource(name)) {
+            final var file_sequential =
+              this.parsers.createForByteBuffer(map.name, map.map.duplicate()).parse();
+            final var file_parallel =
+              this.parsers.createForByteBuffer(map.name, map.map).parse(executor);
+            Assertions.assertEquals(file_sequential, file_parallel);
+            Assertions.assertEquals(
+              file_sequential.sampleRecords(),
+              file_parallel.sampleRecords());
+          } finally {
+            executor.shutdown();
+          }
+        }))
+      .collect(Collectors.toList());
+  }
+
+  /**
+   * A visitor receives exactly the records of a full parse, in file order.
+   *
+   * @return A set of dynamic tests
+   */
+
+  @TestFactory
+  public final List<DynamicTest> testVisitorAgreesWithParse()
+  {
+    return Stream.of(
+      "complex0.sf2",
+      "empty.sf2",
+      "inst1.sf2",
+      "inst1_with_modulator.sf2",
+      "preset1.sf2",
+      "preset1_with_modulator.sf2",
+      "sample0.sf2",
+      "unbolted_min.sf2")
+      .map(name -> DynamicTest.dynamicTest(
+        "testVisitorAgreesWithParse_" + name,
+        () -> {
+          try (var map = NamedMap.createFromResource(name)) {
+            final var file =
+              this.parsers.createForByteBuffer(map.name, map.map.duplicate()).parse();
+
+            final var received = new ArrayList<Object>();
+            final var indices = new ArrayList<Integer>();
+            this.parsers.createForChannel(map.name, map.channel)
+              .visit(new RecordingVisitor(received, indices));
+
+            final var expected = new ArrayList<Object>();
+            final var expected_indices = new ArrayList<Integer>();
+            expected.add(file.info());
+            expected_indices.add(Integer.valueOf(-1));
+            for (final var records : List.of(
+              file.presetRecords(),
+              file.presetZoneRecords(),
+              file.presetZoneModulatorRecords(),
+              file.presetZoneGeneratorRecords(),
+              file.instrumentRecords(),
+              file.instrumentZoneRecords(),
+              file.instrumentZoneModulatorRecords(),
+              file.instrumentZoneGeneratorRecords(),
+              file.sampleRecords())) {
+              for (var index = 0; index < records.size(); ++index) {
+                expected.add(records.get(index));
+                expected_indices.add(Integer.valueOf(index));
+              }
+            }
+
+            Assertions.assertEquals(expected, received);
+            Assertions.assertEquals(expected_indices, indices);
+          }
+        }))
+      .collect(Collectors.toList());
+  }
+
+  /**
+   * A catalog agrees with a full parse.
+   *
+   * @return A set of dynamic tests
+   */
+
+  @TestFactory
+  public final List<DynamicTest> testCatalogAgreesWithParse()
+  {
+    return Stream.of(
+      "complex0.sf2",
+      "empty.sf2",
+      "inst1.sf2",
+      "inst1_with_modulator.sf2",
+      "preset1.sf2",
+      "preset1_with_modulator.sf2",
+      "sample0.sf2",
+      "unbolted_min.sf2")
+      .map(name -> DynamicTest.dynamicTest(
+        "testCatalogAgreesWithParse_" + name,
+        () -> {
+          try (var map = NamedMap.createFromResource(name)) {
+            final var file =
+              this.parsers.createForByteBuffer(map.name, map.map.duplicate()).parse();
+            final var catalog_map =
+              this.parsers.catalogForByteBuffer(map.name, map.map.duplicate());
+            final var catalog_channel =
+              this.parsers.catalogForChannel(map.name, map.channel);
+
+            Assertions.assertEquals(catalog_map, catalog_channel);
+            Assertions.assertEquals(file.info(), catalog_map.info());
+
+            final var records = file.presetRecords();
+            final var presets = catalog_map.presets();
+            Assertions.assertEquals(records.size() - 1, presets.size());
+
+            for (var index = 0; index < presets.size(); ++index) {
+              final var record = records.get(index);
+              final var preset = presets.get(index);
+              Assertions.assertEquals(index, preset.index().value());
+              Assertions.assertEquals(record.name(), preset.name());
+              Assertions.assertEquals(record.preset(), preset.program());
+              Assertions.assertEquals(record.bank(), preset.bank().value());
+            }
+          }
+        }))
+      .collect(Collectors.toList());
+  }
+
+  /**
+   * A catalog cannot be read from a file that has no preset headers.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public final void testCatalogMissingPHDR()
+    throws Exception
+  {
+    final var builder = this.builders.create(ByteOrder.LITTLE_ENDIAN);
+    try (var root = builder.setRootChunk(RiffChunkID.of("RIFF"), "sfbk")) {
+      try (var sc = root.addSubChunk(RiffChunkID.of("LIST"))) {
+        sc.setForm("INFO");
+        sc.addSubChunk(RiffChunkID.of("zzzz"));
+      }
+      try (var sc = root.addSubChunk(RiffChunkID.of("LIST"))) {
+        sc.setForm("pdta");
+        sc.addSubChunk(RiffChunkID.of("zzzz"));
+      }
+    }
+
+    final var path = NTTestDirectories.createTempFile("ntparsers-", ".sf2");
+    try (var channel = FileChannel.open(path, READ, WRITE, CREATE, TRUNCATE_EXISTING)) {
+      this.writers.createForChannel(path.toUri(), builder.build(), channel).write();
+
+      final var ex = Assertions.assertThrows(NTParseException.class, () -> {
+        this.parsers.catalogForChannel(path.toUri(), channel);
+      });
+      this.logger.debug("testCatalogMissingPHDR: ", ex);
+      Assertions.assertTrue(ex.getMessage().contains("Chunk name: phdr"));
+    }
+  }
+
+  /**
+   * Decoded record names are shared rather than allocated repeatedly.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public final void testNamesShared()
+    throws Exception
+  {
+    try (var map = NamedMap.createFromResource("complex0.sf2")) {
+      final var file0 =
+        this.parsers.createForByteBuffer(map.name, map.map.duplicate()).parse();
+      final var file1 =
+        this.parsers.createForChannel(map.name, map.channel).parse();
+
+      final var presets0 = file0.presetTable();
+      final var presets1 = file1.presetTable();
+      final var instruments0 = file0.instrumentTable();
+      final var instruments1 = file1.instrumentTable();
+      final var samples0 = file0.sampleTable();
+      final var samples1 = file1.sampleTable();
+
+      Assertions.assertSame(
+        presets0.name(presets0.size() - 1).value(),
+        presets1.name(presets1.size() - 1).value());
+      Assertions.assertSame(
+        instruments0.name(instruments0.size() - 1).value(),
+        instruments1.name(instruments1.size() - 1).value());
+      Assertions.assertSame(
+        samples0.name(samples0.size() - 1).value(),
+        samples1.name(samples1.size() - 1).value());
+
+      for (var index = 0; index < samples0.size(); ++index) {
+        Assertions.assertSame(
+          samples0.name(index).value(),
+          samples0.name(index).value());
+      }
+    }
+  }
+
+  /**
+   * Parsing many files at once reports results and errors for each file independently.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public final void testParseAll()
+    throws Exception
+  {
+    final var directory = NTTestDirectories.createTempDirectory();
+    final var names = List.of(
+      "complex0.sf2",
+      "empty.sf2",
+      "inst1.sf2",
+      "preset1.sf2",
+      "sample0.sf2",
+      "unbolted_min.sf2");
+
+    final var paths = new ArrayList<Path>();
+    for (final var name : names) {
+      paths.add(NTTestDirectories.resourceOf(NTParsersContract.class, directory, name));
+    }
+
+    final var missing = directory.resolve("missing.sf2");
+    final var corrupt = directory.resolve("corrupt.sf2");
+    Files.write(corrupt, new byte[]{'R', 'I', 'F', 'F', 0x7f, 0x7f, 0x7f, 0x7f});
+    paths.add(missing);
+    paths.add(corrupt);
+    paths.add(paths.get(0));
+
+    final var results = this.parsers.parseAll(paths, 2);
+    Assertions.assertEquals(names.size() + 2, results.size());
+    Assertions.assertEquals(paths.subList(0, names.size() + 2), List.copyOf(results.keySet()));
+
+    for (var index = 0; index < names.size(); ++index) {
+      final var path = paths.get(index);
+      try (var map = NamedMap.createFromResource(names.get(index))) {
+        final var expected =
+          this.parsers.createForByteBuffer(path.toUri(), map.map).parse();
+        Assertions.assertEquals(expected, results.get(path).get());
+      }
+    }
+
+    for (final var path : List.of(missing, corrupt)) {
+      final var ex = Assertions.assertThrows(
+        ExecutionException.class,
+        () -> results.get(path).get());
+      this.logger.debug("testParseAll: ", ex);
+      final var cause = Assertions.assertInstanceOf(NTParseException.class, ex.getCause());
+      Assertions.assertEquals(path.toUri(), cause.source());
+    }
+  }
+
+  /**
+   * Asynchronous parsing produces the same result as synchronous parsing.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public final void testParseAsync()
+    throws Exception
+  {
+    final var executor = Executors.newFixedThreadPool(2);
+    try (var map = NamedMap.createFromResource("complex0.sf2")) {
+      final var expected =
+        this.parsers.createForByteBuffer(map.name, map.map.duplicate()).parse();
+      final var received =
+        this.parsers.createForChannel(map.name, map.channel).parseAsync(executor).get();
+      Assertions.assertEquals(expected, received);
+
+      final var data = ByteBuffer.allocate(8);
+      final var ex = Assertions.assertThrows(
+        ExecutionException.class,
+        () -> this.parsers.createForByteBuffer(map.name, data).parseAsync(executor).get());
+      Assertions.assertInstanceOf(NTParseException.class, ex.getCause());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * A truncated file is rejected by the channel parser.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public final void testChannelTruncated()
+    throws Exception
+  {
+    try (var map = NamedMap.createFromResource("complex0.sf2")) {
+      final var path = NTTestDirectories.createTempFile("ntparsers-", ".sf2");
+      try (var channel = FileChannel.open(path, READ, WRITE, CREATE, TRUNCATE_EXISTING)) {
+        channel.write(map.map.slice(0, map.map.capacity() / 2));
+        channel.position(0L);
+
+        final var ex = Assertions.assertThrows(NTParseException.class, () -> {
+          this.parsers.createForChannel(path.toUri(), channel).parse();
+        });
+        this.logger.debug("testChannelTruncated: ", ex);
+        Assertions.assertTrue(ex.getMessage().contains("illegal chunk size"));
+      }
+    }
+  }
+
   private void expectThrows(
     final RiffFileBuilderType builder,
     final String expected)
@@ -1023,6 +1579,29 @@ public abstract class NTParsersContract
 
     this.logger.debug("expectThrows: ", ex);
     Assertions.assertTrue(ex.getMessage().contains(expected));
+
+    final var ex_channel = Assertions.assertThrows(NTParseException.class, () -> {
+      this.serializeAndParseFontChannel(this.parsers, this.writers, builder.build());
+    });
+
+    this.logger.debug("expectThrows: ", ex_channel);
+    Assertions.assertTrue(ex_channel.getMessage().contains(expected));
+  }
+
+  private void serializeAndParseFontChannel(
+    final NTFileParserProviderType parsers,
+    final RiffWriters writers,
+    final RiffFileWriterDescriptionType built)
+    throws IOException, RiffWriteException, NTParseException
+  {
+    final var path = NTTestDirectories.createTempFile("ntparsers-", ".sf2");
+    try (final var channel = FileChannel.open(path, READ, WRITE, CREATE, TRUNCATE_EXISTING)) {
+      final var writer = writers.createForChannel(path.toUri(), built, channel);
+      writer.write();
+
+      final var parser = parsers.createForChannel(path.toUri(), channel);
+      parser.parse();
+    }
   }
 
   private void serializeAndParseFont(
@@ -1042,6 +1621,107 @@ public abstract class NTParsersContract
     }
   }
 
+  private static final class RecordingVisitor implements NTParsedFileVisitorType
+  {
+    private final List<Object> records;
+    private final List<Integer> indices;
+
+    RecordingVisitor(
+      final List<Object> in_records,
+      final List<Integer> in_indices)
+    {
+      this.records = Objects.requireNonNull(in_records, "records");
+      this.indices = Objects.requireNonNull(in_indices, "indices");
+    }
+
+    private void record(
+      final int index,
+      final Object value)
+    {
+      this.records.add(value);
+      this.indices.add(Integer.valueOf(index));
+    }
+
+    @Override
+    public void onInfo(
+      final NTInfo info)
+    {
+      this.record(-1, info);
+    }
+
+    @Override
+    public void onPreset(
+      final int index,
+      final NTParsedPreset preset)
+    {
+      this.record(index, preset);
+    }
+
+    @Override
+    public void onPresetZone(
+      final int index,
+      final NTParsedPresetZone zone)
+    {
+      this.record(index, zone);
+    }
+
+    @Override
+    public void onPresetZoneModulator(
+      final int index,
+      final NTParsedPresetZoneModulator modulator)
+    {
+      this.record(index, modulator);
+    }
+
+    @Override
+    public void onPresetZoneGenerator(
+      final int index,
+      final NTParsedPresetZoneGenerator generator)
+    {
+      this.record(index, generator);
+    }
+
+    @Override
+    public void onInstrument(
+      final int index,
+      final NTParsedInstrument instrument)
+    {
+      this.record(index, instrument);
+    }
+
+    @Override
+    public void onInstrumentZone(
+      final int index,
+      final NTParsedInstrumentZone zone)
+    {
+      this.record(index, zone);
+    }
+
+    @Override
+    public void onInstrumentZoneModulator(
+      final int index,
+      final NTParsedInstrumentZoneModulator modulator)
+    {
+      this.record(index, modulator);
+    }
+
+    @Override
+    public void onInstrumentZoneGenerator(
+      final int index,
+      final NTParsedInstrumentZoneGenerator generator)
+    {
+      this.record(index, generator);
+    }
+
+    @Override
+    public void onSample(
+      final int index,
+      final NTParsedSample sample)
+    {
+      this.record(index, sample);
+    }
+  }
+
   private static final class NamedMap implements Closeable
   {
     private final URI name;
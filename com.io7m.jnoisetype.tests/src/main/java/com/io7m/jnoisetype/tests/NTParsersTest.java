@@ -17,11 +17,26 @@
 package com.io7m.jnoisetype.tests;
 
 import com.io7m.jnoisetype.parser.api.NTFileParserProviderType;
+import com.io7m.jnoisetype.parser.api.NTParsedFile;
+import com.io7m.jnoisetype.vanilla.NTParseCache;
 import com.io7m.jnoisetype.vanilla.NTParsers;
+import com.io7m.jnoisetype.vanilla.interpreter.NTInterpreters;
 import com.io7m.jspiel.vanilla.RiffParsers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.nio.file.StandardOpenOption.READ;
+
 public final class NTParsersTest extends NTParsersContract
 {
   @Override
@@ -35,4 +50,125 @@ public final class NTParsersTest extends NTParsersContract
   {
     return LoggerFactory.getLogger(NTParsersTest.class);
   }
+
+  private static List<Path> snapshots(
+    final Path directory)
+    throws Exception
+  {
+    try (var stream = Files.list(directory)) {
+      return stream.sorted().collect(Collectors.toList());
+    }
+  }
+
+  private NTParsedFile parseFresh(
+    final Path file)
+    throws Exception
+  {
+    try (var channel = FileChannel.open(file, READ)) {
+      return this.parsers().createForChannel(file.toUri(), channel).parse();
+    }
+  }
+
+  /**
+   * A file parsed from a cache snapshot is equal to a freshly parsed file, and its sample data
+   * is readable.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testParseCacheHit()
+    throws Exception
+  {
+    final var directory = NTTestDirectories.createTempDirectory();
+    final var cache = NTParseCache.create(this.parsers(), directory.resolve("cache"));
+    final var names = List.of(
+      "complex0.sf2",
+      "empty.sf2",
+      "inst1.sf2",
+      "preset1.sf2",
+      "sample0.sf2",
+      "unbolted_min.sf2");
+
+    for (final var name : names) {
+      final var file = NTTestDirectories.resourceOf(NTParsersTest.class, directory, name);
+      final var expected = this.parseFresh(file);
+
+      try (var channel = FileChannel.open(file, READ)) {
+        Assertions.assertEquals(expected, cache.parse(file, channel));
+      }
+      Assertions.assertEquals(1, snapshots(directory.resolve("cache")).size());
+
+      try (var channel = FileChannel.open(file, READ)) {
+        final var received = cache.parse(file, channel);
+        Assertions.assertEquals(expected, received);
+
+        try (var fresh_channel = FileChannel.open(file, READ)) {
+          final var expected_font = NTInterpreters.interpretFile(
+            this.parsers().createForChannel(file.toUri(), fresh_channel).parse());
+          final var received_font = NTInterpreters.interpretFile(received);
+          Assertions.assertEquals(expected_font.samples().size(), received_font.samples().size());
+          for (var index = 0; index < received_font.samples().size(); ++index) {
+            Assertions.assertEquals(
+              expected_font.samples().get(index).dataBytes(),
+              received_font.samples().get(index).dataBytes());
+          }
+        }
+      }
+
+      for (final var snapshot : snapshots(directory.resolve("cache"))) {
+        Files.delete(snapshot);
+      }
+    }
+  }
+
+  /**
+   * Snapshots of modified files, and damaged snapshots, are ignored and replaced.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testParseCacheInvalidated()
+    throws Exception
+  {
+    final var directory = NTTestDirectories.createTempDirectory();
+    final var cache_directory = directory.resolve("cache");
+    final var cache = NTParseCache.create(this.parsers(), cache_directory);
+    final var file =
+      NTTestDirectories.resourceOf(NTParsersTest.class, directory, "complex0.sf2");
+    final var expected = this.parseFresh(file);
+
+    try (var channel = FileChannel.open(file, READ)) {
+      Assertions.assertEquals(expected, cache.parse(file, channel));
+    }
+
+    final var snapshot = snapshots(cache_directory).get(0);
+    final var original = Files.readAllBytes(snapshot);
+
+    final var damaged = original.clone();
+    damaged[damaged.length - 1] = (byte) (damaged[damaged.length - 1] ^ 0xff);
+    Files.write(snapshot, damaged);
+    try (var channel = FileChannel.open(file, READ)) {
+      Assertions.assertEquals(expected, cache.parse(file, channel));
+    }
+    Assertions.assertArrayEquals(original, Files.readAllBytes(snapshot));
+
+    Files.write(snapshot, new byte[]{0x4e, 0x54});
+    try (var channel = FileChannel.open(file, READ)) {
+      Assertions.assertEquals(expected, cache.parse(file, channel));
+    }
+    Assertions.assertArrayEquals(original, Files.readAllBytes(snapshot));
+
+    Files.setLastModifiedTime(
+      file,
+      FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 10_000L));
+    try (var channel = FileChannel.open(file, READ)) {
+      Assertions.assertEquals(expected, cache.parse(file, channel));
+    }
+    Assertions.assertEquals(1, snapshots(cache_directory).size());
+    Assertions.assertFalse(
+      Arrays.equals(original, Files.readAllBytes(snapshot)),
+      "Snapshot must be replaced");
+  }
 }
@@ -17,6 +17,7 @@
 package com.io7m.jnoisetype.tests;
 
 import com.io7m.jnoisetype.api.NTPitch;
+import com.io7m.jnoisetype.api.NTPitches;
 import com.io7m.jranges.RangeCheckException;
 import net.jqwik.api.ForAll;
 import net.jqwik.api.Property;
@@ -52,4 +53,24 @@ public final class NTPitchTest
       NTPitch.of(s0).compareTo(NTPitch.of(s1)),
       "Ordering is correct");
   }
+
+  @Test
+  public void testCachedOutOfRange()
+  {
+    Assertions.assertThrows(RangeCheckException.class, () -> {
+      NTPitches.of(128);
+    });
+    Assertions.assertThrows(RangeCheckException.class, () -> {
+      NTPitches.of(-1);
+    });
+  }
+
+  @Property
+  public void testCached(
+    final @ForAll @IntRange(min = 0, max = 0x7f) int s0)
+  {
+    final var pitch = NTPitches.of(s0);
+    Assertions.assertEquals(NTPitch.of(s0), pitch);
+    Assertions.assertSame(pitch, NTPitches.of(s0));
+  }
 }
@@ -0,0 +1,198 @@
+/*
+ * Copyright © 2019 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jnoisetype.tests;
+
+import com.io7m.jnoisetype.api.NTFontType;
+import com.io7m.jnoisetype.api.NTInfo;
+import com.io7m.jnoisetype.api.NTSampleConversions;
+import com.io7m.jnoisetype.api.NTShortString;
+import com.io7m.jnoisetype.api.NTVersion;
+import com.io7m.jnoisetype.vanilla.NTBuilders;
+import com.io7m.jnoisetype.vanilla.NTParsers;
+import com.io7m.jnoisetype.vanilla.NTSampleCache;
+import com.io7m.jnoisetype.vanilla.NTWriters;
+import com.io7m.jnoisetype.vanilla.interpreter.NTInterpreters;
+import com.io7m.jranges.RangeCheckException;
+import com.io7m.jspiel.vanilla.RiffFileBuilders;
+import com.io7m.jspiel.vanilla.RiffParsers;
+import com.io7m.jspiel.vanilla.RiffWriters;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+public final class NTSampleCacheTest
+{
+  private static final int FRAMES = 100;
+  private static final long SAMPLE_BYTES = (long) FRAMES * (long) Float.BYTES;
+
+  private static NTFontType writeFont(
+    final int samples)
+    throws Exception
+  {
+    final var path = NTTestDirectories.createTempFile("nt-sample-cache-", ".sf2");
+    final var builder = new NTBuilders().createBuilder();
+    builder.setInfo(
+      NTInfo.builder()
+        .setName(NTShortString.of("Cache"))
+        .setVersion(NTVersion.of(2, 1))
+        .build());
+
+    for (var index = 0; index < samples; ++index) {
+      final var base = index * 1000;
+      builder.addSample(String.format("s%04d", Integer.valueOf(index)))
+        .setSampleCount(FRAMES)
+        .setDataWriter(channel -> {
+          final var buffer = ByteBuffer.allocate(FRAMES * 2).order(LITTLE_ENDIAN);
+          for (var frame = 0; frame < FRAMES; ++frame) {
+            buffer.putShort((short) (base + frame));
+          }
+          channel.write(buffer.flip());
+        });
+    }
+
+    try (var channel = FileChannel.open(path, CREATE, WRITE, TRUNCATE_EXISTING)) {
+      NTWriters.create(new RiffWriters(), new RiffFileBuilders())
+        .createForChannel(path.toUri(), builder.build(), channel)
+        .write();
+    }
+
+    try (var channel = FileChannel.open(path, READ)) {
+      final var map = channel.map(READ_ONLY, 0L, channel.size());
+      final var file =
+        NTParsers.create(new RiffParsers())
+          .createForByteBuffer(path.toUri(), map)
+          .parse();
+      return NTInterpreters.interpretFile(file);
+    }
+  }
+
+  @Test
+  public void testDecodeHitMiss()
+    throws Exception
+  {
+    final var font = writeFont(2);
+    final var cache = NTSampleCache.create(SAMPLE_BYTES * 2L);
+
+    final var data = cache.get(font, 1);
+    Assertions.assertTrue(data.isReadOnly());
+    Assertions.assertTrue(data.isDirect());
+    Assertions.assertEquals(0, data.position());
+    Assertions.assertEquals(FRAMES, data.limit());
+    for (var frame = 0; frame < FRAMES; ++frame) {
+      Assertions.assertEquals(
+        NTSampleConversions.convert((short) (1000 + frame)),
+        data.get(frame));
+    }
+
+    Assertions.assertEquals(0L, cache.hits());
+    Assertions.assertEquals(1L, cache.misses());
+    Assertions.assertEquals(SAMPLE_BYTES, cache.size());
+    Assertions.assertEquals(1, cache.entryCount());
+
+    Assertions.assertEquals(data, cache.get(font, 1));
+    Assertions.assertEquals(1L, cache.hits());
+    Assertions.assertEquals(1L, cache.misses());
+    Assertions.assertEquals(0L, cache.evictions());
+  }
+
+  @Test
+  public void testEvictLeastRecentlyUsed()
+    throws Exception
+  {
+    final var font = writeFont(3);
+    final var decodes = new AtomicInteger();
+    final var cache = NTSampleCache.create(SAMPLE_BYTES * 2L, sample -> {
+      decodes.incrementAndGet();
+      return FloatBuffer.allocate(sample.dataFrames().limit());
+    });
+
+    cache.get(font, 0);
+    cache.get(font, 1);
+    cache.get(font, 0);
+    cache.get(font, 2);
+
+    Assertions.assertEquals(3, decodes.get());
+    Assertions.assertEquals(1L, cache.evictions());
+    Assertions.assertEquals(2, cache.entryCount());
+    Assertions.assertEquals(SAMPLE_BYTES * 2L, cache.size());
+
+    cache.get(font, 0);
+    cache.get(font, 2);
+    Assertions.assertEquals(3, decodes.get());
+
+    cache.get(font, 1);
+    Assertions.assertEquals(4, decodes.get());
+    Assertions.assertEquals(2L, cache.evictions());
+    Assertions.assertEquals(3L, cache.hits());
+    Assertions.assertEquals(4L, cache.misses());
+  }
+
+  @Test
+  public void testOverBudget()
+    throws Exception
+  {
+    final var font = writeFont(1);
+    final var cache = NTSampleCache.create(SAMPLE_BYTES - 1L);
+
+    Assertions.assertEquals(FRAMES, cache.get(font, 0).limit());
+    Assertions.assertEquals(FRAMES, cache.get(font, 0).limit());
+    Assertions.assertEquals(0, cache.entryCount());
+    Assertions.assertEquals(0L, cache.size());
+    Assertions.assertEquals(2L, cache.misses());
+  }
+
+  @Test
+  public void testInvalidate()
+    throws Exception
+  {
+    final var font_0 = writeFont(2);
+    final var font_1 = writeFont(2);
+    final var cache = NTSampleCache.create(SAMPLE_BYTES * 4L);
+
+    cache.get(font_0, 0);
+    cache.get(font_0, 1);
+    cache.get(font_1, 0);
+    Assertions.assertEquals(3, cache.entryCount());
+
+    cache.invalidate(font_0);
+    Assertions.assertEquals(1, cache.entryCount());
+    Assertions.assertEquals(SAMPLE_BYTES, cache.size());
+
+    cache.clear();
+    Assertions.assertEquals(0, cache.entryCount());
+    Assertions.assertEquals(0L, cache.size());
+  }
+
+  @Test
+  public void testNegativeBudget()
+  {
+    Assertions.assertThrows(
+      RangeCheckException.class,
+      () -> NTSampleCache.create(-1L));
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright © 2019 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jnoisetype.tests;
+
+import com.io7m.jnoisetype.api.NTSampleConversions;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.constraints.Size;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+import java.util.List;
+
+public final class NTSampleConversionsTest
+{
+  private static ShortBuffer mappedFrames(
+    final List<Short> values)
+  {
+    final var bytes =
+      ByteBuffer.allocateDirect(values.size() * 2)
+        .order(ByteOrder.LITTLE_ENDIAN);
+    for (final var value : values) {
+      bytes.putShort(value.shortValue());
+    }
+    bytes.flip();
+    return bytes.asReadOnlyBuffer()
+      .order(ByteOrder.LITTLE_ENDIAN)
+      .asShortBuffer();
+  }
+
+  @Test
+  public void testExtremes()
+  {
+    Assertions.assertEquals(-1.0f, NTSampleConversions.convert(Short.MIN_VALUE));
+    Assertions.assertEquals(0.0f, NTSampleConversions.convert((short) 0));
+    Assertions.assertEquals(32767.0f / 32768.0f, NTSampleConversions.convert(Short.MAX_VALUE));
+  }
+
+  @Property
+  public void testConvertArray(
+    final @ForAll @Size(max = 10000) List<Short> values)
+  {
+    final var source = mappedFrames(values);
+    final var target = new float[values.size() + 3];
+    final var count = NTSampleConversions.convert(source, target, 3);
+
+    Assertions.assertEquals(values.size(), count);
+    Assertions.assertEquals(0, source.remaining());
+    for (var index = 0; index < values.size(); ++index) {
+      Assertions.assertEquals(
+        NTSampleConversions.convert(values.get(index).shortValue()),
+        target[index + 3]);
+    }
+  }
+
+  @Property
+  public void testConvertBuffer(
+    final @ForAll @Size(max = 10000) List<Short> values)
+  {
+    final var source = mappedFrames(values);
+    final var target =
+      ByteBuffer.allocateDirect(values.size() * 4)
+        .order(ByteOrder.nativeOrder())
+        .asFloatBuffer();
+    final var count = NTSampleConversions.convert(source, target);
+
+    Assertions.assertEquals(values.size(), count);
+    Assertions.assertEquals(0, source.remaining());
+    Assertions.assertEquals(0, target.remaining());
+    for (var index = 0; index < values.size(); ++index) {
+      Assertions.assertEquals(
+        NTSampleConversions.convert(values.get(index).shortValue()),
+        target.get(index));
+    }
+  }
+
+  @Property
+  public void testConvertNew(
+    final @ForAll @Size(max = 10000) List<Short> values)
+  {
+    final var source = mappedFrames(values);
+    final var target = NTSampleConversions.convert(source);
+
+    Assertions.assertEquals(values.size(), target.length);
+    Assertions.assertEquals(values.size(), source.remaining());
+    for (var index = 0; index < values.size(); ++index) {
+      Assertions.assertEquals(
+        NTSampleConversions.convert(values.get(index).shortValue()),
+        target[index]);
+    }
+  }
+
+  @Property
+  public void testConvertHeapBuffers(
+    final @ForAll @Size(max = 10000) List<Short> values)
+  {
+    final var frames = new short[values.size() + 2];
+    for (var index = 0; index < values.size(); ++index) {
+      frames[index + 2] = values.get(index).shortValue();
+    }
+
+    final var source = ShortBuffer.wrap(frames).position(2).slice();
+    final var target = FloatBuffer.allocate(values.size() + 1).position(1);
+    final var count = NTSampleConversions.convert(source, target);
+
+    Assertions.assertEquals(values.size(), count);
+    Assertions.assertEquals(0, source.remaining());
+    Assertions.assertEquals(0, target.remaining());
+    for (var index = 0; index < values.size(); ++index) {
+      Assertions.assertEquals(
+        NTSampleConversions.convert(values.get(index).shortValue()),
+        target.get(index + 1));
+    }
+  }
+
+  @Property
+  public void testConvertHeapSourceDirectTarget(
+    final @ForAll @Size(max = 10000) List<Short> values)
+  {
+    final var frames = new short[values.size()];
+    for (var index = 0; index < values.size(); ++index) {
+      frames[index] = values.get(index).shortValue();
+    }
+
+    final var source = ShortBuffer.wrap(frames);
+    final var target =
+      ByteBuffer.allocateDirect(values.size() * 4)
+        .order(ByteOrder.nativeOrder())
+        .asFloatBuffer();
+    final var count = NTSampleConversions.convert(source, target);
+
+    Assertions.assertEquals(values.size(), count);
+    Assertions.assertEquals(0, source.remaining());
+    for (var index = 0; index < values.size(); ++index) {
+      Assertions.assertEquals(
+        NTSampleConversions.convert(values.get(index).shortValue()),
+        target.get(index));
+    }
+  }
+
+  @Test
+  public void testConvertArrayTooSmall()
+  {
+    final var source = ShortBuffer.allocate(10);
+    Assertions.assertThrows(
+      IndexOutOfBoundsException.class,
+      () -> NTSampleConversions.convert(source, new float[10], 1));
+    Assertions.assertEquals(10, source.remaining());
+  }
+
+  @Test
+  public void testConvertBufferTooSmall()
+  {
+    final var source = ShortBuffer.allocate(10);
+    Assertions.assertThrows(
+      BufferOverflowException.class,
+      () -> NTSampleConversions.convert(source, FloatBuffer.allocate(9)));
+    Assertions.assertEquals(10, source.remaining());
+  }
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright © 2019 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jnoisetype.tests;
+
+import com.io7m.jnoisetype.api.NTFontType;
+import com.io7m.jnoisetype.api.NTInfo;
+import com.io7m.jnoisetype.api.NTSampleConversions;
+import com.io7m.jnoisetype.api.NTSampleDescription;
+import com.io7m.jnoisetype.api.NTSampleLoopReader;
+import com.io7m.jnoisetype.api.NTSampleType;
+import com.io7m.jnoisetype.api.NTShortString;
+import com.io7m.jnoisetype.api.NTVersion;
+import com.io7m.jnoisetype.vanilla.NTBuilders;
+import com.io7m.jnoisetype.vanilla.NTParsers;
+import com.io7m.jnoisetype.vanilla.NTWriters;
+import com.io7m.jnoisetype.vanilla.interpreter.NTInterpreters;
+import com.io7m.jranges.RangeHalfOpenL;
+import com.io7m.jspiel.vanilla.RiffFileBuilders;
+import com.io7m.jspiel.vanilla.RiffParsers;
+import com.io7m.jspiel.vanilla.RiffWriters;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.util.Arrays;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+public final class NTSampleLoopReaderTest
+{
+  private static final int FRAMES = 10;
+
+  private static NTFontType writeFont()
+    throws Exception
+  {
+    final var path = NTTestDirectories.createTempFile("nt-sample-loop-", ".sf2");
+    final var builder = new NTBuilders().createBuilder();
+    builder.setInfo(
+      NTInfo.builder()
+        .setName(NTShortString.of("Loops"))
+        .setVersion(NTVersion.of(2, 1))
+        .build());
+
+    builder.addSample("looped")
+      .setSampleCount(FRAMES)
+      .setLoopEnd(7L)
+      .setLoopStart(4L)
+      .setDataWriter(NTSampleLoopReaderTest::writeFrames);
+
+    builder.addSample("unlooped")
+      .setSampleCount(FRAMES)
+      .setDataWriter(NTSampleLoopReaderTest::writeFrames);
+
+    try (var channel = FileChannel.open(path, CREATE, WRITE, TRUNCATE_EXISTING)) {
+      NTWriters.create(new RiffWriters(), new RiffFileBuilders())
+        .createForChannel(path.toUri(), builder.build(), channel)
+        .write();
+    }
+
+    try (var channel = FileChannel.open(path, READ)) {
+      final var map = channel.map(READ_ONLY, 0L, channel.size());
+      final var file =
+        NTParsers.create(new RiffParsers())
+          .createForByteBuffer(path.toUri(), map)
+          .parse();
+      return NTInterpreters.interpretFile(file);
+    }
+  }
+
+  private static void writeFrames(
+    final SeekableByteChannel channel)
+    throws IOException
+  {
+    final var buffer = ByteBuffer.allocate(FRAMES * 2).order(LITTLE_ENDIAN);
+    for (var frame = 0; frame < FRAMES; ++frame) {
+      buffer.putShort((short) (frame + 1));
+    }
+    channel.write(buffer.flip());
+  }
+
+  private static short expectedLooped(
+    final int index)
+  {
+    if (index < 7) {
+      return (short) (index + 1);
+    }
+    return (short) (4 + ((index - 7) % 3) + 1);
+  }
+
+  private static short expectedUnlooped(
+    final int index)
+  {
+    if (index < FRAMES) {
+      return (short) (index + 1);
+    }
+    return 0;
+  }
+
+  @Test
+  public void testLoopedBlocks()
+    throws Exception
+  {
+    final var font = writeFont();
+    final var sample = font.sampleNamed("looped").orElseThrow();
+
+    for (var block = 1; block <= 13; ++block) {
+      final var reader = NTSampleLoopReader.create(sample);
+      Assertions.assertTrue(reader.isLooping());
+
+      final var target = new short[block + 2];
+      var index = 0;
+      for (var step = 0; step < 20; ++step) {
+        reader.read(target, 2, block);
+        for (var frame = 0; frame < block; ++frame) {
+          Assertions.assertEquals(expectedLooped(index), target[frame + 2], "Frame " + index);
+          ++index;
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testUnloopedBlocks()
+    throws Exception
+  {
+    final var font = writeFont();
+    final var sample = font.sampleNamed("unlooped").orElseThrow();
+
+    for (var block = 1; block <= 13; ++block) {
+      final var reader = NTSampleLoopReader.create(sample);
+      Assertions.assertFalse(reader.isLooping());
+
+      final var target = new short[block];
+      var index = 0;
+      for (var step = 0; step < 12; ++step) {
+        Arrays.fill(target, (short) -1);
+        reader.read(target, 0, block);
+        for (var frame = 0; frame < block; ++frame) {
+          Assertions.assertEquals(expectedUnlooped(index), target[frame], "Frame " + index);
+          ++index;
+        }
+      }
+      Assertions.assertEquals(FRAMES, reader.position());
+    }
+  }
+
+  /**
+   * One-shot samples commonly store zero for both (absolute) loop points, even though the sample
+   * does not start at zero. Such samples are played once and are not rejected.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public void testZeroLoopPoints()
+    throws Exception
+  {
+    final var font = writeFont();
+    final var original = font.sampleNamed("unlooped").orElseThrow();
+    Assertions.assertTrue(original.description().start() > 0L);
+
+    final var description =
+      NTSampleDescription.copyOf(original.description())
+        .withLoopStart(0L)
+        .withLoopEnd(0L);
+
+    final var sample = new NTSampleType()
+    {
+      @Override
+      public NTFontType font()
+      {
+        return original.font();
+      }
+
+      @Override
+      public NTSampleDescription description()
+      {
+        return description;
+      }
+
+      @Override
+      public RangeHalfOpenL dataByteRange()
+      {
+        return original.dataByteRange();
+      }
+
+      @Override
+      public ByteBuffer dataBytes()
+        throws IOException
+      {
+        return original.dataBytes();
+      }
+    };
+
+    Assertions.assertThrows(IOException.class, sample::loopFrames);
+
+    final var reader = NTSampleLoopReader.create(sample);
+    Assertions.assertFalse(reader.isLooping());
+
+    final var target = new short[FRAMES + 5];
+    reader.read(target, 0, target.length);
+    for (var index = 0; index < target.length; ++index) {
+      Assertions.assertEquals(expectedUnlooped(index), target[index], "Frame " + index);
+    }
+  }
+
+  @Test
+  public void testFloatAndReset()
+    throws Exception
+  {
+    final var font = writeFont();
+    final var reader = NTSampleLoopReader.create(font.sampleNamed("looped").orElseThrow());
+
+    final var target = new float[1000];
+    reader.read(target, 0, target.length);
+    for (var index = 0; index < target.length; ++index) {
+      Assertions.assertEquals(
+        NTSampleConversions.convert(expectedLooped(index)), target[index]);
+    }
+
+    reader.reset();
+    Assertions.assertEquals(0, reader.position());
+    final var frames = new short[3];
+    reader.read(frames, 0, 3);
+    Assertions.assertArrayEquals(new short[]{1, 2, 3}, frames);
+  }
+
+  @Test
+  public void testTargetTooSmall()
+    throws Exception
+  {
+    final var font = writeFont();
+    final var reader = NTSampleLoopReader.create(font.sampleNamed("looped").orElseThrow());
+
+    Assertions.assertThrows(
+      IndexOutOfBoundsException.class,
+      () -> reader.read(new short[4], 1, 4));
+    Assertions.assertThrows(
+      IndexOutOfBoundsException.class,
+      () -> reader.read(new float[4], 1, 4));
+    Assertions.assertEquals(0, reader.position());
+  }
+}
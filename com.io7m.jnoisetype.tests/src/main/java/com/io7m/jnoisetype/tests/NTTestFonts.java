@@ -0,0 +1,186 @@
+/*
+ * Copyright © 2019 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jnoisetype.tests;
+
+import com.io7m.jnoisetype.api.NTBankIndex;
+import com.io7m.jnoisetype.api.NTGenerator;
+import com.io7m.jnoisetype.api.NTGenerators;
+import com.io7m.jnoisetype.api.NTGenericAmount;
+import com.io7m.jnoisetype.api.NTInfo;
+import com.io7m.jnoisetype.api.NTShortString;
+import com.io7m.jnoisetype.api.NTVersion;
+import com.io7m.jnoisetype.vanilla.NTBuilders;
+import com.io7m.jnoisetype.vanilla.NTWriters;
+import com.io7m.jnoisetype.writer.api.NTBuilderProviderType;
+import com.io7m.jnoisetype.writer.api.NTBuilderType;
+import com.io7m.jnoisetype.writer.api.NTWriteException;
+import com.io7m.jnoisetype.writer.api.NTWriterProviderType;
+import com.io7m.jspiel.vanilla.RiffFileBuilders;
+import com.io7m.jspiel.vanilla.RiffWriters;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Functions to write small fonts for tests.
+ */
+
+public final class NTTestFonts
+{
+  private NTTestFonts()
+  {
+
+  }
+
+  public static NTGenerator generatorNamed(
+    final String name)
+  {
+    return NTGenerators.findForName(name).orElseThrow();
+  }
+
+  /**
+   * Write a font to a temporary file with the default builders and writers.
+   */
+
+  public static Path write(
+    final String name,
+    final Consumer<NTBuilderType> populate)
+    throws IOException, NTWriteException
+  {
+    return write(
+      new NTBuilders(),
+      NTWriters.create(new RiffWriters(), new RiffFileBuilders()),
+      name,
+      populate);
+  }
+
+  /**
+   * Write a font to a temporary file with the given builders and writers.
+   */
+
+  public static Path write(
+    final NTBuilderProviderType builders,
+    final NTWriterProviderType writers,
+    final String name,
+    final Consumer<NTBuilderType> populate)
+    throws IOException, NTWriteException
+  {
+    final var path = NTTestDirectories.createTempFile("nt-font-", ".sf2");
+
+    final var builder = builders.createBuilder();
+    builder.setInfo(
+      NTInfo.builder()
+        .setName(NTShortString.of(name))
+        .setVersion(NTVersion.of(2, 1))
+        .build());
+    populate.accept(builder);
+
+    final var description = builder.build();
+    try (var channel = FileChannel.open(path, CREATE, WRITE, TRUNCATE_EXISTING)) {
+      writers.createForChannel(path.toUri(), description, channel).write();
+    }
+    return path;
+  }
+
+  /**
+   * Add two samples, one instrument, and two presets whose generators exercise voice region
+   * compilation.
+   */
+
+  public static void addRegions(
+    final NTBuilderType builder)
+  {
+    final var sample0 =
+      builder.addSample("s0")
+        .setSampleCount(8L)
+        .setDataWriter(channel -> channel.write(ByteBuffer.allocate(16)));
+    final var sample1 =
+      builder.addSample("s1")
+        .setSampleCount(8L)
+        .setDataWriter(channel -> channel.write(ByteBuffer.allocate(16)));
+
+    final var instrument = builder.addInstrument("i0");
+    instrument.addZone()
+      .addGenerator(generatorNamed("initialAttenuation"), NTGenericAmount.of(100))
+      .addGenerator(generatorNamed("overridingRootKey"), NTGenericAmount.of(60));
+    instrument.addZone()
+      .addKeyRangeGenerator(0, 63)
+      .addSampleGenerator(sample0);
+    instrument.addZone()
+      .addKeyRangeGenerator(64, 127)
+      .addVelocityRangeGenerator(0, 99)
+      .addGenerator(generatorNamed("coarseTune"), NTGenericAmount.of(0xfffd))
+      .addSampleGenerator(sample1);
+
+    final var preset0 = builder.addPreset(NTBankIndex.of(0), "p0");
+    preset0.addZone()
+      .addGenerator(generatorNamed("coarseTune"), NTGenericAmount.of(2))
+      .addGenerator(generatorNamed("overridingRootKey"), NTGenericAmount.of(10));
+    preset0.addZone()
+      .addKeyRangeGenerator(32, 95)
+      .addGenerator(generatorNamed("fineTune"), NTGenericAmount.of(5))
+      .addInstrumentGenerator(instrument);
+
+    final var preset1 = builder.addPreset(NTBankIndex.of(0), "p1");
+    preset1.addZone()
+      .addGenerator(generatorNamed("pan"), NTGenericAmount.of(0xffce));
+    preset1.addZone()
+      .addKeyRangeGenerator(100, 127)
+      .addInstrumentGenerator(instrument);
+  }
+
+  /**
+   * Add {@code count} samples, instruments, and presets. The interpreter skips the zones of
+   * presets and instruments that have fewer than two zones, so each one is given a global zone
+   * followed by a zone that refers to a sample or instrument.
+   */
+
+  public static void addMany(
+    final NTBuilderType builder,
+    final int count)
+  {
+    for (var index = 0; index < count; ++index) {
+      final var sample =
+        builder.addSample(String.format("s%04d", Integer.valueOf(index)))
+          .setSampleCount(8L)
+          .setDataWriter(channel -> channel.write(ByteBuffer.allocate(16)));
+
+      final var instrument =
+        builder.addInstrument(String.format("i%04d", Integer.valueOf(index)));
+      instrument.addZone()
+        .addGenerator(generatorNamed("coarseTune"), NTGenericAmount.of(index));
+      instrument.addZone()
+        .addKeyRangeGenerator(0, 127)
+        .addSampleGenerator(sample);
+
+      final var preset =
+        builder.addPreset(NTBankIndex.of(0), String.format("p%04d", Integer.valueOf(index)));
+      preset.addZone()
+        .addGenerator(generatorNamed("pan"), NTGenericAmount.of(index));
+      preset.addZone()
+        .addKeyRangeGenerator(0, 127)
+        .addInstrumentGenerator(instrument);
+    }
+  }
+}
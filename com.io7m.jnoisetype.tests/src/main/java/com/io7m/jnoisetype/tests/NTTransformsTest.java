@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2019 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jnoisetype.tests;
+
+import com.io7m.jnoisetype.api.NTTransforms;
+import com.io7m.jranges.RangeCheckException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public final class NTTransformsTest
+{
+  @Test
+  public void testKnownTransforms()
+  {
+    Assertions.assertEquals("linear", NTTransforms.find(0).name());
+    Assertions.assertEquals("absolute", NTTransforms.find(2).name());
+    Assertions.assertSame(NTTransforms.find(0), NTTransforms.find(0));
+    Assertions.assertEquals(NTTransforms.transforms().size(), 2);
+  }
+
+  @Test
+  public void testUnknownTransforms()
+  {
+    final var transform = NTTransforms.find(1000);
+    Assertions.assertEquals("unknown", transform.name());
+    Assertions.assertEquals(1000, transform.index().value());
+    Assertions.assertSame(transform, NTTransforms.find(1000));
+    Assertions.assertSame(NTTransforms.find(1), NTTransforms.find(1));
+  }
+
+  @Test
+  public void testOutOfRangeTransforms()
+  {
+    Assertions.assertThrows(
+      RangeCheckException.class,
+      () -> NTTransforms.find(-1));
+    Assertions.assertThrows(
+      RangeCheckException.class,
+      () -> NTTransforms.find(0x10000));
+  }
+}
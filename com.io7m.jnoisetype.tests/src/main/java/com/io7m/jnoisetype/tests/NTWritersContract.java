@@ -27,6 +27,8 @@ import com.io7m.jnoisetype.api.NTLongString;
 import com.io7m.jnoisetype.api.NTShortString;
 import com.io7m.jnoisetype.api.NTTransforms;
 import com.io7m.jnoisetype.api.NTVersion;
+import com.io7m.jnoisetype.api.NTVoiceRegionIndex;
+import com.io7m.jnoisetype.api.NTVoiceRegionTable;
 import com.io7m.jnoisetype.parser.api.NTFileParserProviderType;
 import com.io7m.jnoisetype.parser.api.NTInterpreterProviderType;
 import com.io7m.jnoisetype.parser.api.NTParseException;
@@ -45,12 +47,16 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Optional;
 
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
 import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
 import static java.nio.file.StandardOpenOption.CREATE;
 import static java.nio.file.StandardOpenOption.READ;
@@ -550,6 +556,276 @@ public abstract class NTWritersContract
     compareFont(expected, parsed);
   }
 
+  /**
+   * Compiled voice regions combine preset and instrument generators according to the
+   * specification.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public final void testVoiceRegions()
+    throws Exception
+  {
+    final var font = this.writeRegionsFont();
+    final var regions = NTVoiceRegionTable.compile(font);
+    Assertions.assertSame(font, regions.font());
+    Assertions.assertEquals(3, regions.size());
+    Assertions.assertEquals(0, regions.presetRegions(0).lower());
+    Assertions.assertEquals(2, regions.presetRegions(0).upper());
+    Assertions.assertEquals(2, regions.presetRegions(1).lower());
+    Assertions.assertEquals(3, regions.presetRegions(1).upper());
+
+    final var coarse = NTTestFonts.generatorNamed("coarseTune");
+    final var fine = NTTestFonts.generatorNamed("fineTune");
+    final var root = NTTestFonts.generatorNamed("overridingRootKey");
+    final var attenuation = NTTestFonts.generatorNamed("initialAttenuation");
+    final var pan = NTTestFonts.generatorNamed("pan");
+    final var filter = NTTestFonts.generatorNamed("initialFilterFc");
+
+    Assertions.assertEquals("p0", regions.preset(0).nameText());
+    Assertions.assertEquals("i0", regions.instrument(0).nameText());
+    Assertions.assertEquals("s0", regions.sample(0).nameText());
+    Assertions.assertEquals(32, regions.keyLow(0));
+    Assertions.assertEquals(63, regions.keyHigh(0));
+    Assertions.assertEquals(0, regions.velocityLow(0));
+    Assertions.assertEquals(127, regions.velocityHigh(0));
+    Assertions.assertEquals(2, regions.generator(0, coarse));
+    Assertions.assertEquals(5, regions.generator(0, fine));
+    Assertions.assertEquals(60, regions.generator(0, root));
+    Assertions.assertEquals(100, regions.generator(0, attenuation));
+    Assertions.assertEquals(13500, regions.generator(0, filter));
+
+    Assertions.assertEquals("s1", regions.sample(1).nameText());
+    Assertions.assertEquals(64, regions.keyLow(1));
+    Assertions.assertEquals(95, regions.keyHigh(1));
+    Assertions.assertEquals(0, regions.velocityLow(1));
+    Assertions.assertEquals(99, regions.velocityHigh(1));
+    Assertions.assertEquals(-1, regions.generator(1, coarse));
+    Assertions.assertEquals(5, regions.generator(1, fine));
+    Assertions.assertEquals(60, regions.generator(1, root));
+
+    Assertions.assertEquals("p1", regions.preset(2).nameText());
+    Assertions.assertEquals("s1", regions.sample(2).nameText());
+    Assertions.assertEquals(100, regions.keyLow(2));
+    Assertions.assertEquals(127, regions.keyHigh(2));
+    Assertions.assertEquals(-3, regions.generator(2, coarse));
+    Assertions.assertEquals(0, regions.generator(2, fine));
+    Assertions.assertEquals(-50, regions.generator(2, pan));
+    Assertions.assertEquals(-12000, NTVoiceRegionTable.defaultValue(34));
+  }
+
+  private NTFontType writeRegionsFont()
+    throws Exception
+  {
+    final var path =
+      NTTestFonts.write(this.builders, this.writers, "Regions", NTTestFonts::addRegions);
+    this.logger.debug("output: {}", path);
+    return this.parse(path);
+  }
+
+  /**
+   * The region index agrees with a linear scan of the regions.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public final void testVoiceRegionIndex()
+    throws Exception
+  {
+    final var font = this.writeRegionsFont();
+    final var regions = NTVoiceRegionTable.compile(font);
+    final var index = NTVoiceRegionIndex.create(regions);
+    Assertions.assertSame(regions, index.regions());
+    Assertions.assertEquals(0, index.presetFor(0, 0));
+    Assertions.assertEquals(1, index.presetFor(0, 1));
+    Assertions.assertEquals(-1, index.presetFor(0, 2));
+    Assertions.assertEquals(-1, index.presetFor(1, 0));
+
+    final var output = new int[8];
+    Assertions.assertEquals(1, index.find(0, 0, 40, 64, output));
+    Assertions.assertEquals(0, output[0]);
+    Assertions.assertEquals(0, index.find(0, 0, 70, 110, output));
+    Assertions.assertEquals(1, index.find(0, 0, 70, 50, output));
+    Assertions.assertEquals(1, output[0]);
+    Assertions.assertEquals(1, index.find(0, 1, 110, 1, output));
+    Assertions.assertEquals(2, output[0]);
+    Assertions.assertEquals(0, index.find(0, 1, 50, 1, output));
+    Assertions.assertEquals(0, index.find(1, 0, 40, 64, output));
+    Assertions.assertEquals(0, index.find(0, 0, 128, 64, output));
+
+    final var expected = new ArrayList<Integer>();
+    final var received = new ArrayList<Integer>();
+    for (var preset = 0; preset < font.presets().size(); ++preset) {
+      for (var key = 0; key < 128; ++key) {
+        for (var velocity = 0; velocity < 128; ++velocity) {
+          expected.clear();
+          final var range = regions.presetRegions(preset);
+          for (var region = range.lower(); region < range.upper(); ++region) {
+            if (key >= regions.keyLow(region) && key <= regions.keyHigh(region)
+              && velocity >= regions.velocityLow(region)
+              && velocity <= regions.velocityHigh(region)) {
+              expected.add(Integer.valueOf(region));
+            }
+          }
+
+          received.clear();
+          final var count = index.find(preset, key, velocity, output);
+          for (var match = 0; match < count; ++match) {
+            received.add(Integer.valueOf(output[match]));
+          }
+          Assertions.assertEquals(expected, received);
+        }
+      }
+    }
+  }
+
+  /**
+   * Zones refer directly to their instruments and samples.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public final void testZoneReferences()
+    throws Exception
+  {
+    final var font = this.writeRegionsFont();
+
+    final var instrument = font.instruments().get(0);
+    final var instrument_zones = instrument.zones();
+    Assertions.assertEquals(Optional.empty(), instrument_zones.get(0).linkedSample());
+    Assertions.assertSame(font.samples().get(0), instrument_zones.get(1).linkedSample().get());
+    Assertions.assertSame(font.samples().get(1), instrument_zones.get(2).linkedSample().get());
+
+    for (final var preset : font.presets()) {
+      final var preset_zones = preset.zones();
+      Assertions.assertEquals(Optional.empty(), preset_zones.get(0).linkedInstrument());
+      Assertions.assertSame(instrument, preset_zones.get(1).linkedInstrument().get());
+    }
+  }
+
+  /**
+   * Presets can be located by bank and program, and font members can be located by name.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public final void testFontIndexes()
+    throws Exception
+  {
+    final var font = this.writeRegionsFont();
+
+    Assertions.assertSame(font.presets().get(0), font.presetFor(0, 0).get());
+    Assertions.assertSame(font.presets().get(1), font.presetFor(0, 1).get());
+    Assertions.assertEquals(Optional.empty(), font.presetFor(0, 2));
+    Assertions.assertEquals(Optional.empty(), font.presetFor(1, 0));
+
+    Assertions.assertSame(font.presets().get(1), font.presetNamed("p1").get());
+    Assertions.assertSame(font.instruments().get(0), font.instrumentNamed("i0").get());
+    Assertions.assertSame(font.samples().get(1), font.sampleNamed("s1").get());
+    Assertions.assertEquals(Optional.empty(), font.presetNamed("i0"));
+    Assertions.assertEquals(Optional.empty(), font.instrumentNamed("p0"));
+    Assertions.assertEquals(Optional.empty(), font.sampleNamed("EOS"));
+  }
+
+  /**
+   * 24-bit sample data written to an sm24 chunk is combined with the smpl data when read.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public final void testSampleData24Bit()
+    throws Exception
+  {
+    final var high = new short[]{0, 1, -1, 0x7fff, -0x8000, 0x1234};
+    final var low = new byte[]{0, 1, (byte) 0xff, 0x7f, (byte) 0x80, 0x56};
+
+    final var font_24 = this.parse(this.write24BitFont(NTVersion.of(2, 4), high, low));
+    final var frames_s0 = font_24.sampleNamed("s0").orElseThrow().dataFrames24();
+    Assertions.assertTrue(frames_s0.hasLowBytes());
+    Assertions.assertEquals(high.length, frames_s0.size());
+    for (var index = 0; index < high.length; ++index) {
+      Assertions.assertEquals(
+        ((int) high[index] << 8) | ((int) low[index] & 0xff),
+        frames_s0.get(index));
+    }
+
+    final var frames_s1 = font_24.sampleNamed("s1").orElseThrow().dataFrames24();
+    Assertions.assertTrue(frames_s1.hasLowBytes());
+    Assertions.assertArrayEquals(
+      new int[]{0x10000, 0x20000, 0x30000},
+      frames_s1.stream().toArray());
+
+    final var font_newer = this.parse(this.write24BitFont(NTVersion.of(3, 0), high, low));
+    Assertions.assertTrue(
+      font_newer.sampleNamed("s0").orElseThrow().dataFrames24().hasLowBytes());
+  }
+
+  /**
+   * The sm24 chunk is ignored in files older than 2.04, so 24-bit samples cannot be written into
+   * them.
+   *
+   * @throws Exception On errors
+   */
+
+  @Test
+  public final void testSampleData24BitOldVersionRejected()
+    throws Exception
+  {
+    final var high = new short[]{0, 1, -1};
+    final var low = new byte[]{0, 1, (byte) 0xff};
+
+    final var ex =
+      Assertions.assertThrows(
+        IllegalStateException.class,
+        () -> this.write24BitFont(NTVersion.of(2, 1), high, low));
+    this.logger.debug("exception: ", ex);
+  }
+
+  private Path write24BitFont(
+    final NTVersion version,
+    final short[] high,
+    final byte[] low)
+    throws Exception
+  {
+    final var path = NTTestDirectories.createTempFile("nt-writer-", ".sf2");
+    this.logger.debug("output: {}", path);
+
+    final var builder = this.builders.createBuilder();
+    builder.setInfo(
+      NTInfo.builder()
+        .setName(NTShortString.of("24-bit"))
+        .setVersion(version)
+        .build());
+
+    builder.addSample("s0")
+      .setSampleCount((long) high.length)
+      .setDataWriter(channel -> {
+        final var buffer = ByteBuffer.allocate(high.length * 2).order(LITTLE_ENDIAN);
+        for (final var value : high) {
+          buffer.putShort(value);
+        }
+        channel.write(buffer.flip());
+      })
+      .setLowByteDataWriter(channel -> channel.write(ByteBuffer.wrap(low)));
+
+    builder.addSample("s1")
+      .setSampleCount(3L)
+      .setDataWriter(channel -> {
+        channel.write(ByteBuffer.wrap(new byte[]{0, 1, 0, 2, 0, 3}));
+      });
+
+    final var description = builder.build();
+    try (var channel = FileChannel.open(path, CREATE, WRITE, TRUNCATE_EXISTING)) {
+      this.writers.createForChannel(path.toUri(), description, channel).write();
+    }
+    return path;
+  }
+
   private NTFontType parse(final Path path)
     throws IOException, NTParseException
   {
@@ -320,9 +320,43 @@ public final class NTBuilders implements NTBuilderProviderType
       return sample_descriptions;
     }
 
+    /*
+     * The sm24 chunk is ignored by readers unless the ifil version is at least 2.04, so writing
+     * low bytes into an older file would silently discard them on the next read.
+     */
+
+    private static void checkLowByteVersion(
+      final NTInfo info,
+      final TreeMap<NTSampleName, SampleBuilder> samples)
+    {
+      final var version = info.version();
+      if (version.major() > 2 || (version.major() == 2 && version.minor() >= 4)) {
+        return;
+      }
+
+      for (final var sample : samples.values()) {
+        if (sample.description.lowByteDataWriter().isPresent()) {
+          throw new IllegalStateException(
+            new StringBuilder(128)
+              .append("24-bit sample data requires a file version of at least 2.04.")
+              .append(System.lineSeparator())
+              .append("  Sample: ")
+              .append(sample.name().value())
+              .append(System.lineSeparator())
+              .append("  File version: ")
+              .append(version.major())
+              .append(".")
+              .append(version.minor())
+              .toString());
+        }
+      }
+    }
+
     @Override
     public NTWriterDescriptionType build()
     {
+      checkLowByteVersion(this.info, this.samples);
+
       final var sample_descriptions =
         buildSampleDescriptions(this.samples);
       final var instrument_descriptions =
@@ -860,5 +894,13 @@ public final class NTBuilders implements NTBuilderProviderType
       this.description = this.description.withDataWriter(writer);
       return this;
     }
+
+    @Override
+    public NTSampleBuilderType setLowByteDataWriter(
+      final NTSampleDataWriterType writer)
+    {
+      this.description = this.description.withLowByteDataWriter(writer);
+      return this;
+    }
   }
 }
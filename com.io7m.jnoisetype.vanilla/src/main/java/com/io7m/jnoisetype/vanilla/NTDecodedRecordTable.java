@@ -0,0 +1,65 @@
+/*
+ * Copyright © 2019 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jnoisetype.vanilla;
+
+import com.io7m.jnoisetype.api.NTSource;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A table of records that can be decoded into immutable record values. Records are decoded each
+ * time they are requested.
+ *
+ * @param <T> The type of decoded records
+ */
+
+abstract class NTDecodedRecordTable<T> extends NTRecordTable
+{
+  private final NTNameDecoder names;
+
+  NTDecodedRecordTable(
+    final NTSource in_source,
+    final NTSource in_data_source,
+    final ByteBuffer in_data,
+    final int in_record_size)
+  {
+    super(in_source, in_data_source, in_data, in_record_size);
+    this.names = NTNameDecoder.create(this.size());
+  }
+
+  protected final String readName(
+    final int index,
+    final int field_offset,
+    final int length)
+  {
+    return this.readName(this.names, index, field_offset, length);
+  }
+
+  protected abstract T decode(int index);
+
+  /**
+   * @param index The record index
+   *
+   * @return The decoded record
+   */
+
+  public final T record(
+    final int index)
+  {
+    return this.decode(index);
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2019 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jnoisetype.vanilla;
+
+import com.io7m.jnoisetype.parser.api.NTFileParserProviderType;
+import com.io7m.jnoisetype.parser.api.NTFileParserType;
+import com.io7m.jnoisetype.parser.api.NTFontLoaderProviderType;
+import com.io7m.jnoisetype.parser.api.NTFontLoaderType;
+import com.io7m.jnoisetype.vanilla.interpreter.NTInterpreters;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.util.Objects;
+
+/**
+ * The default font loader provider.
+ */
+
+public final class NTFontLoaders implements NTFontLoaderProviderType
+{
+  private final NTFileParserProviderType parsers;
+
+  /**
+   * Construct a provider using the default parsers.
+   */
+
+  public NTFontLoaders()
+  {
+    this(new NTParsersService());
+  }
+
+  private NTFontLoaders(
+    final NTFileParserProviderType in_parsers)
+  {
+    this.parsers = Objects.requireNonNull(in_parsers, "parsers");
+  }
+
+  /**
+   * Create a new loader provider.
+   *
+   * @param parsers The parser provider
+   *
+   * @return A new loader provider
+   */
+
+  public static NTFontLoaderProviderType create(
+    final NTFileParserProviderType parsers)
+  {
+    return new NTFontLoaders(parsers);
+  }
+
+  private static NTFontLoaderType loaderFor(
+    final NTFileParserType parser)
+  {
+    return () -> NTInterpreters.interpretFile(parser.parse());
+  }
+
+  @Override
+  public NTFontLoaderType createForByteBuffer(
+    final URI source,
+    final ByteBuffer data)
+  {
+    return loaderFor(this.parsers.createForByteBuffer(source, data));
+  }
+
+  @Override
+  public NTFontLoaderType createForChannel(
+    final URI source,
+    final SeekableByteChannel channel)
+  {
+    return loaderFor(this.parsers.createForChannel(source, channel));
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright © 2019 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jnoisetype.vanilla;
+
+import com.io7m.jnoisetype.api.NTInstrumentName;
+import com.io7m.jnoisetype.api.NTRanges;
+import com.io7m.jnoisetype.api.NTSource;
+import com.io7m.jnoisetype.parser.api.NTParsedInstrument;
+import com.io7m.jnoisetype.parser.api.NTParsedInstrumentTableType;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A table of {@code inst} records.
+ */
+
+final class NTInstrumentTable extends NTDecodedRecordTable<NTParsedInstrument>
+  implements NTParsedInstrumentTableType
+{
+  static final int RECORD_SIZE = 22;
+
+  private static final int NAME_LENGTH = NTRanges.INSTRUMENT_NAME_LENGTH_RANGE.upper();
+
+  NTInstrumentTable(
+    final NTSource in_source,
+    final NTSource in_data_source,
+    final ByteBuffer in_data)
+  {
+    super(in_source, in_data_source, in_data, RECORD_SIZE);
+  }
+
+  @Override
+  protected NTParsedInstrument decode(
+    final int index)
+  {
+    return NTParsedInstrument.builder()
+      .setSource(this.recordSource(index))
+      .setName(this.name(index))
+      .setInstrumentZoneIndex(this.instrumentZoneIndex(index))
+      .build();
+  }
+
+  @Override
+  public NTInstrumentName name(
+    final int index)
+  {
+    return NTInstrumentName.of(this.readName(index, 0, NAME_LENGTH));
+  }
+
+  @Override
+  public int instrumentZoneIndex(
+    final int index)
+  {
+    return this.readUnsigned16(index, 20);
+  }
+}
@@ -23,6 +23,7 @@ import com.io7m.jnoisetype.parser.api.NTParsedElementType;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.function.IntFunction;
 
 /**
  * Functions to check various SoundFontⓒ specification invariants.
@@ -110,6 +111,79 @@ public final class NTInvariants
       });
   }
 
+  /**
+   * Check that a named terminal record exists as the last record of a table. Only the last record
+   * is decoded.
+   *
+   * @param size                  The number of records in the table
+   * @param records               A function that decodes the record at a given index
+   * @param name                  The required terminal record name
+   * @param specification_section The specification section that documents the requirement
+   * @param source                The source information
+   * @param extra                 A function that can add extra diagnostic information to any
+   *                              exception raised
+   * @param <T>                   The type of input elements
+   *
+   * @return The terminal record
+   *
+   * @throws NTParseException If the table does not end with a terminal record
+   */
+
+  public static <T extends NTNamedType & NTParsedElementType> T checkNamedTerminalRecordExists(
+    final int size,
+    final IntFunction<T> records,
+    final String name,
+    final String specification_section,
+    final NTSource source,
+    final ExtraInformationType extra)
+    throws NTParseException
+  {
+    Objects.requireNonNull(records, "records");
+
+    final List<T> last;
+    if (size == 0) {
+      last = List.of();
+    } else {
+      last = List.of(records.apply(size - 1));
+    }
+    return checkNamedTerminalRecordExists(last, name, specification_section, source, extra);
+  }
+
+  /**
+   * Check that a named terminal record exists as the last record of a table. Only the last record
+   * is decoded.
+   *
+   * @param size                  The number of records in the table
+   * @param records               A function that decodes the record at a given index
+   * @param name                  The required terminal record name
+   * @param specification_section The specification section that documents the requirement
+   * @param source                The source information
+   * @param <T>                   The type of input elements
+   *
+   * @return The terminal record
+   *
+   * @throws NTParseException If the table does not end with a terminal record
+   */
+
+  public static <T extends NTNamedType & NTParsedElementType> T checkNamedTerminalRecordExists(
+    final int size,
+    final IntFunction<T> records,
+    final String name,
+    final String specification_section,
+    final NTSource source)
+    throws NTParseException
+  {
+    return checkNamedTerminalRecordExists(
+      size,
+      records,
+      name,
+      specification_section,
+      source,
+      message -> {
+
+      });
+  }
+
   /**
    * Check that an unnamed terminal record exists as the last element in the list of elements. This
    * is required in various places by the specification.
@@ -174,6 +248,67 @@ public final class NTInvariants
       });
   }
 
+  /**
+   * Check that an unnamed terminal record exists as the last element in a table of records. This
+   * is required in various places by the specification.
+   *
+   * @param size                  The number of records in the table
+   * @param specification_section The specification section that documents the requirement
+   * @param source                The source information
+   * @param extra                 A function that can add extra diagnostic information to any
+   *                              exception raised
+   *
+   * @return The index of the terminal record
+   *
+   * @throws NTParseException If the table does not contain a terminal record
+   */
+
+  public static int checkUnnamedTerminalRecordExists(
+    final int size,
+    final String specification_section,
+    final NTSource source,
+    final ExtraInformationType extra)
+    throws NTParseException
+  {
+    Objects.requireNonNull(specification_section, "specification section");
+    Objects.requireNonNull(source, "source");
+    Objects.requireNonNull(extra, "extra");
+
+    if (size <= 0) {
+      throw unnamedTerminalRecordRequired(source, extra);
+    }
+
+    return size - 1;
+  }
+
+  /**
+   * Check that an unnamed terminal record exists as the last element in a table of records. This
+   * is required in various places by the specification.
+   *
+   * @param size                  The number of records in the table
+   * @param specification_section The specification section that documents the requirement
+   * @param source                The source information
+   *
+   * @return The index of the terminal record
+   *
+   * @throws NTParseException If the table does not contain a terminal record
+   */
+
+  public static int checkUnnamedTerminalRecordExists(
+    final int size,
+    final String specification_section,
+    final NTSource source)
+    throws NTParseException
+  {
+    return checkUnnamedTerminalRecordExists(
+      size,
+      specification_section,
+      source,
+      message -> {
+
+      });
+  }
+
   private static <T extends NTNamedType & NTParsedElementType> NTParseException namedTerminalRecordRequired(
     final T element,
     final NTSource source,
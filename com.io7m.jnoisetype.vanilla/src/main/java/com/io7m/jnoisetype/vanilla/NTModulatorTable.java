@@ -0,0 +1,74 @@
+/*
+ * Copyright © 2019 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jnoisetype.vanilla;
+
+import com.io7m.jnoisetype.api.NTSource;
+import com.io7m.jnoisetype.parser.api.NTParsedModulatorTableType;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A table of {@code pmod} or {@code imod} records.
+ */
+
+final class NTModulatorTable extends NTRecordTable implements NTParsedModulatorTableType
+{
+  static final int RECORD_SIZE = 10;
+
+  NTModulatorTable(
+    final NTSource in_source,
+    final NTSource in_data_source,
+    final ByteBuffer in_data)
+  {
+    super(in_source, in_data_source, in_data, RECORD_SIZE);
+  }
+
+  @Override
+  public int sourceOperator(
+    final int index)
+  {
+    return this.readUnsigned16(index, 0);
+  }
+
+  @Override
+  public int targetOperator(
+    final int index)
+  {
+    return this.readUnsigned16(index, 2);
+  }
+
+  @Override
+  public short modulationAmount(
+    final int index)
+  {
+    return this.readSigned16(index, 4);
+  }
+
+  @Override
+  public int modulationAmountSourceOperator(
+    final int index)
+  {
+    return this.readUnsigned16(index, 6);
+  }
+
+  @Override
+  public int modulationTransformOperator(
+    final int index)
+  {
+    return this.readUnsigned16(index, 8);
+  }
+}
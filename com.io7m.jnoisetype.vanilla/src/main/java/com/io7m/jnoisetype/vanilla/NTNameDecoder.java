@@ -0,0 +1,180 @@
+/*
+ * Copyright © 2019 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jnoisetype.vanilla;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * A decoder of fixed-length ASCII names that deduplicates the strings it produces. The names of
+ * terminal records ("EOP", "EOI", "EOS") are always shared, and other names are remembered in a
+ * small hash-indexed table so that repeated names (such as the names of the left and right
+ * halves of stereo samples, or records that are decoded more than once) yield the same string
+ * instance. A name that is already known is decoded without allocating.
+ *
+ * The table is accessed without locking: slots hold references to immutable strings, and a slot
+ * that is lost to a racing update simply results in a string being decoded again.
+ */
+
+final class NTNameDecoder
+{
+  private static final List<String> TERMINAL_NAMES = List.of("EOP", "EOI", "EOS");
+  private static final int SLOTS_MAXIMUM = 1024;
+  private static final int SLOTS_MINIMUM = 16;
+  private static final char REPLACEMENT = '\uFFFD';
+
+  private final String[] slots;
+  private final int mask;
+
+  private NTNameDecoder(
+    final int capacity)
+  {
+    this.slots = new String[capacity];
+    this.mask = capacity - 1;
+  }
+
+  /**
+   * Create a decoder suitable for a table of the given number of records.
+   *
+   * @param records The number of records
+   *
+   * @return A new decoder
+   */
+
+  static NTNameDecoder create(
+    final int records)
+  {
+    final var bounded = Math.max(SLOTS_MINIMUM, Math.min(SLOTS_MAXIMUM, records));
+    return new NTNameDecoder(Integer.highestOneBit(bounded - 1) << 1);
+  }
+
+  /**
+   * Decode a string of at most {@code length} bytes, stopping at the first null byte. The
+   * entire field is used if there is no null byte.
+   *
+   * @param data   The data
+   * @param offset The absolute offset of the field
+   * @param length The length of the field
+   *
+   * @return The decoded string
+   */
+
+  static String decodeUntilNull(
+    final ByteBuffer data,
+    final int offset,
+    final int length)
+  {
+    return decodeNew(data, offset, terminatorOf(data, offset, length, length));
+  }
+
+  /**
+   * Decode a null-terminated name stored in a field of {@code length} bytes. For compatibility
+   * with earlier versions of the parser, a field that contains no null byte at all yields the
+   * empty string.
+   *
+   * @param data   The data
+   * @param offset The absolute offset of the field
+   * @param length The length of the field
+   *
+   * @return The decoded name
+   */
+
+  String decodeName(
+    final ByteBuffer data,
+    final int offset,
+    final int length)
+  {
+    final var count = terminatorOf(data, offset, length, 0);
+    if (count == 0) {
+      return "";
+    }
+
+    var hash = 0;
+    for (var index = 0; index < count; ++index) {
+      hash = 31 * hash + charOf(data.get(offset + index));
+    }
+
+    for (final var terminal : TERMINAL_NAMES) {
+      if (matches(terminal, hash, data, offset, count)) {
+        return terminal;
+      }
+    }
+
+    final var slot = (hash ^ (hash >>> 16)) & this.mask;
+    final var existing = this.slots[slot];
+    if (existing != null && matches(existing, hash, data, offset, count)) {
+      return existing;
+    }
+
+    final var result = decodeNew(data, offset, count);
+    this.slots[slot] = result;
+    return result;
+  }
+
+  private static int terminatorOf(
+    final ByteBuffer data,
+    final int offset,
+    final int length,
+    final int otherwise)
+  {
+    for (var index = 0; index < length; ++index) {
+      if (data.get(offset + index) == 0) {
+        return index;
+      }
+    }
+    return otherwise;
+  }
+
+  private static char charOf(
+    final byte value)
+  {
+    return value >= 0 ? (char) value : REPLACEMENT;
+  }
+
+  private static boolean matches(
+    final String name,
+    final int hash,
+    final ByteBuffer data,
+    final int offset,
+    final int count)
+  {
+    if (name.length() != count || name.hashCode() != hash) {
+      return false;
+    }
+    for (var index = 0; index < count; ++index) {
+      if (name.charAt(index) != charOf(data.get(offset + index))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static String decodeNew(
+    final ByteBuffer data,
+    final int offset,
+    final int count)
+  {
+    final var bytes = new byte[count];
+    data.get(offset, bytes);
+    // CHECKSTYLE:OFF
+    return new String(bytes, US_ASCII);
+    // CHECKSTYLE:ON
+  }
+}
@@ -0,0 +1,509 @@
+/*
+ * Copyright © 2019 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jnoisetype.vanilla;
+
+import com.io7m.jnoisetype.api.NTInfo;
+import com.io7m.jnoisetype.api.NTLongString;
+import com.io7m.jnoisetype.api.NTShortString;
+import com.io7m.jnoisetype.api.NTSource;
+import com.io7m.jnoisetype.api.NTVersion;
+import com.io7m.jnoisetype.parser.api.NTFileParserProviderType;
+import com.io7m.jnoisetype.parser.api.NTParseException;
+import com.io7m.jnoisetype.parser.api.NTParsedFile;
+import com.io7m.jranges.RangeHalfOpenL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * A persistent cache of parsed files.
+ *
+ * When a file is parsed for the first time, the validated contents of its {@code INFO} and
+ * {@code pdta} chunks are written to a snapshot in the cache directory. Subsequent requests for
+ * the same file memory-map the snapshot and construct the hydra tables directly over the mapped
+ * data, without walking the RIFF structure of the file and without decoding or validating any
+ * records. A snapshot is used only if the size, modification time, and a fingerprint of the file
+ * (a checksum of its first and last {@value #FINGERPRINT_SPAN} bytes) match the values recorded
+ * when the snapshot was written, and if the snapshot itself is intact. Otherwise, the file is
+ * parsed again and the snapshot is replaced.
+ *
+ * Snapshots are written atomically, so a cache directory may be shared between threads and
+ * processes. Failing to read or write a snapshot is never an error; the file is simply parsed.
+ */
+
+public final class NTParseCache
+{
+  private static final Logger LOG = LoggerFactory.getLogger(NTParseCache.class);
+
+  private static final int MAGIC = 0x4e545043;
+  private static final int VERSION = 2;
+  private static final int HEADER_SIZE = 40;
+  private static final int FINGERPRINT_SPAN = 65536;
+  private static final String SUFFIX = ".ntc";
+
+  private final NTFileParserProviderType parsers;
+  private final Path directory;
+
+  private NTParseCache(
+    final NTFileParserProviderType in_parsers,
+    final Path in_directory)
+  {
+    this.parsers = Objects.requireNonNull(in_parsers, "parsers");
+    this.directory = Objects.requireNonNull(in_directory, "directory");
+  }
+
+  /**
+   * Create a new cache. The directory is created if it does not exist.
+   *
+   * @param parsers   The parsers used to parse files that are not present in the cache
+   * @param directory The directory that holds snapshots
+   *
+   * @return A new cache
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public static NTParseCache create(
+    final NTFileParserProviderType parsers,
+    final Path directory)
+    throws IOException
+  {
+    Files.createDirectories(directory);
+    return new NTParseCache(parsers, directory.toAbsolutePath());
+  }
+
+  /**
+   * Parse the given file, using a snapshot from the cache if one is available. The result is
+   * equal to the result of parsing the file with
+   * {@link NTFileParserProviderType#createForChannel(URI, java.nio.channels.SeekableByteChannel)}
+   * using the URI of {@code file}. As with that method, the channel is not closed and must remain
+   * open for as long as sample data is required.
+   *
+   * @param file    The path of the file
+   * @param channel A channel opened for reading {@code file}
+   *
+   * @return The parsed file
+   *
+   * @throws NTParseException On parse errors
+   */
+
+  public NTParsedFile parse(
+    final Path file,
+    final FileChannel channel)
+    throws NTParseException
+  {
+    Objects.requireNonNull(file, "file");
+    Objects.requireNonNull(channel, "channel");
+
+    final var source = file.toUri();
+    final Key key;
+    try {
+      key = keyOf(file, channel);
+    } catch (final IOException e) {
+      throw new NTParseException(e, source, 0L);
+    }
+
+    final var snapshot = this.snapshotOf(file);
+    try {
+      final var cached = load(snapshot, key, source, channel);
+      if (cached.isPresent()) {
+        LOG.debug("cache hit: {} ({})", file, snapshot);
+        return cached.get();
+      }
+    } catch (final IOException | RuntimeException e) {
+      LOG.debug("unusable snapshot {}: ", snapshot, e);
+    }
+
+    LOG.debug("cache miss: {} ({})", file, snapshot);
+    final var parsed = this.parsers.createForChannel(source, channel).parse();
+    try {
+      this.save(snapshot, key, parsed);
+    } catch (final IOException e) {
+      LOG.warn("unable to write snapshot {}: ", snapshot, e);
+    }
+    return parsed;
+  }
+
+  private Path snapshotOf(
+    final Path file)
+  {
+    final var name = file.toAbsolutePath().normalize().toString();
+    return this.directory.resolve(UUID.nameUUIDFromBytes(name.getBytes(UTF_8)) + SUFFIX);
+  }
+
+  private static Key keyOf(
+    final Path file,
+    final FileChannel channel)
+    throws IOException
+  {
+    final var size = channel.size();
+    final var time = Files.getLastModifiedTime(file).toMillis();
+
+    final var crc = new CRC32C();
+    final var head = Math.min(size, FINGERPRINT_SPAN);
+    crc.update(readFully(channel, 0L, (int) head));
+    final var tail_start = Math.max(head, size - FINGERPRINT_SPAN);
+    crc.update(readFully(channel, tail_start, (int) (size - tail_start)));
+    return new Key(size, time, crc.getValue());
+  }
+
+  private static ByteBuffer readFully(
+    final FileChannel channel,
+    final long offset,
+    final int size)
+    throws IOException
+  {
+    final var buffer = ByteBuffer.allocate(size);
+    while (buffer.hasRemaining()) {
+      final var position = offset + buffer.position();
+      if (channel.read(buffer, position) == -1) {
+        throw new IOException("Unexpected end of file at offset " + position);
+      }
+    }
+    return buffer.flip();
+  }
+
+  private static Optional<NTParsedFile> load(
+    final Path snapshot,
+    final Key key,
+    final URI source,
+    final FileChannel channel)
+    throws IOException
+  {
+    final ByteBuffer map;
+    try (var snapshot_channel = FileChannel.open(snapshot, READ)) {
+      map = snapshot_channel.map(READ_ONLY, 0L, snapshot_channel.size());
+    } catch (final NoSuchFileException e) {
+      return Optional.empty();
+    }
+
+    if (map.limit() < HEADER_SIZE
+      || map.getInt(0) != MAGIC
+      || map.getInt(4) != VERSION
+      || !key.equals(new Key(map.getLong(8), map.getLong(16), map.getLong(24)))) {
+      return Optional.empty();
+    }
+
+    final var crc = new CRC32C();
+    crc.update(map.slice(HEADER_SIZE, map.limit() - HEADER_SIZE));
+    if (crc.getValue() != map.getLong(32)) {
+      return Optional.empty();
+    }
+
+    try {
+      return Optional.of(new SnapshotReader(map, source).read(channel));
+    } catch (final BufferUnderflowException | IndexOutOfBoundsException e) {
+      throw new IOException("Truncated snapshot " + snapshot, e);
+    }
+  }
+
+  private void save(
+    final Path snapshot,
+    final Key key,
+    final NTParsedFile file)
+    throws IOException
+  {
+    if (!(file.sampleData() instanceof NTParsers.SampleDataSource)) {
+      return;
+    }
+    final var sample_data = (NTParsers.SampleDataSource) file.sampleData();
+
+    final List<Object> tables = List.of(
+      file.presetTable(),
+      file.presetZoneTable(),
+      file.presetZoneModulatorTable(),
+      file.presetZoneGeneratorTable(),
+      file.instrumentTable(),
+      file.instrumentZoneTable(),
+      file.instrumentZoneModulatorTable(),
+      file.instrumentZoneGeneratorTable(),
+      file.sampleTable());
+
+    for (final var table : tables) {
+      if (!(table instanceof NTRecordTable)) {
+        return;
+      }
+    }
+
+    final var bytes = new ByteArrayOutputStream(4096);
+    try (var output = new DataOutputStream(bytes)) {
+      output.writeByte(sample_data.order() == ByteOrder.BIG_ENDIAN ? 1 : 0);
+      output.writeLong(sample_data.smplRange().lower());
+      output.writeLong(sample_data.smplRange().upper());
+      output.writeBoolean(sample_data.sm24Range().isPresent());
+      if (sample_data.sm24Range().isPresent()) {
+        output.writeLong(sample_data.sm24Range().get().lower());
+        output.writeLong(sample_data.sm24Range().get().upper());
+      }
+      output.writeLong(((NTSampleTable) file.sampleTable()).smplOffset());
+      writeInfo(output, file.info());
+
+      for (final var table_object : tables) {
+        final var table = (NTRecordTable) table_object;
+        final var records = table.records();
+        output.writeLong(table.source().offset());
+        output.writeLong(table.dataSource().offset());
+        output.writeInt(records.remaining());
+        final var record_bytes = new byte[records.remaining()];
+        records.get(0, record_bytes);
+        output.write(record_bytes);
+      }
+    }
+
+    final var body = bytes.toByteArray();
+    final var crc = new CRC32C();
+    crc.update(body);
+
+    final var header = ByteBuffer.allocate(HEADER_SIZE);
+    header.putInt(MAGIC);
+    header.putInt(VERSION);
+    header.putLong(key.size);
+    header.putLong(key.time);
+    header.putLong(key.fingerprint);
+    header.putLong(crc.getValue());
+
+    final var temporary = Files.createTempFile(this.directory, "snapshot", ".tmp");
+    try {
+      try (var output = Files.newOutputStream(temporary)) {
+        output.write(header.array());
+        output.write(body);
+      }
+      Files.move(temporary, snapshot, ATOMIC_MOVE, REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  private static void writeInfo(
+    final DataOutputStream output,
+    final NTInfo info)
+    throws IOException
+  {
+    output.writeInt(info.version().major());
+    output.writeInt(info.version().minor());
+    writeString(output, info.soundEngine().value());
+    writeString(output, info.name().value());
+    writeOptional(output, info.rom().map(NTShortString::value));
+    output.writeBoolean(info.romRevision().isPresent());
+    if (info.romRevision().isPresent()) {
+      output.writeInt(info.romRevision().get().major());
+      output.writeInt(info.romRevision().get().minor());
+    }
+    writeOptional(output, info.creationDate().map(NTShortString::value));
+    writeOptional(output, info.engineers().map(NTShortString::value));
+    writeOptional(output, info.product().map(NTShortString::value));
+    writeOptional(output, info.copyright().map(NTShortString::value));
+    writeOptional(output, info.comment().map(NTLongString::value));
+    writeOptional(output, info.software().map(NTShortString::value));
+  }
+
+  private static void writeOptional(
+    final DataOutputStream output,
+    final Optional<String> text)
+    throws IOException
+  {
+    output.writeBoolean(text.isPresent());
+    if (text.isPresent()) {
+      writeString(output, text.get());
+    }
+  }
+
+  private static void writeString(
+    final DataOutputStream output,
+    final String text)
+    throws IOException
+  {
+    final var bytes = text.getBytes(UTF_8);
+    output.writeInt(bytes.length);
+    output.write(bytes);
+  }
+
+  private static final class Key
+  {
+    private final long size;
+    private final long time;
+    private final long fingerprint;
+
+    Key(
+      final long in_size,
+      final long in_time,
+      final long in_fingerprint)
+    {
+      this.size = in_size;
+      this.time = in_time;
+      this.fingerprint = in_fingerprint;
+    }
+
+    @Override
+    public boolean equals(final Object o)
+    {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || !Objects.equals(this.getClass(), o.getClass())) {
+        return false;
+      }
+      final var other = (Key) o;
+      return this.size == other.size
+        && this.time == other.time
+        && this.fingerprint == other.fingerprint;
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return Objects.hash(
+        Long.valueOf(this.size),
+        Long.valueOf(this.time),
+        Long.valueOf(this.fingerprint));
+    }
+  }
+
+  private static final class SnapshotReader
+  {
+    private final ByteBuffer map;
+    private final URI source;
+    private ByteOrder order;
+
+    SnapshotReader(
+      final ByteBuffer in_map,
+      final URI in_source)
+    {
+      this.map = Objects.requireNonNull(in_map, "map").position(HEADER_SIZE);
+      this.source = Objects.requireNonNull(in_source, "source");
+      this.order = ByteOrder.LITTLE_ENDIAN;
+    }
+
+    NTParsedFile read(
+      final FileChannel channel)
+    {
+      this.order = this.map.get() == 1 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+      final var smpl_range = RangeHalfOpenL.of(this.map.getLong(), this.map.getLong());
+      final Optional<RangeHalfOpenL> sm24_range;
+      if (this.map.get() != 0) {
+        sm24_range = Optional.of(RangeHalfOpenL.of(this.map.getLong(), this.map.getLong()));
+      } else {
+        sm24_range = Optional.empty();
+      }
+      final var smpl_offset = this.map.getLong();
+      final var info = this.readInfo();
+
+      return NTParsedFile.builder()
+        .setInfo(info)
+        .setPresetTable(new NTPresetTable(this.source(), this.source(), this.records()))
+        .setPresetZoneTable(this.readZoneTable())
+        .setPresetZoneModulatorTable(this.readModulatorTable())
+        .setPresetZoneGeneratorTable(this.readGeneratorTable())
+        .setInstrumentTable(new NTInstrumentTable(this.source(), this.source(), this.records()))
+        .setInstrumentZoneTable(this.readZoneTable())
+        .setInstrumentZoneModulatorTable(this.readModulatorTable())
+        .setInstrumentZoneGeneratorTable(this.readGeneratorTable())
+        .setSampleTable(
+          new NTSampleTable(this.source(), this.source(), this.records(), smpl_offset))
+        .setSampleData(
+          NTParsers.sampleDataForChannel(channel, this.order, smpl_range, sm24_range))
+        .build();
+    }
+
+    private NTZoneTable readZoneTable()
+    {
+      return new NTZoneTable(this.source(), this.source(), this.records());
+    }
+
+    private NTModulatorTable readModulatorTable()
+    {
+      return new NTModulatorTable(this.source(), this.source(), this.records());
+    }
+
+    private NTGeneratorTable readGeneratorTable()
+    {
+      return new NTGeneratorTable(this.source(), this.source(), this.records());
+    }
+
+    private NTSource source()
+    {
+      return NTSource.of(this.source, this.map.getLong());
+    }
+
+    private ByteBuffer records()
+    {
+      final var size = this.map.getInt();
+      final var records = this.map.slice(this.map.position(), size).order(this.order);
+      this.map.position(this.map.position() + size);
+      return records;
+    }
+
+    private NTInfo readInfo()
+    {
+      final var builder = NTInfo.builder();
+      builder.setVersion(NTVersion.of(this.map.getInt(), this.map.getInt()));
+      builder.setSoundEngine(NTShortString.of(this.readString()));
+      builder.setName(NTShortString.of(this.readString()));
+      builder.setRom(this.readOptional().map(NTShortString::of));
+      if (this.map.get() != 0) {
+        builder.setRomRevision(NTVersion.of(this.map.getInt(), this.map.getInt()));
+      }
+      builder.setCreationDate(this.readOptional().map(NTShortString::of));
+      builder.setEngineers(this.readOptional().map(NTShortString::of));
+      builder.setProduct(this.readOptional().map(NTShortString::of));
+      builder.setCopyright(this.readOptional().map(NTShortString::of));
+      builder.setComment(this.readOptional().map(NTLongString::of));
+      builder.setSoftware(this.readOptional().map(NTShortString::of));
+      return builder.build();
+    }
+
+    private Optional<String> readOptional()
+    {
+      if (this.map.get() != 0) {
+        return Optional.of(this.readString());
+      }
+      return Optional.empty();
+    }
+
+    private String readString()
+    {
+      final var bytes = new byte[this.map.getInt()];
+      this.map.get(bytes);
+      // CHECKSTYLE:OFF
+      return new String(bytes, UTF_8);
+      // CHECKSTYLE:ON
+    }
+  }
+}
@@ -17,32 +17,20 @@
 package com.io7m.jnoisetype.vanilla;
 
 import com.io7m.jaffirm.core.Preconditions;
-import com.io7m.jnoisetype.api.NTGenericAmount;
+import com.io7m.jnoisetype.api.NTBankIndex;
 import com.io7m.jnoisetype.api.NTInfo;
-import com.io7m.jnoisetype.api.NTInstrumentName;
 import com.io7m.jnoisetype.api.NTLongString;
-import com.io7m.jnoisetype.api.NTPitch;
-import com.io7m.jnoisetype.api.NTPresetName;
-import com.io7m.jnoisetype.api.NTRanges;
-import com.io7m.jnoisetype.api.NTSampleDescription;
-import com.io7m.jnoisetype.api.NTSampleKind;
-import com.io7m.jnoisetype.api.NTSampleName;
+import com.io7m.jnoisetype.api.NTPresetIndex;
 import com.io7m.jnoisetype.api.NTShortString;
 import com.io7m.jnoisetype.api.NTSource;
 import com.io7m.jnoisetype.api.NTVersion;
+import com.io7m.jnoisetype.parser.api.NTCatalog;
+import com.io7m.jnoisetype.parser.api.NTCatalogPreset;
 import com.io7m.jnoisetype.parser.api.NTFileParserProviderType;
 import com.io7m.jnoisetype.parser.api.NTFileParserType;
 import com.io7m.jnoisetype.parser.api.NTParseException;
 import com.io7m.jnoisetype.parser.api.NTParsedFile;
-import com.io7m.jnoisetype.parser.api.NTParsedInstrument;
-import com.io7m.jnoisetype.parser.api.NTParsedInstrumentZone;
-import com.io7m.jnoisetype.parser.api.NTParsedInstrumentZoneGenerator;
-import com.io7m.jnoisetype.parser.api.NTParsedInstrumentZoneModulator;
-import com.io7m.jnoisetype.parser.api.NTParsedPreset;
-import com.io7m.jnoisetype.parser.api.NTParsedPresetZone;
-import com.io7m.jnoisetype.parser.api.NTParsedPresetZoneGenerator;
-import com.io7m.jnoisetype.parser.api.NTParsedPresetZoneModulator;
-import com.io7m.jnoisetype.parser.api.NTParsedSample;
+import com.io7m.jnoisetype.parser.api.NTSampleDataSourceType;
 import com.io7m.jranges.RangeCheckException;
 import com.io7m.jranges.RangeHalfOpenL;
 import com.io7m.jspiel.api.RiffChunkType;
@@ -53,13 +41,20 @@ import com.io7m.jspiel.api.RiffRequiredChunkMissingException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.net.URI;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.util.ArrayList;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
-import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
 
 /**
  * The default parser provider.
@@ -95,37 +90,392 @@ public final class NTParsers implements NTFileParserProviderType
   public NTFileParserType createForByteBuffer(
     final URI source,
     final ByteBuffer data)
+  {
+    return this.parserForByteBuffer(source, data);
+  }
+
+  @Override
+  public NTFileParserType createForChannel(
+    final URI source,
+    final SeekableByteChannel channel)
+  {
+    return parserForChannel(source, channel);
+  }
+
+  @Override
+  public NTCatalog catalogForByteBuffer(
+    final URI source,
+    final ByteBuffer data)
+    throws NTParseException
+  {
+    return this.parserForByteBuffer(source, data).parseCatalog();
+  }
+
+  @Override
+  public NTCatalog catalogForChannel(
+    final URI source,
+    final SeekableByteChannel channel)
+    throws NTParseException
+  {
+    return parserForChannel(source, channel).parseCatalog();
+  }
+
+  private Parser parserForByteBuffer(
+    final URI source,
+    final ByteBuffer data)
   {
     Objects.requireNonNull(source, "source");
     Objects.requireNonNull(data, "data");
 
-    return new Parser(this.parsers.createForByteBuffer(source, data), source, data);
+    return new Parser(
+      this.parsers.createForByteBuffer(source, data),
+      source,
+      new ByteBufferDataSource(data));
+  }
+
+  private static Parser parserForChannel(
+    final URI source,
+    final SeekableByteChannel channel)
+  {
+    Objects.requireNonNull(source, "source");
+    Objects.requireNonNull(channel, "channel");
+
+    return new Parser(new NTRiffChannelParser(source, channel), source, dataSourceFor(channel));
   }
 
-  private static final class SourceAndData<T>
+  private static DataSourceType dataSourceFor(
+    final SeekableByteChannel channel)
   {
-    private final NTSource source;
-    private final T data;
+    if (channel instanceof FileChannel) {
+      return new MappedDataSource((FileChannel) channel);
+    }
+    return new ChannelDataSource(channel);
+  }
 
-    private SourceAndData(
-      final NTSource in_source,
-      final T in_data)
+  /**
+   * Create a source of sample data for a file that has previously been parsed.
+   *
+   * @param channel    The channel from which the file was parsed
+   * @param order      The byte order of the file
+   * @param smpl_range The range of the data of the {@code smpl} chunk
+   * @param sm24_range The range of the data of the {@code sm24} chunk, if the chunk is usable
+   *
+   * @return A sample data source
+   */
+
+  static SampleDataSource sampleDataForChannel(
+    final SeekableByteChannel channel,
+    final ByteOrder order,
+    final RangeHalfOpenL smpl_range,
+    final Optional<RangeHalfOpenL> sm24_range)
+  {
+    return new SampleDataSource(dataSourceFor(channel), order, smpl_range, sm24_range);
+  }
+
+  /**
+   * A source of file data.
+   */
+
+  private interface DataSourceType
+  {
+    /**
+     * Retrieve a view of the given region of the file. The returned buffer's position is {@code 0}
+     * and its limit is {@code size}.
+     *
+     * @param offset The absolute offset of the region
+     * @param size   The size of the region
+     *
+     * @return The region data
+     *
+     * @throws IOException On I/O errors
+     */
+
+    ByteBuffer region(
+      long offset,
+      long size)
+      throws IOException;
+  }
+
+  private static final class ByteBufferDataSource implements DataSourceType
+  {
+    private final ByteBuffer data;
+
+    ByteBufferDataSource(
+      final ByteBuffer in_data)
     {
-      this.source = Objects.requireNonNull(in_source, "source");
       this.data = Objects.requireNonNull(in_data, "data");
     }
+
+    @Override
+    public ByteBuffer region(
+      final long offset,
+      final long size)
+    {
+      return this.data.slice(Math.toIntExact(offset), Math.toIntExact(size));
+    }
+  }
+
+  /**
+   * A data source that maps regions of a file channel. If the file is small enough to be mapped
+   * by a single buffer, the whole file is mapped once and all regions are slices of that mapping.
+   * Otherwise, the file is divided into windows that start at multiples of
+   * {@value #WINDOW_STRIDE} bytes, each at most {@link Integer#MAX_VALUE} bytes long. Because
+   * windows overlap by at least {@value #WINDOW_STRIDE} bytes, any region no larger than that lies
+   * entirely within the window in which it starts and is returned as a slice of that window.
+   *
+   * All mappings are established on the first access, which happens while the file is being
+   * parsed. A mapping remains valid after the channel that created it is closed, so the sample
+   * data of a parsed file remains accessible after the channel is closed. Only regions larger
+   * than a window stride, which no realistic sample approaches, are mapped individually and
+   * therefore require the channel to remain open.
+   */
+
+  private static final class MappedDataSource implements DataSourceType
+  {
+    private static final long WINDOW_STRIDE = 1L << 30;
+
+    private final FileChannel channel;
+    private ByteBuffer whole;
+    private ByteBuffer[] windows;
+    private boolean mapped;
+
+    MappedDataSource(
+      final FileChannel in_channel)
+    {
+      this.channel = Objects.requireNonNull(in_channel, "channel");
+    }
+
+    private synchronized void map()
+      throws IOException
+    {
+      if (!this.mapped) {
+        final var file_size = this.channel.size();
+        if (file_size <= (long) Integer.MAX_VALUE) {
+          this.whole = this.channel.map(READ_ONLY, 0L, file_size);
+        } else {
+          final var count = Math.toIntExact((file_size + WINDOW_STRIDE - 1L) / WINDOW_STRIDE);
+          final var mapped_windows = new ByteBuffer[count];
+          for (int window_index = 0; window_index < count; ++window_index) {
+            final var start = (long) window_index * WINDOW_STRIDE;
+            final var length = Math.min((long) Integer.MAX_VALUE, file_size - start);
+            mapped_windows[window_index] = this.channel.map(READ_ONLY, start, length);
+          }
+          this.windows = mapped_windows;
+        }
+        this.mapped = true;
+      }
+    }
+
+    @Override
+    public ByteBuffer region(
+      final long offset,
+      final long size)
+      throws IOException
+    {
+      this.map();
+
+      if (this.whole != null) {
+        return this.whole.slice(Math.toIntExact(offset), Math.toIntExact(size));
+      }
+
+      if (size <= WINDOW_STRIDE) {
+        final var index = (int) (offset / WINDOW_STRIDE);
+        final var relative = offset - (long) index * WINDOW_STRIDE;
+        return this.windows[index].slice(Math.toIntExact(relative), Math.toIntExact(size));
+      }
+
+      if (size > (long) Integer.MAX_VALUE) {
+        throw new IOException(
+          new StringBuilder(64)
+            .append("Region too large to be mapped")
+            .append(System.lineSeparator())
+            .append("  Size: ")
+            .append(Long.toUnsignedString(size))
+            .append(System.lineSeparator())
+            .toString());
+      }
+      return this.channel.map(READ_ONLY, offset, size);
+    }
+  }
+
+  private static final class ChannelDataSource implements DataSourceType
+  {
+    private final SeekableByteChannel channel;
+
+    ChannelDataSource(
+      final SeekableByteChannel in_channel)
+    {
+      this.channel = Objects.requireNonNull(in_channel, "channel");
+    }
+
+    @Override
+    public synchronized ByteBuffer region(
+      final long offset,
+      final long size)
+      throws IOException
+    {
+      final var view = ByteBuffer.allocate(Math.toIntExact(size));
+
+      this.channel.position(offset);
+      while (view.hasRemaining()) {
+        if (this.channel.read(view) == -1) {
+          throw new IOException(
+            "Unexpected end of channel reading at offset 0x" + Long.toUnsignedString(offset, 16));
+        }
+      }
+      return view.flip();
+    }
+  }
+
+  /**
+   * Sample data exposed as views of the {@code smpl} and (optional) {@code sm24} chunks.
+   */
+
+  static final class SampleDataSource implements NTSampleDataSourceType
+  {
+    private final DataSourceType data;
+    private final ByteOrder order;
+    private final RangeHalfOpenL smpl_range;
+    private final Optional<RangeHalfOpenL> sm24_range;
+
+    SampleDataSource(
+      final DataSourceType in_data,
+      final ByteOrder in_order,
+      final RangeHalfOpenL in_smpl_range,
+      final Optional<RangeHalfOpenL> in_sm24_range)
+    {
+      this.data = Objects.requireNonNull(in_data, "data");
+      this.order = Objects.requireNonNull(in_order, "order");
+      this.smpl_range = Objects.requireNonNull(in_smpl_range, "smpl_range");
+      this.sm24_range = Objects.requireNonNull(in_sm24_range, "sm24_range");
+    }
+
+    Optional<RangeHalfOpenL> sm24Range()
+    {
+      return this.sm24_range;
+    }
+
+    ByteOrder order()
+    {
+      return this.order;
+    }
+
+    RangeHalfOpenL smplRange()
+    {
+      return this.smpl_range;
+    }
+
+    @Override
+    public ByteBuffer bytes(
+      final RangeHalfOpenL range)
+      throws IOException
+    {
+      Objects.requireNonNull(range, "range");
+
+      final var size = range.interval();
+      if (size == 0L) {
+        return ByteBuffer.allocate(0).asReadOnlyBuffer().order(this.order);
+      }
+
+      this.checkSmplRange(range);
+      return this.data.region(range.lower(), size)
+        .asReadOnlyBuffer()
+        .order(this.order);
+    }
+
+    @Override
+    public Optional<ByteBuffer> lowBytes(
+      final RangeHalfOpenL range)
+      throws IOException
+    {
+      Objects.requireNonNull(range, "range");
+
+      if (this.sm24_range.isEmpty()) {
+        return Optional.empty();
+      }
+
+      final var size = range.interval() / 2L;
+      if (size == 0L) {
+        return Optional.of(ByteBuffer.allocate(0).asReadOnlyBuffer().order(this.order));
+      }
+
+      this.checkSmplRange(range);
+
+      /*
+       * Each 16-bit value in the smpl chunk has a corresponding 8-bit value in the sm24 chunk.
+       */
+
+      final var sm24 = this.sm24_range.get();
+      final var offset =
+        Math.addExact(sm24.lower(), (range.lower() - this.smpl_range.lower()) / 2L);
+
+      return Optional.of(
+        this.data.region(offset, size)
+          .asReadOnlyBuffer()
+          .order(this.order));
+    }
+
+    private void checkSmplRange(
+      final RangeHalfOpenL range)
+      throws IOException
+    {
+      if (range.lower() < this.smpl_range.lower() || range.upper() > this.smpl_range.upper()) {
+        final var separator = System.lineSeparator();
+        throw new IOException(
+          new StringBuilder(128)
+            .append("Sample data range lies outside of the smpl chunk")
+            .append(separator)
+            .append("  Range: ")
+            .append(range)
+            .append(separator)
+            .append("  smpl chunk data: ")
+            .append(this.smpl_range)
+            .append(separator)
+            .toString());
+      }
+    }
+  }
+
+  /**
+   * A procedure executed for each record in a table.
+   */
+
+  private interface RecordProcedureType
+  {
+    void execute(int index)
+      throws NTParseException;
+  }
+
+  /**
+   * A function that parses a single hydra sub-chunk.
+   *
+   * @param <T> The type of parsed tables
+   */
+
+  private interface ChunkParserType<T>
+  {
+    T parse()
+      throws NTParseException;
   }
 
   private static final class Parser implements NTFileParserType
   {
+    /**
+     * The number of records processed by each task during parallel parsing.
+     */
+
+    private static final int RECORDS_PER_TASK = 512;
+
     private final RiffFileParserType parser;
     private final URI source;
-    private final ByteBuffer data;
+    private final DataSourceType data;
+    private ByteOrder order;
+    private Optional<Executor> executor;
 
     Parser(
       final RiffFileParserType in_parser,
       final URI in_source,
-      final ByteBuffer in_data)
+      final DataSourceType in_data)
     {
       this.parser =
         Objects.requireNonNull(in_parser, "parser");
@@ -133,6 +483,8 @@ public final class NTParsers implements NTFileParserProviderType
         Objects.requireNonNull(in_source, "source");
       this.data =
         Objects.requireNonNull(in_data, "data");
+      this.order = ByteOrder.LITTLE_ENDIAN;
+      this.executor = Optional.empty();
     }
 
     private static void describeChunk(
@@ -151,87 +503,159 @@ public final class NTParsers implements NTFileParserProviderType
         .append(separator);
     }
 
-    private static ByteBuffer makeChunkDataView(
-      final ByteBuffer data,
+    private ByteBuffer makeChunkDataView(
       final RiffChunkType chunk)
+      throws NTParseException
     {
-      final var view = data.duplicate();
-      view.position(Math.toIntExact(chunk.dataOffset()));
-      view.limit(Math.toIntExact(
-        Math.addExact(
-          chunk.dataOffset(),
-          chunk.dataSizeIncludingForm().size())));
-      view.order(data.order());
-      return view;
+      try {
+        return this.data.region(chunk.dataOffset(), chunk.dataSizeIncludingForm().size())
+          .order(this.order);
+      } catch (final IOException e) {
+        throw new NTParseException(e, this.source, chunk.offset());
+      }
     }
 
-    private static String newString(
-      final byte[] name,
-      final int offset_null)
+    private NTSource sourceOf(
+      final RiffChunkType chunk,
+      final int position)
     {
-      // CHECKSTYLE:OFF
-      return new String(name, 0, offset_null, US_ASCII);
-      // CHECKSTYLE:ON
+      return NTSource.of(this.source, Math.addExact(chunk.dataOffset(), position));
     }
 
-    private static NTSampleName readSampleName(
-      final ByteBuffer view)
+    @Override
+    public NTParsedFile parse()
+      throws NTParseException
     {
-      final var name = new byte[NTRanges.SAMPLE_NAME_LENGTH_RANGE.upper()];
-      view.get(name);
+      this.executor = Optional.empty();
+      return this.parseFile();
+    }
 
-      final var offset_null = findNull(name);
-      return NTSampleName.of(newString(name, offset_null));
+    @Override
+    public NTParsedFile parse(
+      final Executor in_executor)
+      throws NTParseException
+    {
+      this.executor = Optional.of(Objects.requireNonNull(in_executor, "executor"));
+      return this.parseFile();
     }
 
-    private static NTPresetName readPresetName(
-      final ByteBuffer view)
+    /**
+     * Execute the given procedure for every record in a table. If an executor has been provided,
+     * the records are split into ranges that are processed concurrently. Errors are always
+     * reported for the lowest failing record index, exactly as if the records had been processed
+     * sequentially.
+     */
+
+    private void forEachRecord(
+      final int size,
+      final RecordProcedureType procedure)
+      throws NTParseException
     {
-      final var name = new byte[NTRanges.PRESET_NAME_LENGTH_RANGE.upper()];
-      view.get(name);
+      if (this.executor.isEmpty() || size <= RECORDS_PER_TASK) {
+        for (var index = 0; index < size; ++index) {
+          procedure.execute(index);
+        }
+        return;
+      }
 
-      final var offset_null = findNull(name);
-      return NTPresetName.of(newString(name, offset_null));
+      final var exec = this.executor.get();
+      final var tasks = new ArrayList<CompletableFuture<NTParseException>>(
+        (size / RECORDS_PER_TASK) + 1);
+
+      for (var lower = 0; lower < size; lower += RECORDS_PER_TASK) {
+        final var task_lower = lower;
+        final var task_upper = Math.min(size, lower + RECORDS_PER_TASK);
+        tasks.add(CompletableFuture.supplyAsync(
+          () -> runRecordRange(procedure, task_lower, task_upper), exec));
+      }
+
+      for (final var task : tasks) {
+        final var error = joinRecordTask(task);
+        if (error != null) {
+          throw error;
+        }
+      }
     }
 
-    private static NTInstrumentName readInstrumentName(
-      final ByteBuffer view)
+    private static NTParseException runRecordRange(
+      final RecordProcedureType procedure,
+      final int lower,
+      final int upper)
     {
-      final var name = new byte[NTRanges.INSTRUMENT_NAME_LENGTH_RANGE.upper()];
-      view.get(name);
-
-      final var offset_null = findNull(name);
-      return NTInstrumentName.of(newString(name, offset_null));
+      try {
+        for (var index = lower; index < upper; ++index) {
+          procedure.execute(index);
+        }
+        return null;
+      } catch (final NTParseException e) {
+        return e;
+      }
     }
 
-    private static int findNull(final byte[] name)
+    private static NTParseException joinRecordTask(
+      final CompletableFuture<NTParseException> task)
     {
-      var offset_null = 0;
-      for (var index = 0; index < name.length; ++index) {
-        if (name[index] == 0) {
-          offset_null = index;
-          break;
+      try {
+        return task.join();
+      } catch (final CompletionException e) {
+        final var cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
         }
+        throw e;
       }
-      return offset_null;
     }
 
-    private static boolean codePointIsNotNull(
-      final int code)
+    private RiffChunkType parseRoot()
+      throws RiffParseException, NTParseException
     {
-      return code != 0;
+      final var file = this.parser.parse();
+      this.order = file.byteOrder();
+      final var root = file.chunks().get(0);
+      this.checkFormType(root);
+      return root;
     }
 
-    @Override
-    public NTParsedFile parse()
+    NTCatalog parseCatalog()
       throws NTParseException
     {
       try {
-        final var file = this.parser.parse();
-        final var root = file.chunks().get(0);
+        final var root = this.parseRoot();
+        final var info_list =
+          root.findRequiredSubChunkWithForm("LIST", "INFO");
+        final var pdta_list =
+          root.findRequiredSubChunkWithForm("LIST", "pdta");
+        final var presets = this.parsePDataPHDR(pdta_list);
+
+        final var count = Math.max(0, presets.size() - 1);
+        final var entries = new ArrayList<NTCatalogPreset>(count);
+        for (var index = 0; index < count; ++index) {
+          entries.add(
+            NTCatalogPreset.builder()
+              .setIndex(NTPresetIndex.of(index))
+              .setBank(NTBankIndex.of((int) (char) presets.bank(index)))
+              .setProgram(presets.preset(index))
+              .setName(presets.name(index))
+              .build());
+        }
 
-        this.checkFormType(root);
+        return NTCatalog.builder()
+          .setSource(NTSource.of(this.source, 0L))
+          .setInfo(this.parseInfo(info_list))
+          .setPresets(entries)
+          .build();
+      } catch (final RiffParseException e) {
+        throw new NTParseException(e, e.source(), e.offset());
+      } catch (final RiffRequiredChunkMissingException e) {
+        throw new NTParseException(e, this.source, 0L);
+      }
+    }
 
+    private NTParsedFile parseFile()
+      throws NTParseException
+    {
+      try {
+        final var root = this.parseRoot();
         final var info_list =
           root.findRequiredSubChunkWithForm("LIST", "INFO");
         final var pdta_list =
@@ -244,8 +668,18 @@ public final class NTParsers implements NTFileParserProviderType
         final var builder = NTParsedFile.builder();
         this.parsePData(smpl, pdta_list, builder);
 
+        final var info = this.parseInfo(info_list);
+        final var smpl_start = smpl.dataOffset();
+        final var smpl_end = Math.addExact(smpl_start, smpl.dataSizeIncludingForm().size());
+        final var smpl_range = RangeHalfOpenL.of(smpl_start, smpl_end);
+        final var sm24_range = sm24RangeOf(info, smpl_range, sdta_list);
+        final var sample_data =
+          new SampleDataSource(this.data, this.order, smpl_range, sm24_range);
+
         return builder
-          .setInfo(this.parseInfo(info_list))
+          .setInfo(info)
+          .setSampleData(sample_data)
+          .setTerminalRecordsChecked(true)
           .build();
       } catch (final RiffParseException e) {
         throw new NTParseException(e, e.source(), e.offset());
@@ -254,6 +688,51 @@ public final class NTParsers implements NTFileParserProviderType
       }
     }
 
+    /*
+     * 6.2 Sample Data Format in the sm24 Sub-chunk
+     *
+     * The sm24 sub-chunk, if present, contains the least significant byte counterparts to each
+     * sample data point contained in the smpl chunk. [...] If the ifil version is below 2.04, the
+     * sm24 chunk is ignored. [...] If the size of the sm24 chunk is not exactly equal to half the
+     * size of the smpl chunk (+ the zero pad byte if needed), the sm24 chunk should be ignored.
+     */
+
+    private static Optional<RangeHalfOpenL> sm24RangeOf(
+      final NTInfo info,
+      final RangeHalfOpenL smpl_range,
+      final RiffChunkType sdta_list)
+    {
+      final var sm24_opt = sdta_list.findOptionalSubChunk("sm24");
+      if (sm24_opt.isEmpty()) {
+        return Optional.empty();
+      }
+
+      final var sm24 = sm24_opt.get();
+      final var version = info.version();
+      if (version.major() < 2 || (version.major() == 2 && version.minor() < 4)) {
+        LOG.debug(
+          "ignoring sm24 chunk at offset 0x{}: file version {}.{} is below 2.04",
+          Long.toUnsignedString(sm24.offset(), 16),
+          Integer.valueOf(version.major()),
+          Integer.valueOf(version.minor()));
+        return Optional.empty();
+      }
+
+      final var points = smpl_range.interval() / 2L;
+      final var size = sm24.dataSizeIncludingForm().size();
+      if (size != points && size != points + (points & 1L)) {
+        LOG.warn(
+          "ignoring sm24 chunk at offset 0x{}: size {} does not match the {} smpl data points",
+          Long.toUnsignedString(sm24.offset(), 16),
+          Long.valueOf(size),
+          Long.valueOf(points));
+        return Optional.empty();
+      }
+
+      final var sm24_start = sm24.dataOffset();
+      return Optional.of(RangeHalfOpenL.of(sm24_start, Math.addExact(sm24_start, points)));
+    }
+
     private RiffChunkType requireChunk(
       final RiffChunkType owner,
       final String spec_section,
@@ -327,44 +806,103 @@ public final class NTParsers implements NTFileParserProviderType
       final NTParsedFile.Builder builder)
       throws NTParseException
     {
-      final var preset_records = this.parsePDataPHDR(pdta_list);
-      builder.setPresetRecords(preset_records.data);
-      builder.setPresetRecordsSource(preset_records.source);
+      if (this.executor.isPresent()) {
+        this.parsePDataConcurrently(smpl, pdta_list, builder);
+        return;
+      }
+
+      builder.setPresetTable(this.parsePDataPHDR(pdta_list));
+      builder.setPresetZoneTable(this.parsePDataPBAG(pdta_list));
+      builder.setPresetZoneModulatorTable(this.parsePDataPMOD(pdta_list));
+      builder.setPresetZoneGeneratorTable(this.parsePDataPGEN(pdta_list));
 
-      final var preset_zone_records = this.parsePDataPBAG(pdta_list);
-      builder.setPresetZoneRecords(preset_zone_records.data);
-      builder.setPresetZoneRecordsSource(preset_zone_records.source);
+      builder.setInstrumentTable(this.parsePDataINST(pdta_list));
+      builder.setInstrumentZoneTable(this.parsePDataIBAG(pdta_list));
+      builder.setInstrumentZoneModulatorTable(this.parsePDataIMOD(pdta_list));
+      builder.setInstrumentZoneGeneratorTable(this.parsePDataIGEN(pdta_list));
+
+      builder.setSampleTable(this.parsePDataSHDR(smpl, pdta_list));
+    }
 
-      final var preset_zone_mod_records = this.parsePDataPMOD(pdta_list);
-      builder.setPresetZoneModulatorRecords(preset_zone_mod_records.data);
-      builder.setPresetZoneModulatorRecordsSource(preset_zone_mod_records.source);
+    /**
+     * Parse and validate the hydra sub-chunks as independent tasks. The sample headers are
+     * validated on the calling thread, because their records are themselves split into tasks.
+     * The tasks are joined in the order in which {@link #parsePData} parses the sub-chunks, so
+     * the error reported is the one that sequential parsing would have reported.
+     */
 
-      final var preset_zone_gen_records = this.parsePDataPGEN(pdta_list);
-      builder.setPresetZoneGeneratorRecords(preset_zone_gen_records.data);
-      builder.setPresetZoneGeneratorRecordsSource(preset_zone_gen_records.source);
+    private void parsePDataConcurrently(
+      final RiffChunkType smpl,
+      final RiffChunkType pdta_list,
+      final NTParsedFile.Builder builder)
+      throws NTParseException
+    {
+      final var exec = this.executor.get();
+      final var phdr = submitChunk(exec, () -> this.parsePDataPHDR(pdta_list));
+      final var pbag = submitChunk(exec, () -> this.parsePDataPBAG(pdta_list));
+      final var pmod = submitChunk(exec, () -> this.parsePDataPMOD(pdta_list));
+      final var pgen = submitChunk(exec, () -> this.parsePDataPGEN(pdta_list));
+      final var inst = submitChunk(exec, () -> this.parsePDataINST(pdta_list));
+      final var ibag = submitChunk(exec, () -> this.parsePDataIBAG(pdta_list));
+      final var imod = submitChunk(exec, () -> this.parsePDataIMOD(pdta_list));
+      final var igen = submitChunk(exec, () -> this.parsePDataIGEN(pdta_list));
+
+      NTSampleTable shdr = null;
+      NTParseException shdr_error = null;
+      try {
+        shdr = this.parsePDataSHDR(smpl, pdta_list);
+      } catch (final NTParseException e) {
+        shdr_error = e;
+      }
 
-      final var instrument_records = this.parsePDataINST(pdta_list);
-      builder.setInstrumentRecords(instrument_records.data);
-      builder.setInstrumentRecordsSource(instrument_records.source);
+      builder.setPresetTable(joinChunk(phdr));
+      builder.setPresetZoneTable(joinChunk(pbag));
+      builder.setPresetZoneModulatorTable(joinChunk(pmod));
+      builder.setPresetZoneGeneratorTable(joinChunk(pgen));
 
-      final var instrument_zone_records = this.parsePDataIBAG(pdta_list);
-      builder.setInstrumentZoneRecords(instrument_zone_records.data);
-      builder.setInstrumentZoneRecordsSource(instrument_zone_records.source);
+      builder.setInstrumentTable(joinChunk(inst));
+      builder.setInstrumentZoneTable(joinChunk(ibag));
+      builder.setInstrumentZoneModulatorTable(joinChunk(imod));
+      builder.setInstrumentZoneGeneratorTable(joinChunk(igen));
 
-      final var instrument_zone_mod_records = this.parsePDataIMOD(pdta_list);
-      builder.setInstrumentZoneModulatorRecords(instrument_zone_mod_records.data);
-      builder.setInstrumentZoneModulatorRecordsSource(instrument_zone_mod_records.source);
+      if (shdr_error != null) {
+        throw shdr_error;
+      }
+      builder.setSampleTable(shdr);
+    }
 
-      final var instrument_zone_gen_records = this.parsePDataIGEN(pdta_list);
-      builder.setInstrumentZoneGeneratorRecords(instrument_zone_gen_records.data);
-      builder.setInstrumentZoneGeneratorRecordsSource(instrument_zone_gen_records.source);
+    private static <T> CompletableFuture<T> submitChunk(
+      final Executor exec,
+      final ChunkParserType<T> parser)
+    {
+      return CompletableFuture.supplyAsync(() -> {
+        try {
+          return parser.parse();
+        } catch (final NTParseException e) {
+          throw new CompletionException(e);
+        }
+      }, exec);
+    }
 
-      final var sample_records = this.parsePDataSHDR(smpl, pdta_list);
-      builder.setSampleRecords(sample_records.data);
-      builder.setSampleRecordsSource(sample_records.source);
+    private static <T> T joinChunk(
+      final CompletableFuture<T> task)
+      throws NTParseException
+    {
+      try {
+        return task.join();
+      } catch (final CompletionException e) {
+        final var cause = e.getCause();
+        if (cause instanceof NTParseException) {
+          throw (NTParseException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        throw e;
+      }
     }
 
-    private SourceAndData<ArrayList<NTParsedPreset>> parsePDataPHDR(
+    private NTPresetTable parsePDataPHDR(
       final RiffChunkType pdta_list)
       throws NTParseException
     {
@@ -374,49 +912,26 @@ public final class NTParsers implements NTFileParserProviderType
           "7.2",
           38L);
 
-      final var view = makeChunkDataView(this.data, phdr);
-      final var results = new ArrayList<NTParsedPreset>();
-
-      var index = 0;
-      for (var position = view.position(); view.remaining() >= 38; position += 38) {
-        view.position(position);
-
-        final var name = readPresetName(view);
-        final var preset_index = view.getShort() % 0xffff;
-        final var bank = view.getShort() % 0xffff;
-        final var preset_bag_index = view.getShort() % 0xffff;
-        final var library = view.getInt();
-        final var genre = view.getInt();
-        final var morphology = view.getInt();
-
-        final var result =
-          NTParsedPreset.builder()
-            .setSource(NTSource.of(this.source, Integer.toUnsignedLong(position)))
-            .setName(name)
-            .setBank(bank)
-            .setPreset(preset_index)
-            .setPresetBagIndex(preset_bag_index)
-            .setLibrary(Integer.toUnsignedLong(library))
-            .setGenre(Integer.toUnsignedLong(genre))
-            .setMorphology(Integer.toUnsignedLong(morphology))
-            .build();
-
-        LOG.trace("[phdr][{}] {}", Integer.valueOf(index), result);
-        results.add(result);
-        ++index;
-      }
+      final var table =
+        new NTPresetTable(
+          NTSource.of(this.source, phdr.offset()),
+          this.sourceOf(phdr, 0),
+          this.makeChunkDataView(phdr));
+
+      LOG.trace("[phdr] {}", table);
 
       NTInvariants.checkNamedTerminalRecordExists(
-        results,
+        table.size(),
+        table::record,
         "EOP",
         "7.2",
         NTSource.of(this.source, phdr.offset()),
         message -> describeChunk(phdr, message));
 
-      return new SourceAndData<>(NTSource.of(this.source, phdr.offset()), results);
+      return table;
     }
 
-    private SourceAndData<ArrayList<NTParsedPresetZone>> parsePDataPBAG(
+    private NTZoneTable parsePDataPBAG(
       final RiffChunkType pdta_list)
       throws NTParseException
     {
@@ -426,38 +941,24 @@ public final class NTParsers implements NTFileParserProviderType
           "7.3",
           4L);
 
-      final var view = makeChunkDataView(this.data, pbag);
-      final var results = new ArrayList<NTParsedPresetZone>();
-
-      var index = 0;
-      for (var position = view.position(); view.remaining() >= 4; position += 4) {
-        view.position(position);
+      final var table =
+        new NTZoneTable(
+          NTSource.of(this.source, pbag.offset()),
+          this.sourceOf(pbag, 0),
+          this.makeChunkDataView(pbag));
 
-        final var generator_index = view.getShort() & 0xffff;
-        final var modulator_index = view.getShort() & 0xffff;
-
-        final var preset =
-          NTParsedPresetZone.builder()
-            .setSource(NTSource.of(this.source, Integer.toUnsignedLong(position)))
-            .setGeneratorIndex(generator_index)
-            .setModulatorIndex(modulator_index)
-            .build();
-
-        LOG.trace("[pbag][{}] {}", Integer.valueOf(index), preset);
-        results.add(preset);
-        ++index;
-      }
+      LOG.trace("[pbag] {}", table);
 
       NTInvariants.checkUnnamedTerminalRecordExists(
-        results,
+        table.size(),
         "7.3",
         NTSource.of(this.source, pbag.offset()),
         message -> describeChunk(pbag, message));
 
-      return new SourceAndData<>(NTSource.of(this.source, pbag.offset()), results);
+      return table;
     }
 
-    private SourceAndData<ArrayList<NTParsedPresetZoneModulator>> parsePDataPMOD(
+    private NTModulatorTable parsePDataPMOD(
       final RiffChunkType pdta_list)
       throws NTParseException
     {
@@ -467,44 +968,24 @@ public final class NTParsers implements NTFileParserProviderType
           "7.4",
           10L);
 
-      final var view = makeChunkDataView(this.data, pmod);
-      final var results = new ArrayList<NTParsedPresetZoneModulator>();
-
-      var index = 0;
-      for (var position = view.position(); view.remaining() >= 10; position += 10) {
-        view.position(position);
+      final var table =
+        new NTModulatorTable(
+          NTSource.of(this.source, pmod.offset()),
+          this.sourceOf(pmod, 0),
+          this.makeChunkDataView(pmod));
 
-        final var modulator_source_operator = view.getShort() & 0xffff;
-        final var modulator_target_operator = view.getShort() & 0xffff;
-        final var modulator_amount = view.getShort();
-        final var modulator_amount_source_operator = view.getShort() & 0xffff;
-        final var modulator_transform_operator = view.getShort() & 0xffff;
-
-        final var result =
-          NTParsedPresetZoneModulator.builder()
-            .setSource(NTSource.of(this.source, Integer.toUnsignedLong(position)))
-            .setModulationAmountSourceOperator(modulator_amount_source_operator)
-            .setModulationAmount(modulator_amount)
-            .setModulationTransformOperator(modulator_transform_operator)
-            .setSourceOperator(modulator_source_operator)
-            .setTargetOperator(modulator_target_operator)
-            .build();
-
-        LOG.trace("[pmod][{}] {}", Integer.valueOf(index), result);
-        results.add(result);
-        ++index;
-      }
+      LOG.trace("[pmod] {}", table);
 
       NTInvariants.checkUnnamedTerminalRecordExists(
-        results,
+        table.size(),
         "7.4",
         NTSource.of(this.source, pmod.offset()),
         message -> describeChunk(pmod, message));
 
-      return new SourceAndData<>(NTSource.of(this.source, pmod.offset()), results);
+      return table;
     }
 
-    private SourceAndData<ArrayList<NTParsedPresetZoneGenerator>> parsePDataPGEN(
+    private NTGeneratorTable parsePDataPGEN(
       final RiffChunkType pdta_list)
       throws NTParseException
     {
@@ -514,38 +995,24 @@ public final class NTParsers implements NTFileParserProviderType
           "7.5",
           4L);
 
-      final var view = makeChunkDataView(this.data, pgen);
-      final var results = new ArrayList<NTParsedPresetZoneGenerator>();
-
-      var index = 0;
-      for (var position = view.position(); view.remaining() >= 4; position += 4) {
-        view.position(position);
-
-        final var operator = view.getShort() & 0xffff;
-        final var amount = view.getShort() & 0xffff;
-
-        final var result =
-          NTParsedPresetZoneGenerator.builder()
-            .setSource(NTSource.of(this.source, Integer.toUnsignedLong(position)))
-            .setAmount(NTGenericAmount.of(amount))
-            .setGeneratorOperator(operator)
-            .build();
+      final var table =
+        new NTGeneratorTable(
+          NTSource.of(this.source, pgen.offset()),
+          this.sourceOf(pgen, 0),
+          this.makeChunkDataView(pgen));
 
-        LOG.trace("[pgen][{}] {}", Integer.valueOf(index), result);
-        results.add(result);
-        ++index;
-      }
+      LOG.trace("[pgen] {}", table);
 
       NTInvariants.checkUnnamedTerminalRecordExists(
-        results,
+        table.size(),
         "7.5",
         NTSource.of(this.source, pgen.offset()),
         message -> describeChunk(pgen, message));
 
-      return new SourceAndData<>(NTSource.of(this.source, pgen.offset()), results);
+      return table;
     }
 
-    private SourceAndData<ArrayList<NTParsedInstrument>> parsePDataINST(
+    private NTInstrumentTable parsePDataINST(
       final RiffChunkType pdta_list)
       throws NTParseException
     {
@@ -555,39 +1022,26 @@ public final class NTParsers implements NTFileParserProviderType
           "7.6",
           22L);
 
-      final var view = makeChunkDataView(this.data, inst);
-      final var results = new ArrayList<NTParsedInstrument>();
-
-      var index = 0;
-      for (var position = view.position(); view.remaining() >= 22; position += 22) {
-        view.position(position);
-
-        final var name = readInstrumentName(view);
-        final var instrument_index = view.getShort() & 0xffff;
-
-        final var result =
-          NTParsedInstrument.builder()
-            .setSource(NTSource.of(this.source, Integer.toUnsignedLong(position)))
-            .setName(name)
-            .setInstrumentZoneIndex(instrument_index)
-            .build();
+      final var table =
+        new NTInstrumentTable(
+          NTSource.of(this.source, inst.offset()),
+          this.sourceOf(inst, 0),
+          this.makeChunkDataView(inst));
 
-        LOG.trace("[inst][{}] {}", Integer.valueOf(index), result);
-        results.add(result);
-        ++index;
-      }
+      LOG.trace("[inst] {}", table);
 
       NTInvariants.checkNamedTerminalRecordExists(
-        results,
+        table.size(),
+        table::record,
         "EOI",
         "7.6",
         NTSource.of(this.source, inst.offset()),
         message -> describeChunk(inst, message));
 
-      return new SourceAndData<>(NTSource.of(this.source, inst.offset()), results);
+      return table;
     }
 
-    private SourceAndData<ArrayList<NTParsedInstrumentZone>> parsePDataIBAG(
+    private NTZoneTable parsePDataIBAG(
       final RiffChunkType pdta_list)
       throws NTParseException
     {
@@ -597,38 +1051,24 @@ public final class NTParsers implements NTFileParserProviderType
           "7.7",
           4L);
 
-      final var view = makeChunkDataView(this.data, ibag);
-      final var results = new ArrayList<NTParsedInstrumentZone>();
-
-      var index = 0;
-      for (var position = view.position(); view.remaining() >= 4; position += 4) {
-        view.position(position);
-
-        final var generator_index = view.getShort() & 0xffff;
-        final var modulator_index = view.getShort() & 0xffff;
+      final var table =
+        new NTZoneTable(
+          NTSource.of(this.source, ibag.offset()),
+          this.sourceOf(ibag, 0),
+          this.makeChunkDataView(ibag));
 
-        final var result =
-          NTParsedInstrumentZone.builder()
-            .setSource(NTSource.of(this.source, Integer.toUnsignedLong(position)))
-            .setGeneratorIndex(generator_index)
-            .setModulatorIndex(modulator_index)
-            .build();
-
-        LOG.trace("[ibag][{}] {}", Integer.valueOf(index), result);
-        results.add(result);
-        ++index;
-      }
+      LOG.trace("[ibag] {}", table);
 
       NTInvariants.checkUnnamedTerminalRecordExists(
-        results,
+        table.size(),
         "7.7",
         NTSource.of(this.source, ibag.offset()),
         message -> describeChunk(ibag, message));
 
-      return new SourceAndData<>(NTSource.of(this.source, ibag.offset()), results);
+      return table;
     }
 
-    private SourceAndData<ArrayList<NTParsedInstrumentZoneModulator>> parsePDataIMOD(
+    private NTModulatorTable parsePDataIMOD(
       final RiffChunkType pdta_list)
       throws NTParseException
     {
@@ -638,44 +1078,24 @@ public final class NTParsers implements NTFileParserProviderType
           "7.8",
           10L);
 
-      final var view = makeChunkDataView(this.data, imod);
-      final var results = new ArrayList<NTParsedInstrumentZoneModulator>();
+      final var table =
+        new NTModulatorTable(
+          NTSource.of(this.source, imod.offset()),
+          this.sourceOf(imod, 0),
+          this.makeChunkDataView(imod));
 
-      var index = 0;
-      for (var position = view.position(); view.remaining() >= 10; position += 10) {
-        view.position(position);
-
-        final var modulator_source_operator = view.getShort() & 0xffff;
-        final var modulator_target_operator = view.getShort() & 0xffff;
-        final var modulator_amount = view.getShort();
-        final var modulator_amount_source_operator = view.getShort() & 0xffff;
-        final var modulator_transform_operator = view.getShort() & 0xffff;
-
-        final var result =
-          NTParsedInstrumentZoneModulator.builder()
-            .setSource(NTSource.of(this.source, Integer.toUnsignedLong(position)))
-            .setModulationAmountSourceOperator(modulator_amount_source_operator)
-            .setModulationAmount(modulator_amount)
-            .setModulationTransformOperator(modulator_transform_operator)
-            .setSourceOperator(modulator_source_operator)
-            .setTargetOperator(modulator_target_operator)
-            .build();
-
-        LOG.trace("[imod][{}] {}", Integer.valueOf(index), result);
-        results.add(result);
-        ++index;
-      }
+      LOG.trace("[imod] {}", table);
 
       NTInvariants.checkUnnamedTerminalRecordExists(
-        results,
+        table.size(),
         "7.8",
         NTSource.of(this.source, imod.offset()),
         message -> describeChunk(imod, message));
 
-      return new SourceAndData<>(NTSource.of(this.source, imod.offset()), results);
+      return table;
     }
 
-    private SourceAndData<ArrayList<NTParsedInstrumentZoneGenerator>> parsePDataIGEN(
+    private NTGeneratorTable parsePDataIGEN(
       final RiffChunkType pdta_list)
       throws NTParseException
     {
@@ -685,38 +1105,24 @@ public final class NTParsers implements NTFileParserProviderType
           "7.9",
           4L);
 
-      final var view = makeChunkDataView(this.data, igen);
-      final var results = new ArrayList<NTParsedInstrumentZoneGenerator>();
+      final var table =
+        new NTGeneratorTable(
+          NTSource.of(this.source, igen.offset()),
+          this.sourceOf(igen, 0),
+          this.makeChunkDataView(igen));
 
-      var index = 0;
-      for (var position = view.position(); view.remaining() >= 4; position += 4) {
-        view.position(position);
-
-        final var operator = view.getShort() & 0xffff;
-        final var amount = view.getShort() & 0xffff;
-
-        final var result =
-          NTParsedInstrumentZoneGenerator.builder()
-            .setSource(NTSource.of(this.source, Integer.toUnsignedLong(position)))
-            .setAmount(NTGenericAmount.of(amount))
-            .setGeneratorOperator(operator)
-            .build();
-
-        LOG.trace("[igen][{}] {}", Integer.valueOf(index), result);
-        results.add(result);
-        ++index;
-      }
+      LOG.trace("[igen] {}", table);
 
       NTInvariants.checkUnnamedTerminalRecordExists(
-        results,
+        table.size(),
         "7.9",
         NTSource.of(this.source, igen.offset()),
         message -> describeChunk(igen, message));
 
-      return new SourceAndData<>(NTSource.of(this.source, igen.offset()), results);
+      return table;
     }
 
-    private SourceAndData<ArrayList<NTParsedSample>> parsePDataSHDR(
+    private NTSampleTable parsePDataSHDR(
       final RiffChunkType smpl,
       final RiffChunkType pdta_list)
       throws NTParseException
@@ -732,78 +1138,43 @@ public final class NTParsers implements NTFileParserProviderType
           "7.10",
           46L);
 
-      final var view = makeChunkDataView(this.data, shdr);
-      final var results = new ArrayList<NTParsedSample>();
-
-      var index = 0;
-      for (var position = view.position(); view.remaining() >= 46; position += 46) {
-        view.position(position);
-
-        final var name = readSampleName(view);
-        final var start = view.getInt();
-        final var end = view.getInt();
-        final var loop_start = view.getInt();
-        final var loop_end = view.getInt();
-        final var sample_rate = view.getInt();
-        final var original_pitch = NTPitch.of((int) view.get() & 0x7f);
-        final var pitch_correct = view.get();
-        final var sample_link = view.getShort() & 0xffff;
-        final var sample_kind = view.getShort() & 0xffff;
-        final var byte_range = this.parseSampleByteRange(smpl, position, start, end);
-
-        final var description =
-          NTSampleDescription.builder()
-            .setName(name)
-            .setStart(Integer.toUnsignedLong(start))
-            .setEnd(Integer.toUnsignedLong(end))
-            .setLoopStart(Integer.toUnsignedLong(loop_start))
-            .setLoopEnd(Integer.toUnsignedLong(loop_end))
-            .setSampleRate(sample_rate)
-            .setOriginalPitch(original_pitch)
-            .setPitchCorrection(pitch_correct)
-            .setSampleLink(sample_link)
-            .setKind(this.sampleKindOf(shdr, position, name, sample_kind))
-            .build();
-
-        final var result =
-          NTParsedSample.builder()
-            .setSource(NTSource.of(this.source, Integer.toUnsignedLong(position)))
-            .setDescription(description)
-            .setDataByteRange(byte_range)
-            .build();
-
-        LOG.trace("[shdr][{}] {}", Integer.valueOf(index), result);
-        results.add(result);
-        ++index;
-      }
+      final var table =
+        new NTSampleTable(
+          NTSource.of(this.source, shdr.offset()),
+          this.sourceOf(shdr, 0),
+          this.makeChunkDataView(shdr),
+          smpl.dataOffset());
+
+      LOG.trace("[shdr] {}", table);
+
+      /*
+       * Validate the fields of each record that could otherwise fail to decode, so that records
+       * can be decoded on demand later without raising errors.
+       */
+
+      this.forEachRecord(table.size(), index -> {
+        this.checkSampleByteRange(table, index);
+        this.checkSampleKind(shdr, table, index);
+      });
 
       NTInvariants.checkNamedTerminalRecordExists(
-        results,
+        table.size(),
+        table::record,
         "EOS",
         "7.10",
         NTSource.of(this.source, shdr.offset()),
         message -> describeChunk(shdr, message));
 
-      return new SourceAndData<>(NTSource.of(this.source, shdr.offset()), results);
+      return table;
     }
 
-    private RangeHalfOpenL parseSampleByteRange(
-      final RiffChunkType smpl,
-      final int position,
-      final int start,
-      final int end)
+    private void checkSampleByteRange(
+      final NTSampleTable table,
+      final int index)
       throws NTParseException
     {
       try {
-        if (start == 0 && end == 0) {
-          return RangeHalfOpenL.of(0L, 0L);
-        }
-
-        final var data_relative_start = Math.multiplyExact(start, 2L);
-        final var data_relative_end = Math.multiplyExact(end, 2L);
-        final var data_absolute_start = Math.addExact(smpl.dataOffset(), data_relative_start);
-        final var data_absolute_end = Math.addExact(smpl.dataOffset(), data_relative_end);
-        return RangeHalfOpenL.of(data_absolute_start, data_absolute_end);
+        table.dataByteRange(index);
       } catch (final ArithmeticException | RangeCheckException e) {
         final var separator = System.lineSeparator();
         throw new NTParseException(
@@ -811,30 +1182,31 @@ public final class NTParsers implements NTFileParserProviderType
             .append(separator)
             .append("  Sample start: ")
             .append(separator)
-            .append(start)
+            .append(Integer.toUnsignedString(table.start(index)))
             .append("  Sample end: ")
-            .append(end)
+            .append(Integer.toUnsignedString(table.end(index)))
             .append(separator)
             .toString(),
           e,
           this.source,
-          position);
+          table.recordSource(index).offset());
       }
     }
 
-    private NTSampleKind sampleKindOf(
+    private void checkSampleKind(
       final RiffChunkType chunk,
-      final int position,
-      final NTSampleName name,
-      final int sample_kind)
+      final NTSampleTable table,
+      final int index)
       throws NTParseException
     {
-      for (final var value : NTSampleKind.values()) {
-        if (value.value() == sample_kind) {
-          return value;
-        }
+      final var sample_kind = table.kind(index);
+      if (NTSampleTable.kindOfOrNull(sample_kind) != null) {
+        return;
       }
 
+      final var position = table.recordSource(index);
+      final var name = table.name(index);
+
       final var separator = System.lineSeparator();
       throw new NTParseException(
         new StringBuilder(128)
@@ -858,7 +1230,7 @@ public final class NTParsers implements NTFileParserProviderType
           .append(Long.toUnsignedString(Integer.toUnsignedLong(sample_kind), 10))
           .append(separator)
           .append("  Sample offset: 0x")
-          .append(Long.toUnsignedString(Integer.toUnsignedLong(position), 16))
+          .append(Long.toUnsignedString(position.offset(), 16))
           .append(separator)
           .toString(),
         this.source,
@@ -878,32 +1250,47 @@ public final class NTParsers implements NTFileParserProviderType
       builder.setName(
         this.parseShortString(this.requireChunk(info_list, "5.3", "INAM")));
       builder.setRom(
-        info_list.findOptionalSubChunk("irom").map(this::parseShortString));
+        this.parseOptionalShortString(info_list, "irom"));
       builder.setCreationDate(
-        info_list.findOptionalSubChunk("ICRD").map(this::parseShortString));
+        this.parseOptionalShortString(info_list, "ICRD"));
       builder.setEngineers(
-        info_list.findOptionalSubChunk("IENG").map(this::parseShortString));
+        this.parseOptionalShortString(info_list, "IENG"));
       builder.setProduct(
-        info_list.findOptionalSubChunk("IPRD").map(this::parseShortString));
+        this.parseOptionalShortString(info_list, "IPRD"));
       builder.setCopyright(
-        info_list.findOptionalSubChunk("ICOP").map(this::parseShortString));
+        this.parseOptionalShortString(info_list, "ICOP"));
       builder.setSoftware(
-        info_list.findOptionalSubChunk("ISFT").map(this::parseShortString));
-      builder.setComment(
-        info_list.findOptionalSubChunk("ICMT").map(this::parseLongString));
+        this.parseOptionalShortString(info_list, "ISFT"));
+
+      final var comment = info_list.findOptionalSubChunk("ICMT");
+      if (comment.isPresent()) {
+        builder.setComment(this.parseLongString(comment.get()));
+      }
 
       return builder.build();
     }
 
+    private Optional<NTShortString> parseOptionalShortString(
+      final RiffChunkType info_list,
+      final String name)
+      throws NTParseException
+    {
+      final var chunk = info_list.findOptionalSubChunk(name);
+      if (chunk.isPresent()) {
+        return Optional.of(this.parseShortString(chunk.get()));
+      }
+      return Optional.empty();
+    }
+
     private NTVersion parseVersion(
       final RiffChunkType chunk)
       throws NTParseException
     {
       final var size = chunk.dataSizeIncludingForm().sizeUnpadded();
       if (size == 4L) {
-        final var lower = chunk.dataOffset();
-        final var major = this.data.getShort(Math.toIntExact(lower));
-        final var minor = this.data.getShort(Math.toIntExact(Math.addExact(lower, 2L)));
+        final var view = this.makeChunkDataView(chunk);
+        final var major = view.getShort(0);
+        final var minor = view.getShort(2);
         return NTVersion.of((int) major & 0xffff, (int) minor & 0xffff);
       }
 
@@ -925,33 +1312,24 @@ public final class NTParsers implements NTFileParserProviderType
 
     private NTShortString parseShortString(
       final RiffChunkType chunk)
+      throws NTParseException
     {
       return NTShortString.of(this.parseString(chunk));
     }
 
     private String parseString(
       final RiffChunkType chunk)
+      throws NTParseException
     {
       final var size = chunk.dataSizeIncludingForm().sizeUnpadded();
-      final var lower = chunk.dataOffset();
-      final var upper = Math.addExact(lower, size);
-
-      final var view = this.data.duplicate().order(this.data.order());
-      view.position(Math.toIntExact(lower));
-      view.limit(Math.toIntExact(upper));
 
-      final var copy = ByteBuffer.allocate(view.remaining());
-      copy.put(view);
-
-      return newString(copy.array(), copy.array().length)
-        .codePoints()
-        .takeWhile(Parser::codePointIsNotNull)
-        .collect(StringBuilder::new, StringBuilder::appendCodePoint, StringBuilder::append)
-        .toString();
+      final var view = this.makeChunkDataView(chunk);
+      return NTNameDecoder.decodeUntilNull(view, 0, Math.toIntExact(size));
     }
 
     private NTLongString parseLongString(
       final RiffChunkType chunk)
+      throws NTParseException
     {
       return NTLongString.of(this.parseString(chunk));
     }
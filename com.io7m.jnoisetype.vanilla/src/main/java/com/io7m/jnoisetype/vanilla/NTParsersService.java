@@ -16,12 +16,15 @@
 
 package com.io7m.jnoisetype.vanilla;
 
+import com.io7m.jnoisetype.parser.api.NTCatalog;
 import com.io7m.jnoisetype.parser.api.NTFileParserProviderType;
 import com.io7m.jnoisetype.parser.api.NTFileParserType;
+import com.io7m.jnoisetype.parser.api.NTParseException;
 import com.io7m.jspiel.api.RiffFileParserProviderType;
 
 import java.net.URI;
 import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
 import java.util.ServiceLoader;
 
 /**
@@ -53,4 +56,30 @@ public final class NTParsersService implements NTFileParserProviderType
   {
     return this.delegate.createForByteBuffer(source, data);
   }
+
+  @Override
+  public NTFileParserType createForChannel(
+    final URI source,
+    final SeekableByteChannel channel)
+  {
+    return this.delegate.createForChannel(source, channel);
+  }
+
+  @Override
+  public NTCatalog catalogForByteBuffer(
+    final URI source,
+    final ByteBuffer data)
+    throws NTParseException
+  {
+    return this.delegate.catalogForByteBuffer(source, data);
+  }
+
+  @Override
+  public NTCatalog catalogForChannel(
+    final URI source,
+    final SeekableByteChannel channel)
+    throws NTParseException
+  {
+    return this.delegate.catalogForChannel(source, channel);
+  }
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2019 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jnoisetype.vanilla;
+
+import com.io7m.jnoisetype.api.NTPresetName;
+import com.io7m.jnoisetype.api.NTRanges;
+import com.io7m.jnoisetype.api.NTSource;
+import com.io7m.jnoisetype.parser.api.NTParsedPreset;
+import com.io7m.jnoisetype.parser.api.NTParsedPresetTableType;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A table of {@code phdr} records.
+ */
+
+final class NTPresetTable extends NTDecodedRecordTable<NTParsedPreset>
+  implements NTParsedPresetTableType
+{
+  static final int RECORD_SIZE = 38;
+
+  private static final int NAME_LENGTH = NTRanges.PRESET_NAME_LENGTH_RANGE.upper();
+
+  NTPresetTable(
+    final NTSource in_source,
+    final NTSource in_data_source,
+    final ByteBuffer in_data)
+  {
+    super(in_source, in_data_source, in_data, RECORD_SIZE);
+  }
+
+  @Override
+  protected NTParsedPreset decode(
+    final int index)
+  {
+    return NTParsedPreset.builder()
+      .setSource(this.recordSource(index))
+      .setName(this.name(index))
+      .setBank(this.bank(index))
+      .setPreset(this.preset(index))
+      .setPresetBagIndex(this.presetBagIndex(index))
+      .setLibrary(Integer.toUnsignedLong(this.readSigned32(index, 26)))
+      .setGenre(Integer.toUnsignedLong(this.readSigned32(index, 30)))
+      .setMorphology(Integer.toUnsignedLong(this.readSigned32(index, 34)))
+      .build();
+  }
+
+  @Override
+  public NTPresetName name(
+    final int index)
+  {
+    return NTPresetName.of(this.readName(index, 0, NAME_LENGTH));
+  }
+
+  @Override
+  public int preset(
+    final int index)
+  {
+    return this.readSigned16(index, 20) % 0xffff;
+  }
+
+  @Override
+  public int bank(
+    final int index)
+  {
+    return this.readSigned16(index, 22) % 0xffff;
+  }
+
+  @Override
+  public int presetBagIndex(
+    final int index)
+  {
+    return this.readSigned16(index, 24) % 0xffff;
+  }
+}
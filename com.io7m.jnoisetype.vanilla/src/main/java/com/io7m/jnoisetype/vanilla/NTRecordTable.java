@@ -0,0 +1,169 @@
+/*
+ * Copyright © 2019 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jnoisetype.vanilla;
+
+import com.io7m.jnoisetype.api.NTSource;
+import com.io7m.jnoisetype.parser.api.NTParsedTableType;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * A table of fixed-size records backed directly by the data of a chunk. Records are decoded on
+ * access using absolute reads, so tables are safe to read from multiple threads.
+ */
+
+abstract class NTRecordTable implements NTParsedTableType
+{
+  private final NTSource source;
+  private final NTSource data_source;
+  private final ByteBuffer data;
+  private final int record_size;
+  private final int size;
+
+  NTRecordTable(
+    final NTSource in_source,
+    final NTSource in_data_source,
+    final ByteBuffer in_data,
+    final int in_record_size)
+  {
+    this.source = Objects.requireNonNull(in_source, "source");
+    this.data_source = Objects.requireNonNull(in_data_source, "data_source");
+    this.data = Objects.requireNonNull(in_data, "data");
+    this.record_size = in_record_size;
+    this.size = in_data.limit() / in_record_size;
+  }
+
+  @Override
+  public boolean equals(final Object o)
+  {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || !Objects.equals(this.getClass(), o.getClass())) {
+      return false;
+    }
+    final var other = (NTRecordTable) o;
+    return this.size == other.size
+      && this.data.order().equals(other.data.order())
+      && this.source.equals(other.source)
+      && this.data_source.equals(other.data_source)
+      && this.records().equals(other.records());
+  }
+
+  @Override
+  public int hashCode()
+  {
+    return Objects.hash(this.source, this.data_source, this.records());
+  }
+
+  @Override
+  public final String toString()
+  {
+    return new StringBuilder(64)
+      .append('[')
+      .append(this.getClass().getSimpleName())
+      .append(' ')
+      .append(this.size)
+      .append(" records 0x")
+      .append(Long.toUnsignedString(this.data_source.offset(), 16))
+      .append(']')
+      .toString();
+  }
+
+  /**
+   * @return A view of the bytes of the records in the table
+   */
+
+  final ByteBuffer records()
+  {
+    return this.data.slice(0, Math.multiplyExact(this.size, this.record_size));
+  }
+
+  /**
+   * @return The location of the first record in the table
+   */
+
+  final NTSource dataSource()
+  {
+    return this.data_source;
+  }
+
+  @Override
+  public final NTSource source()
+  {
+    return this.source;
+  }
+
+  @Override
+  public final int size()
+  {
+    return this.size;
+  }
+
+  @Override
+  public final NTSource recordSource(
+    final int index)
+  {
+    return NTSource.of(
+      this.data_source.source(),
+      Math.addExact(this.data_source.offset(), (long) this.offsetOf(index)));
+  }
+
+  protected final int offsetOf(
+    final int index)
+  {
+    return Math.multiplyExact(Objects.checkIndex(index, this.size), this.record_size);
+  }
+
+  protected final int readUnsigned16(
+    final int index,
+    final int field_offset)
+  {
+    return (int) this.data.getShort(this.offsetOf(index) + field_offset) & 0xffff;
+  }
+
+  protected final short readSigned16(
+    final int index,
+    final int field_offset)
+  {
+    return this.data.getShort(this.offsetOf(index) + field_offset);
+  }
+
+  protected final int readSigned32(
+    final int index,
+    final int field_offset)
+  {
+    return this.data.getInt(this.offsetOf(index) + field_offset);
+  }
+
+  protected final byte readSigned8(
+    final int index,
+    final int field_offset)
+  {
+    return this.data.get(this.offsetOf(index) + field_offset);
+  }
+
+  protected final String readName(
+    final NTNameDecoder names,
+    final int index,
+    final int field_offset,
+    final int length)
+  {
+    return names.decodeName(this.data, this.offsetOf(index) + field_offset, length);
+  }
+}
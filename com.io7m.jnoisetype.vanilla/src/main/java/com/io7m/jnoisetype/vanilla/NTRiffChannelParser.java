@@ -0,0 +1,349 @@
+/*
+ * Copyright © 2019 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jnoisetype.vanilla;
+
+import com.io7m.jspiel.api.RiffChunkID;
+import com.io7m.jspiel.api.RiffChunkType;
+import com.io7m.jspiel.api.RiffFileParserType;
+import com.io7m.jspiel.api.RiffFileType;
+import com.io7m.jspiel.api.RiffParseException;
+import com.io7m.jspiel.api.RiffSize;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SeekableByteChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * A RIFF parser that reads chunk headers directly from a seekable channel. Only the headers of
+ * chunks are read; the data of leaf chunks is skipped over and is never loaded into memory. All
+ * offsets are tracked as {@code long} values, and so files are not limited to 2GiB in size.
+ */
+
+final class NTRiffChannelParser implements RiffFileParserType
+{
+  private static final Logger LOG = LoggerFactory.getLogger(NTRiffChannelParser.class);
+
+  private final URI source;
+  private final SeekableByteChannel channel;
+  private final ByteBuffer header;
+
+  NTRiffChannelParser(
+    final URI in_source,
+    final SeekableByteChannel in_channel)
+  {
+    this.source = Objects.requireNonNull(in_source, "source");
+    this.channel = Objects.requireNonNull(in_channel, "channel");
+    this.header = ByteBuffer.allocate(4);
+  }
+
+  private static boolean isContainer(
+    final String name)
+  {
+    switch (name) {
+      case "RIFF":
+      case "RIFX":
+      case "FFIR":
+      case "LIST":
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  @Override
+  public RiffFileType parse()
+    throws RiffParseException
+  {
+    try {
+      final var size = this.channel.size();
+      final var name = this.readFourCC(0L, size);
+
+      final ByteOrder order;
+      switch (name) {
+        case "RIFF":
+          order = ByteOrder.LITTLE_ENDIAN;
+          break;
+        case "RIFX":
+        case "FFIR":
+          order = ByteOrder.BIG_ENDIAN;
+          break;
+        default: {
+          final var separator = System.lineSeparator();
+          throw new RiffParseException(
+            new StringBuilder(128)
+              .append("Starting chunk must be RIFF")
+              .append(separator)
+              .append("  Expected: One of RIFF|FFIR|RIFX")
+              .append(separator)
+              .append("  Received: ")
+              .append(name)
+              .append(separator)
+              .toString(),
+            this.source,
+            0L);
+        }
+      }
+
+      this.header.order(order);
+      final var chunks = this.parseChunks(Optional.empty(), 0L, size, 0);
+      return new File(order, chunks);
+    } catch (final IOException e) {
+      throw new RiffParseException(e, this.source, 0L);
+    }
+  }
+
+  private List<RiffChunkType> parseChunks(
+    final Optional<RiffChunkType> parent,
+    final long start,
+    final long end,
+    final int depth)
+    throws IOException, RiffParseException
+  {
+    final var results = new ArrayList<RiffChunkType>(8);
+
+    var offset = start;
+    while (offset < end) {
+      final var name = this.readFourCC(offset, end);
+      final var size_raw = this.readSize(Math.addExact(offset, 4L), end, name);
+      final var padded = size_raw % 2L != 0L;
+      final var size = padded ? Math.addExact(size_raw, 1L) : size_raw;
+      final var data_offset = Math.addExact(offset, 8L);
+      final var data_end = Math.addExact(data_offset, size);
+
+      if (data_end > end) {
+        final var separator = System.lineSeparator();
+        throw new RiffParseException(
+          new StringBuilder(128)
+            .append("RIFF file specifies illegal chunk size")
+            .append(separator)
+            .append("  Problem: Chunk size exceeds the limit specified by the parent chunk")
+            .append(separator)
+            .append("  Chunk name: ")
+            .append(name)
+            .append(separator)
+            .append("  Chunk offset: 0x")
+            .append(Long.toUnsignedString(offset, 16))
+            .append(separator)
+            .append("  Remaining space: ")
+            .append(Long.toUnsignedString(Math.subtractExact(end, data_offset)))
+            .append(separator)
+            .append("  Specified size: ")
+            .append(Long.toUnsignedString(size))
+            .append(separator)
+            .toString(),
+          this.source,
+          offset);
+      }
+
+      final Chunk chunk;
+      if (isContainer(name)) {
+        final var form = this.readFourCC(data_offset, data_end);
+        chunk = new Chunk(parent, offset, name, RiffSize.of(size, padded), Optional.of(form));
+        chunk.sub_chunks.addAll(
+          this.parseChunks(
+            Optional.of(chunk),
+            Math.addExact(data_offset, 4L),
+            data_end,
+            depth + 1));
+      } else {
+        chunk = new Chunk(parent, offset, name, RiffSize.of(size, padded), Optional.empty());
+      }
+
+      if (LOG.isDebugEnabled()) {
+        LOG.debug(
+          "[{}]: chunk: 0x{} {} (size {})",
+          Integer.valueOf(depth),
+          Long.toUnsignedString(offset, 16),
+          name,
+          Long.valueOf(size));
+      }
+
+      results.add(chunk);
+      offset = data_end;
+    }
+
+    return results;
+  }
+
+  private void readHeaderField(
+    final long offset,
+    final long end,
+    final String field)
+    throws IOException, RiffParseException
+  {
+    if (Math.addExact(offset, 4L) > end) {
+      final var separator = System.lineSeparator();
+      throw new RiffParseException(
+        new StringBuilder(128)
+          .append("Unexpected end of RIFF data")
+          .append(separator)
+          .append("  Reading: ")
+          .append(field)
+          .append(separator)
+          .append("  Offset: 0x")
+          .append(Long.toUnsignedString(offset, 16))
+          .append(separator)
+          .toString(),
+        this.source,
+        offset);
+    }
+
+    this.header.clear();
+    this.channel.position(offset);
+    while (this.header.hasRemaining()) {
+      if (this.channel.read(this.header) == -1) {
+        throw new RiffParseException("Unexpected end of channel", this.source, offset);
+      }
+    }
+    this.header.flip();
+  }
+
+  private String readFourCC(
+    final long offset,
+    final long end)
+    throws IOException, RiffParseException
+  {
+    this.readHeaderField(offset, end, "Chunk name");
+    final var bytes = new byte[4];
+    this.header.get(bytes);
+    // CHECKSTYLE:OFF
+    return new String(bytes, US_ASCII);
+    // CHECKSTYLE:ON
+  }
+
+  private long readSize(
+    final long offset,
+    final long end,
+    final String name)
+    throws IOException, RiffParseException
+  {
+    this.readHeaderField(offset, end, "Chunk size (" + name + ")");
+    return Integer.toUnsignedLong(this.header.getInt());
+  }
+
+  private static final class File implements RiffFileType
+  {
+    private final ByteOrder order;
+    private final List<RiffChunkType> chunks;
+
+    File(
+      final ByteOrder in_order,
+      final List<RiffChunkType> in_chunks)
+    {
+      this.order = Objects.requireNonNull(in_order, "order");
+      this.chunks = Collections.unmodifiableList(Objects.requireNonNull(in_chunks, "chunks"));
+    }
+
+    @Override
+    public List<RiffChunkType> chunks()
+    {
+      return this.chunks;
+    }
+
+    @Override
+    public ByteOrder byteOrder()
+    {
+      return this.order;
+    }
+  }
+
+  private static final class Chunk implements RiffChunkType
+  {
+    private final Optional<RiffChunkType> parent;
+    private final long offset;
+    private final RiffChunkID name;
+    private final RiffSize size;
+    private final Optional<String> form;
+    private final List<RiffChunkType> sub_chunks;
+    private final List<RiffChunkType> sub_chunks_read;
+
+    Chunk(
+      final Optional<RiffChunkType> in_parent,
+      final long in_offset,
+      final String in_name,
+      final RiffSize in_size,
+      final Optional<String> in_form)
+    {
+      this.parent = Objects.requireNonNull(in_parent, "parent");
+      this.offset = in_offset;
+      this.name = RiffChunkID.of(Objects.requireNonNull(in_name, "name"));
+      this.size = Objects.requireNonNull(in_size, "size");
+      this.form = Objects.requireNonNull(in_form, "form");
+      this.sub_chunks = new ArrayList<>(8);
+      this.sub_chunks_read = Collections.unmodifiableList(this.sub_chunks);
+    }
+
+    @Override
+    public String toString()
+    {
+      return new StringBuilder(64)
+        .append("[Chunk ")
+        .append(this.name.value())
+        .append(" 0x")
+        .append(Long.toUnsignedString(this.offset, 16))
+        .append(']')
+        .toString();
+    }
+
+    @Override
+    public Optional<RiffChunkType> parent()
+    {
+      return this.parent;
+    }
+
+    @Override
+    public RiffChunkID name()
+    {
+      return this.name;
+    }
+
+    @Override
+    public long offset()
+    {
+      return this.offset;
+    }
+
+    @Override
+    public RiffSize dataSizeIncludingForm()
+    {
+      return this.size;
+    }
+
+    @Override
+    public Optional<String> formType()
+    {
+      return this.form;
+    }
+
+    @Override
+    public List<RiffChunkType> subChunks()
+    {
+      return this.sub_chunks_read;
+    }
+  }
+}
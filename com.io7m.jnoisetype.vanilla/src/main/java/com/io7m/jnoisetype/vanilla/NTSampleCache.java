@@ -0,0 +1,294 @@
+/*
+ * Copyright © 2019 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jnoisetype.vanilla;
+
+import com.io7m.jnoisetype.api.NTFontType;
+import com.io7m.jnoisetype.api.NTSampleConversions;
+import com.io7m.jnoisetype.api.NTSampleType;
+import com.io7m.jranges.RangeCheck;
+import com.io7m.jranges.Ranges;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+
+/**
+ * A cache of decoded sample data, bounded by a byte budget.
+ *
+ * Entries are keyed by the identity of a font and the index of a sample within the font, and are
+ * evicted in least-recently-used order when the total size of the cached data would exceed the
+ * budget. A sample that is larger than the budget is decoded on each request and never cached.
+ * By default, samples are decoded with {@link NTSampleConversions} into direct buffers, and so
+ * cached data is held outside of the Java heap.
+ *
+ * A single cache is intended to be shared by all of the fonts in a process, and may be safely
+ * used from multiple threads. Decoding takes place outside of the cache lock, so a slow decode
+ * never blocks lookups of other samples.
+ */
+
+public final class NTSampleCache
+{
+  private final long budget;
+  private final NTSampleDecoderType decoder;
+  private final LinkedHashMap<Key, FloatBuffer> entries;
+  private long size;
+  private long hits;
+  private long misses;
+  private long evictions;
+
+  private NTSampleCache(
+    final long in_budget,
+    final NTSampleDecoderType in_decoder)
+  {
+    this.budget = in_budget;
+    this.decoder = Objects.requireNonNull(in_decoder, "decoder");
+    this.entries = new LinkedHashMap<>(64, 0.75f, true);
+  }
+
+  /**
+   * Create a new cache that decodes samples to normalized floating point values.
+   *
+   * @param budget The maximum number of bytes of decoded data held by the cache
+   *
+   * @return A new cache
+   */
+
+  public static NTSampleCache create(
+    final long budget)
+  {
+    return create(budget, NTSampleCache::decodeFloat);
+  }
+
+  /**
+   * Create a new cache that decodes samples with the given decoder.
+   *
+   * @param budget  The maximum number of bytes of decoded data held by the cache
+   * @param decoder The sample decoder
+   *
+   * @return A new cache
+   */
+
+  public static NTSampleCache create(
+    final long budget,
+    final NTSampleDecoderType decoder)
+  {
+    RangeCheck.checkIncludedInLong(
+      budget,
+      "Budget",
+      Ranges.NATURAL_LONG,
+      "Valid budgets");
+    return new NTSampleCache(budget, decoder);
+  }
+
+  private static FloatBuffer decodeFloat(
+    final NTSampleType sample)
+    throws IOException
+  {
+    final var frames = sample.dataFrames();
+    final var target =
+      ByteBuffer.allocateDirect(Math.multiplyExact(frames.remaining(), Float.BYTES))
+        .order(ByteOrder.nativeOrder())
+        .asFloatBuffer();
+    NTSampleConversions.convert(frames, target);
+    return target.flip();
+  }
+
+  /**
+   * Retrieve the decoded data for a sample, decoding the sample if it is not cached.
+   *
+   * @param font  The font
+   * @param index The index of the sample within {@link NTFontType#samples()}
+   *
+   * @return A read-only view of the decoded data with a position of {@code 0}
+   *
+   * @throws IOException If decoding fails
+   */
+
+  public FloatBuffer get(
+    final NTFontType font,
+    final int index)
+    throws IOException
+  {
+    Objects.requireNonNull(font, "font");
+
+    final var key = new Key(font, index);
+    synchronized (this) {
+      final var existing = this.entries.get(key);
+      if (existing != null) {
+        ++this.hits;
+        return existing.asReadOnlyBuffer();
+      }
+      ++this.misses;
+    }
+
+    final var decoded = this.decoder.decode(font.samples().get(index)).slice();
+    final var decoded_size = Math.multiplyExact((long) decoded.capacity(), (long) Float.BYTES);
+
+    synchronized (this) {
+      if (decoded_size > this.budget) {
+        return decoded.asReadOnlyBuffer();
+      }
+
+      /*
+       * Another thread may have decoded the same sample in the meantime.
+       */
+
+      final var existing = this.entries.get(key);
+      if (existing != null) {
+        return existing.asReadOnlyBuffer();
+      }
+
+      this.entries.put(key, decoded);
+      this.size += decoded_size;
+      this.evict();
+      return decoded.asReadOnlyBuffer();
+    }
+  }
+
+  private void evict()
+  {
+    final var iterator = this.entries.values().iterator();
+    while (this.size > this.budget && iterator.hasNext()) {
+      final var buffer = iterator.next();
+      iterator.remove();
+      this.size -= (long) buffer.capacity() * (long) Float.BYTES;
+      ++this.evictions;
+    }
+  }
+
+  /**
+   * Remove all of the entries for the given font. This should be called when a font is closed so
+   * that the cache does not retain the font.
+   *
+   * @param font The font
+   */
+
+  public synchronized void invalidate(
+    final NTFontType font)
+  {
+    Objects.requireNonNull(font, "font");
+
+    final var iterator = this.entries.entrySet().iterator();
+    while (iterator.hasNext()) {
+      final var entry = iterator.next();
+      if (entry.getKey().font == font) {
+        this.size -= (long) entry.getValue().capacity() * (long) Float.BYTES;
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * Remove all entries.
+   */
+
+  public synchronized void clear()
+  {
+    this.entries.clear();
+    this.size = 0L;
+  }
+
+  /**
+   * @return The maximum number of bytes of decoded data held by the cache
+   */
+
+  public long budget()
+  {
+    return this.budget;
+  }
+
+  /**
+   * @return The number of bytes of decoded data currently held by the cache
+   */
+
+  public synchronized long size()
+  {
+    return this.size;
+  }
+
+  /**
+   * @return The number of samples currently held by the cache
+   */
+
+  public synchronized int entryCount()
+  {
+    return this.entries.size();
+  }
+
+  /**
+   * @return The number of requests that were satisfied by the cache
+   */
+
+  public synchronized long hits()
+  {
+    return this.hits;
+  }
+
+  /**
+   * @return The number of requests that required a sample to be decoded
+   */
+
+  public synchronized long misses()
+  {
+    return this.misses;
+  }
+
+  /**
+   * @return The number of entries evicted to stay within the budget
+   */
+
+  public synchronized long evictions()
+  {
+    return this.evictions;
+  }
+
+  private static final class Key
+  {
+    private final NTFontType font;
+    private final int index;
+
+    Key(
+      final NTFontType in_font,
+      final int in_index)
+    {
+      this.font = in_font;
+      this.index = in_index;
+    }
+
+    @Override
+    public boolean equals(final Object o)
+    {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || !Objects.equals(this.getClass(), o.getClass())) {
+        return false;
+      }
+      final var other = (Key) o;
+      return this.font == other.font && this.index == other.index;
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return 31 * System.identityHashCode(this.font) + this.index;
+    }
+  }
+}
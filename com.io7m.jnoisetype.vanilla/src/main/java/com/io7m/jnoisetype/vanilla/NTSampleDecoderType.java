@@ -0,0 +1,43 @@
+/*
+ * Copyright © 2019 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jnoisetype.vanilla;
+
+import com.io7m.jnoisetype.api.NTSampleType;
+
+import java.io.IOException;
+import java.nio.FloatBuffer;
+
+/**
+ * A function that decodes sample data for storage in an {@link NTSampleCache}.
+ */
+
+public interface NTSampleDecoderType
+{
+  /**
+   * Decode the given sample. Implementations are encouraged to return direct (off-heap) buffers.
+   * The remaining elements of the returned buffer are the decoded data.
+   *
+   * @param sample The sample
+   *
+   * @return The decoded data
+   *
+   * @throws IOException On I/O errors
+   */
+
+  FloatBuffer decode(NTSampleType sample)
+    throws IOException;
+}
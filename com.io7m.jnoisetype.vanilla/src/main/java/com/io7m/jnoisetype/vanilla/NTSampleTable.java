@@ -0,0 +1,174 @@
+/*
+ * Copyright © 2019 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jnoisetype.vanilla;
+
+import com.io7m.jnoisetype.api.NTPitches;
+import com.io7m.jnoisetype.api.NTRanges;
+import com.io7m.jnoisetype.api.NTSampleDescription;
+import com.io7m.jnoisetype.api.NTSampleKind;
+import com.io7m.jnoisetype.api.NTSampleName;
+import com.io7m.jnoisetype.api.NTSource;
+import com.io7m.jnoisetype.parser.api.NTParsedSample;
+import com.io7m.jnoisetype.parser.api.NTParsedSampleTableType;
+import com.io7m.jranges.RangeHalfOpenL;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * A table of {@code shdr} records. The parser is expected to have validated the sample kinds
+ * and data ranges of all records before the table is published.
+ */
+
+final class NTSampleTable extends NTDecodedRecordTable<NTParsedSample>
+  implements NTParsedSampleTableType
+{
+  static final int RECORD_SIZE = 46;
+
+  private static final int NAME_LENGTH = NTRanges.SAMPLE_NAME_LENGTH_RANGE.upper();
+
+  private final long smpl_offset;
+
+  NTSampleTable(
+    final NTSource in_source,
+    final NTSource in_data_source,
+    final ByteBuffer in_data,
+    final long in_smpl_offset)
+  {
+    super(in_source, in_data_source, in_data, RECORD_SIZE);
+    this.smpl_offset = in_smpl_offset;
+  }
+
+  /**
+   * @return The absolute offset of the data of the {@code smpl} chunk
+   */
+
+  long smplOffset()
+  {
+    return this.smpl_offset;
+  }
+
+  @Override
+  public boolean equals(final Object o)
+  {
+    return super.equals(o) && this.smpl_offset == ((NTSampleTable) o).smpl_offset;
+  }
+
+  @Override
+  public int hashCode()
+  {
+    return 31 * super.hashCode() + Long.hashCode(this.smpl_offset);
+  }
+
+  @Override
+  protected NTParsedSample decode(
+    final int index)
+  {
+    final var description =
+      NTSampleDescription.builder()
+        .setName(this.name(index))
+        .setStart(Integer.toUnsignedLong(this.start(index)))
+        .setEnd(Integer.toUnsignedLong(this.end(index)))
+        .setLoopStart(Integer.toUnsignedLong(this.readSigned32(index, 28)))
+        .setLoopEnd(Integer.toUnsignedLong(this.readSigned32(index, 32)))
+        .setSampleRate(this.readSigned32(index, 36))
+        .setOriginalPitch(NTPitches.of((int) this.readSigned8(index, 40) & 0x7f))
+        .setPitchCorrection(this.readSigned8(index, 41))
+        .setSampleLink(this.readUnsigned16(index, 42))
+        .setKind(kindOf(this.kind(index)))
+        .build();
+
+    return NTParsedSample.builder()
+      .setSource(this.recordSource(index))
+      .setDescription(description)
+      .setDataByteRange(this.dataByteRange(index))
+      .build();
+  }
+
+  @Override
+  public NTSampleName name(
+    final int index)
+  {
+    return NTSampleName.of(this.readName(index, 0, NAME_LENGTH));
+  }
+
+  int start(
+    final int index)
+  {
+    return this.readSigned32(index, 20);
+  }
+
+  int end(
+    final int index)
+  {
+    return this.readSigned32(index, 24);
+  }
+
+  int kind(
+    final int index)
+  {
+    return this.readUnsigned16(index, 44);
+  }
+
+  /**
+   * @param index The record index
+   *
+   * @return The absolute byte range of the sample data
+   *
+   * @throws ArithmeticException If the range overflows
+   * @throws com.io7m.jranges.RangeCheckException If the range is inverted
+   */
+
+  RangeHalfOpenL dataByteRange(
+    final int index)
+  {
+    final var start = this.start(index);
+    final var end = this.end(index);
+    if (start == 0 && end == 0) {
+      return RangeHalfOpenL.of(0L, 0L);
+    }
+
+    final var data_relative_start = Math.multiplyExact(Integer.toUnsignedLong(start), 2L);
+    final var data_relative_end = Math.multiplyExact(Integer.toUnsignedLong(end), 2L);
+    final var data_absolute_start = Math.addExact(this.smpl_offset, data_relative_start);
+    final var data_absolute_end = Math.addExact(this.smpl_offset, data_relative_end);
+    return RangeHalfOpenL.of(data_absolute_start, data_absolute_end);
+  }
+
+  /**
+   * @param value The raw sample kind value
+   *
+   * @return The sample kind, if the value is recognized
+   */
+
+  static NTSampleKind kindOfOrNull(
+    final int value)
+  {
+    for (final var kind : NTSampleKind.values()) {
+      if (kind.value() == value) {
+        return kind;
+      }
+    }
+    return null;
+  }
+
+  private static NTSampleKind kindOf(
+    final int value)
+  {
+    return Objects.requireNonNull(kindOfOrNull(value), "Sample kind was not validated");
+  }
+}
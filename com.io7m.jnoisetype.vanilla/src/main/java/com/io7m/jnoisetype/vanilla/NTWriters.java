@@ -169,6 +169,63 @@ public final class NTWriters implements NTWriterProviderType
           }
         });
       }
+
+      /*
+       * 6.2 Sample Data Format in the sm24 Sub-chunk
+       *
+       * The sm24 sub-chunk, if present, contains the least significant byte counterparts to each
+       * sample data point contained in the smpl chunk. Note this means for every two bytes in the
+       * [smpl] sub-chunk there is a 1-byte counterpart in [sm24] sub-chunk.
+       */
+
+      final var has_low_bytes =
+        description.samples()
+          .values()
+          .stream()
+          .anyMatch(sample -> sample.description().lowByteDataWriter().isPresent());
+
+      if (has_low_bytes) {
+        try (var sm24 = chunk.addSubChunk(RiffChunkID.of("sm24"))) {
+          final var sampleDescriptions =
+            new ArrayList<>(description.samples().values());
+
+          sampleDescriptions.sort((o1, o2) -> {
+            return Long.compareUnsigned(
+              o1.sampleAbsoluteStart(),
+              o2.sampleAbsoluteStart());
+          });
+
+          sm24.setDataWriter(w_channel -> {
+            for (final var sampleDescription : sampleDescriptions) {
+              final var sample = sampleDescription.description();
+              final var low_writer = sample.lowByteDataWriter();
+              if (low_writer.isPresent()) {
+                low_writer.get().write(w_channel);
+              } else {
+                writeZeros(w_channel, sample.sampleCount());
+              }
+              writeZeros(w_channel, 46L);
+            }
+          });
+        }
+      }
+    }
+
+    private static void writeZeros(
+      final SeekableByteChannel channel,
+      final long count)
+      throws IOException
+    {
+      final var zeros = ByteBuffer.allocate(Math.toIntExact(Math.min(count, 4096L)));
+      var remaining = count;
+      while (remaining > 0L) {
+        zeros.position(0);
+        zeros.limit(Math.toIntExact(Math.min(remaining, (long) zeros.capacity())));
+        while (zeros.hasRemaining()) {
+          channel.write(zeros);
+        }
+        remaining -= (long) zeros.limit();
+      }
     }
 
     private static void writeInfo(
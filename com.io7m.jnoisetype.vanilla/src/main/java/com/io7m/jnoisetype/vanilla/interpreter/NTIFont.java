@@ -24,8 +24,11 @@ import com.io7m.jnoisetype.api.NTSampleType;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 
 final class NTIFont implements NTFontType
 {
@@ -36,6 +39,11 @@ final class NTIFont implements NTFontType
   private final List<NTPresetType> presets_read;
   private final List<NTISample> samples;
   private final List<NTSampleType> samples_read;
+  private final Map<String, NTPresetType> presets_by_name;
+  private final Map<String, NTInstrumentType> instruments_by_name;
+  private final Map<String, NTSampleType> samples_by_name;
+  private int[] program_keys;
+  private NTPresetType[] program_presets;
 
   NTIFont(final NTInfo in_info)
   {
@@ -50,6 +58,26 @@ final class NTIFont implements NTFontType
       Collections.unmodifiableList(this.presets);
     this.samples_read =
       Collections.unmodifiableList(this.samples);
+
+    this.presets_by_name = new HashMap<>();
+    this.instruments_by_name = new HashMap<>();
+    this.samples_by_name = new HashMap<>();
+    this.program_keys = new int[0];
+    this.program_presets = new NTPresetType[0];
+  }
+
+  private static int packProgram(
+    final int bank,
+    final int program)
+  {
+    return ((bank & 0xffff) << 16) | (program & 0xffff);
+  }
+
+  private static int hashProgram(
+    final int key,
+    final int mask)
+  {
+    return (key * 0x9e3779b9 >>> 16) & mask;
   }
 
   @Override
@@ -122,4 +150,86 @@ final class NTIFont implements NTFontType
   {
     this.samples.add(sample);
   }
+
+  @Override
+  public Optional<NTPresetType> presetFor(
+    final int bank,
+    final int program)
+  {
+    final var keys = this.program_keys;
+    final var values = this.program_presets;
+    if (keys.length == 0) {
+      return Optional.empty();
+    }
+
+    final var key = packProgram(bank, program);
+    final var mask = keys.length - 1;
+    for (var slot = hashProgram(key, mask); values[slot] != null; slot = (slot + 1) & mask) {
+      if (keys[slot] == key) {
+        return Optional.of(values[slot]);
+      }
+    }
+    return Optional.empty();
+  }
+
+  @Override
+  public Optional<NTPresetType> presetNamed(final String name)
+  {
+    return Optional.ofNullable(this.presets_by_name.get(Objects.requireNonNull(name, "name")));
+  }
+
+  @Override
+  public Optional<NTInstrumentType> instrumentNamed(final String name)
+  {
+    return Optional.ofNullable(this.instruments_by_name.get(Objects.requireNonNull(name, "name")));
+  }
+
+  @Override
+  public Optional<NTSampleType> sampleNamed(final String name)
+  {
+    return Optional.ofNullable(this.samples_by_name.get(Objects.requireNonNull(name, "name")));
+  }
+
+  /**
+   * Build the lookup indexes. This must be called once all presets, instruments, and samples
+   * have been added.
+   */
+
+  void buildIndexes()
+  {
+    var capacity = 2;
+    while (capacity < this.presets.size() * 2) {
+      capacity *= 2;
+    }
+
+    final var keys = new int[capacity];
+    final var values = new NTPresetType[capacity];
+    final var mask = capacity - 1;
+    for (final var preset : this.presets) {
+      final var key = packProgram(preset.bank().value(), preset.program());
+      var slot = hashProgram(key, mask);
+      while (values[slot] != null && keys[slot] != key) {
+        slot = (slot + 1) & mask;
+      }
+      if (values[slot] == null) {
+        keys[slot] = key;
+        values[slot] = preset;
+      }
+    }
+    this.program_keys = keys;
+    this.program_presets = values;
+
+    this.presets_by_name.clear();
+    for (final var preset : this.presets) {
+      this.presets_by_name.putIfAbsent(preset.nameText(), preset);
+    }
+    this.instruments_by_name.clear();
+    for (final var instrument : this.instruments) {
+      this.instruments_by_name.putIfAbsent(instrument.nameText(), instrument);
+    }
+    this.samples_by_name.clear();
+    for (final var sample : this.samples) {
+      this.samples_by_name.putIfAbsent(sample.nameText(), sample);
+    }
+  }
 }
@@ -21,6 +21,7 @@ import com.io7m.jnoisetype.api.NTInstrumentIndex;
 import com.io7m.jnoisetype.api.NTInstrumentName;
 import com.io7m.jnoisetype.api.NTInstrumentType;
 import com.io7m.jnoisetype.api.NTInstrumentZoneType;
+
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -32,6 +33,7 @@ final class NTIIInstrument implements NTInstrumentType
   private final NTInstrumentName name;
   private final List<NTInstrumentZoneType> zones_read;
   private final List<NTIInstrumentZone> zones;
+  private volatile NTIZoneLoaderType zone_loader;
   private final NTInstrumentIndex index;
 
   NTIIInstrument(
@@ -99,9 +101,28 @@ final class NTIIInstrument implements NTInstrumentType
   @Override
   public List<NTInstrumentZoneType> zones()
   {
+    if (this.zone_loader != null) {
+      this.loadZones();
+    }
     return this.zones_read;
   }
 
+  private void loadZones()
+  {
+    synchronized (this.zones) {
+      final var loader = this.zone_loader;
+      if (loader != null) {
+        loader.load();
+        this.zone_loader = null;
+      }
+    }
+  }
+
+  void setZoneLoader(final NTIZoneLoaderType loader)
+  {
+    this.zone_loader = Objects.requireNonNull(loader, "loader");
+  }
+
   @Override
   public String nameText()
   {
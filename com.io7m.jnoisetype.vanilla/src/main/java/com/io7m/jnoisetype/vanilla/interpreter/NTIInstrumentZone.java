@@ -17,24 +17,30 @@
 package com.io7m.jnoisetype.vanilla.interpreter;
 
 import com.io7m.jaffirm.core.Preconditions;
+import com.io7m.jnoisetype.api.NTGenerators;
 import com.io7m.jnoisetype.api.NTInstrumentType;
 import com.io7m.jnoisetype.api.NTInstrumentZoneGeneratorType;
 import com.io7m.jnoisetype.api.NTInstrumentZoneModulatorType;
 import com.io7m.jnoisetype.api.NTInstrumentZoneType;
+import com.io7m.jnoisetype.api.NTSampleType;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 final class NTIInstrumentZone implements NTInstrumentZoneType
 {
   private final NTIIInstrument instrument;
   private final List<NTIInstrumentZoneGenerator> generators;
+  private final NTIInstrumentZoneGenerator[] generators_by_operator;
   private final List<NTInstrumentZoneGeneratorType> generators_read;
   private final List<NTIInstrumentZoneModulator> modulators;
   private final List<NTInstrumentZoneModulatorType> modulators_read;
   private final int index;
+  private long generators_present;
+  private Optional<NTSampleType> linked_sample;
 
   NTIInstrumentZone(
     final NTIIInstrument in_instrument,
@@ -49,6 +55,9 @@ final class NTIInstrumentZone implements NTInstrumentZoneType
     this.index = in_index;
     this.generators = new ArrayList<>();
     this.generators_read = Collections.unmodifiableList(this.generators);
+    this.generators_by_operator =
+      new NTIInstrumentZoneGenerator[NTGenerators.STANDARD_GENERATOR_COUNT];
+    this.linked_sample = Optional.empty();
     this.modulators = new ArrayList<>();
     this.modulators_read = Collections.unmodifiableList(this.modulators);
   }
@@ -123,9 +132,51 @@ final class NTIInstrumentZone implements NTInstrumentZoneType
     return this.index == 0;
   }
 
+  @Override
+  public Optional<NTInstrumentZoneGeneratorType> generatorFor(final int operator)
+  {
+    if (operator >= 0 && operator < this.generators_by_operator.length) {
+      return Optional.ofNullable(this.generators_by_operator[operator]);
+    }
+
+    for (var gen_index = this.generators.size() - 1; gen_index >= 0; --gen_index) {
+      final var generator = this.generators.get(gen_index);
+      if (generator.generatorOperator().index().value() == operator) {
+        return Optional.of(generator);
+      }
+    }
+    return Optional.empty();
+  }
+
+  @Override
+  public boolean hasGenerator(final int operator)
+  {
+    if (operator >= 0 && operator < this.generators_by_operator.length) {
+      return (this.generators_present & (1L << operator)) != 0L;
+    }
+    return this.generatorFor(operator).isPresent();
+  }
+
+  @Override
+  public Optional<NTSampleType> linkedSample()
+  {
+    return this.linked_sample;
+  }
+
+  void setLinkedSample(final NTSampleType sample)
+  {
+    this.linked_sample = Optional.of(sample);
+  }
+
   void addGenerator(final NTIInstrumentZoneGenerator generator)
   {
     this.generators.add(generator);
+
+    final var operator = generator.generatorOperator().index().value();
+    if (operator < this.generators_by_operator.length) {
+      this.generators_by_operator[operator] = generator;
+      this.generators_present |= 1L << operator;
+    }
   }
 
   void addModulator(final NTIInstrumentZoneModulator modulator)
@@ -22,6 +22,7 @@ import com.io7m.jnoisetype.api.NTPresetIndex;
 import com.io7m.jnoisetype.api.NTPresetName;
 import com.io7m.jnoisetype.api.NTPresetType;
 import com.io7m.jnoisetype.api.NTPresetZoneType;
+
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -33,18 +34,22 @@ final class NTIPreset implements NTPresetType
   private final NTFontType font;
   private final NTBankIndex bank;
   private final NTPresetIndex index;
+  private final int program;
   private final List<NTPresetZoneType> zones_read;
   private final List<NTIPresetZone> zones;
+  private volatile NTIZoneLoaderType zone_loader;
 
   NTIPreset(
     final NTFontType in_font,
     final NTBankIndex in_bank,
     final NTPresetIndex preset_index,
+    final int in_program,
     final NTPresetName in_name)
   {
     this.font = Objects.requireNonNull(in_font, "font");
     this.bank = Objects.requireNonNull(in_bank, "bank");
     this.index = Objects.requireNonNull(preset_index, "preset_index");
+    this.program = in_program;
     this.name = Objects.requireNonNull(in_name, "name");
     this.zones = new ArrayList<>();
     this.zones_read = Collections.unmodifiableList(this.zones);
@@ -62,7 +67,8 @@ final class NTIPreset implements NTPresetType
     final NTIPreset ntiPreset = (NTIPreset) o;
     return this.name.equals(ntiPreset.name)
       && this.bank.equals(ntiPreset.bank)
-      && this.index.equals(ntiPreset.index);
+      && this.index.equals(ntiPreset.index)
+      && this.program == ntiPreset.program;
   }
 
   @Override
@@ -98,6 +104,12 @@ final class NTIPreset implements NTPresetType
     return this.index;
   }
 
+  @Override
+  public int program()
+  {
+    return this.program;
+  }
+
   @Override
   public NTPresetName name()
   {
@@ -107,9 +119,28 @@ final class NTIPreset implements NTPresetType
   @Override
   public List<NTPresetZoneType> zones()
   {
+    if (this.zone_loader != null) {
+      this.loadZones();
+    }
     return this.zones_read;
   }
 
+  private void loadZones()
+  {
+    synchronized (this.zones) {
+      final var loader = this.zone_loader;
+      if (loader != null) {
+        loader.load();
+        this.zone_loader = null;
+      }
+    }
+  }
+
+  void setZoneLoader(final NTIZoneLoaderType loader)
+  {
+    this.zone_loader = Objects.requireNonNull(loader, "loader");
+  }
+
   @Override
   public NTFontType font()
   {
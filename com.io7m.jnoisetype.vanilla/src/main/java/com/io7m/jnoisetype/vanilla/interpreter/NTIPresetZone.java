@@ -17,6 +17,8 @@
 package com.io7m.jnoisetype.vanilla.interpreter;
 
 import com.io7m.jaffirm.core.Preconditions;
+import com.io7m.jnoisetype.api.NTGenerators;
+import com.io7m.jnoisetype.api.NTInstrumentType;
 import com.io7m.jnoisetype.api.NTPresetType;
 import com.io7m.jnoisetype.api.NTPresetZoneGeneratorType;
 import com.io7m.jnoisetype.api.NTPresetZoneModulatorType;
@@ -26,15 +28,19 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 final class NTIPresetZone implements NTPresetZoneType
 {
   private final NTIPreset preset;
   private final List<NTIPresetZoneGenerator> generators;
+  private final NTIPresetZoneGenerator[] generators_by_operator;
   private final List<NTPresetZoneGeneratorType> generators_read;
   private final List<NTIPresetZoneModulator> modulators;
   private final List<NTPresetZoneModulatorType> modulators_read;
   private final int index;
+  private long generators_present;
+  private Optional<NTInstrumentType> linked_instrument;
 
   NTIPresetZone(
     final NTIPreset in_preset,
@@ -49,6 +55,9 @@ final class NTIPresetZone implements NTPresetZoneType
     this.index = in_index;
     this.generators = new ArrayList<>();
     this.generators_read = Collections.unmodifiableList(this.generators);
+    this.generators_by_operator =
+      new NTIPresetZoneGenerator[NTGenerators.STANDARD_GENERATOR_COUNT];
+    this.linked_instrument = Optional.empty();
     this.modulators = new ArrayList<>();
     this.modulators_read = Collections.unmodifiableList(this.modulators);
   }
@@ -123,9 +132,51 @@ final class NTIPresetZone implements NTPresetZoneType
     return this.isFirstZone() && this.lastGeneratorIsNotInstrument();
   }
 
+  @Override
+  public Optional<NTPresetZoneGeneratorType> generatorFor(final int operator)
+  {
+    if (operator >= 0 && operator < this.generators_by_operator.length) {
+      return Optional.ofNullable(this.generators_by_operator[operator]);
+    }
+
+    for (var gen_index = this.generators.size() - 1; gen_index >= 0; --gen_index) {
+      final var generator = this.generators.get(gen_index);
+      if (generator.generatorOperator().index().value() == operator) {
+        return Optional.of(generator);
+      }
+    }
+    return Optional.empty();
+  }
+
+  @Override
+  public boolean hasGenerator(final int operator)
+  {
+    if (operator >= 0 && operator < this.generators_by_operator.length) {
+      return (this.generators_present & (1L << operator)) != 0L;
+    }
+    return this.generatorFor(operator).isPresent();
+  }
+
+  @Override
+  public Optional<NTInstrumentType> linkedInstrument()
+  {
+    return this.linked_instrument;
+  }
+
+  void setLinkedInstrument(final NTInstrumentType instrument)
+  {
+    this.linked_instrument = Optional.of(instrument);
+  }
+
   void addGenerator(final NTIPresetZoneGenerator generator)
   {
     this.generators.add(generator);
+
+    final var operator = generator.generatorOperator().index().value();
+    if (operator < this.generators_by_operator.length) {
+      this.generators_by_operator[operator] = generator;
+      this.generators_present |= 1L << operator;
+    }
   }
 
   void addModulator(final NTIPresetZoneModulator modulator)
@@ -20,24 +20,31 @@ import com.io7m.jnoisetype.api.NTFontType;
 import com.io7m.jnoisetype.api.NTSampleDescription;
 import com.io7m.jnoisetype.api.NTSampleType;
 import com.io7m.jnoisetype.parser.api.NTParsedSample;
+import com.io7m.jnoisetype.parser.api.NTSampleDataSourceType;
 import com.io7m.jranges.RangeHalfOpenL;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Objects;
+import java.util.Optional;
 
 final class NTISample implements NTSampleType
 {
   private final NTIFont font;
   private final NTParsedSample sample;
   private final RangeHalfOpenL byte_range;
+  private final NTSampleDataSourceType data;
 
   NTISample(
     final NTIFont in_font,
     final NTParsedSample in_sample,
-    final RangeHalfOpenL in_byte_range)
+    final RangeHalfOpenL in_byte_range,
+    final NTSampleDataSourceType in_data)
   {
     this.font = Objects.requireNonNull(in_font, "font");
     this.sample = Objects.requireNonNull(in_sample, "sample");
     this.byte_range = Objects.requireNonNull(in_byte_range, "byte_range");
+    this.data = Objects.requireNonNull(in_data, "data");
   }
 
   @Override
@@ -90,4 +97,18 @@ final class NTISample implements NTSampleType
   {
     return this.byte_range;
   }
+
+  @Override
+  public ByteBuffer dataBytes()
+    throws IOException
+  {
+    return this.data.bytes(this.byte_range);
+  }
+
+  @Override
+  public Optional<ByteBuffer> dataLowBytes()
+    throws IOException
+  {
+    return this.data.lowBytes(this.byte_range);
+  }
 }
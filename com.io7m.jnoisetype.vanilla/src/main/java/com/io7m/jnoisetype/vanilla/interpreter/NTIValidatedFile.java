@@ -0,0 +1,429 @@
+/*
+ * Copyright © 2019 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jnoisetype.vanilla.interpreter;
+
+import com.io7m.jnoisetype.api.NTRanges;
+import com.io7m.jnoisetype.api.NTSource;
+import com.io7m.jnoisetype.parser.api.NTParseException;
+import com.io7m.jnoisetype.parser.api.NTParsedFile;
+import com.io7m.jnoisetype.vanilla.NTInvariants;
+import com.io7m.jranges.RangeCheck;
+import com.io7m.jranges.RangeCheckException;
+import com.io7m.jranges.RangeHalfOpenI;
+
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+/**
+ * A parsed file whose preset and instrument structure has been validated. Every check that the
+ * interpreter would otherwise make for each zone, generator, and modulator is made once by
+ * {@link #validate(NTParsedFile, boolean)}: the terminal records exist, the zone, generator, and
+ * modulator ranges of every preset and instrument are well-formed, and every index in those
+ * ranges is in bounds. The range accessors of a validated file therefore perform no checks.
+ */
+
+final class NTIValidatedFile
+{
+  private static final IntFunction<String> INDICES = Integer::toUnsignedString;
+
+  private final NTParsedFile file;
+
+  private NTIValidatedFile(
+    final NTParsedFile in_file)
+  {
+    this.file = Objects.requireNonNull(in_file, "file");
+  }
+
+  /**
+   * Validate the given file.
+   *
+   * @param file              The parsed file
+   * @param terminals_checked {@code true} if the parser that produced the file has already
+   *                          checked that every terminal record exists
+   *
+   * @return A validated file
+   *
+   * @throws NTParseException If the file is malformed
+   */
+
+  static NTIValidatedFile validate(
+    final NTParsedFile file,
+    final boolean terminals_checked)
+    throws NTParseException
+  {
+    Objects.requireNonNull(file, "file");
+    validateInstruments(file, terminals_checked);
+    validatePresets(file, terminals_checked);
+    return new NTIValidatedFile(file);
+  }
+
+  private static void validatePresets(
+    final NTParsedFile file,
+    final boolean terminals_checked)
+    throws NTParseException
+  {
+    final var phdr = file.presetTable();
+    final var size = phdr.size();
+    final var pbag = file.presetZoneTable();
+    final var pbag_source = pbag.source();
+    final var pbag_size = pbag.size();
+    final var pgen = file.presetZoneGeneratorTable();
+    final var pgen_source = pgen.source();
+    final var pmod = file.presetZoneModulatorTable();
+    final var pmod_source = pmod.source();
+
+    if (!terminals_checked) {
+      NTInvariants.checkNamedTerminalRecordExists(
+        size,
+        phdr::record,
+        "EOP",
+        "7.2",
+        file.presetRecordsSource());
+
+      if (size > 1) {
+        NTInvariants.checkUnnamedTerminalRecordExists(pbag_size, "7.3", pbag_source);
+      }
+    }
+
+    final IntFunction<String> names = index -> phdr.name(index).value();
+    var zones_checked = terminals_checked;
+    var zone_lower = size > 1 ? phdr.presetBagIndex(0) : 0;
+
+    for (var preset_index = 0; preset_index + 1 < size; ++preset_index) {
+      final var zone_upper = phdr.presetBagIndex(preset_index + 1);
+      checkRange("Preset", names, preset_index, "Zone", zone_lower, zone_upper, pbag_source);
+
+      if (zone_upper - zone_lower >= 2) {
+        if (!zones_checked) {
+          NTInvariants.checkUnnamedTerminalRecordExists(pgen.size(), "7.5", pgen_source);
+          NTInvariants.checkUnnamedTerminalRecordExists(pmod.size(), "7.4", pmod_source);
+          zones_checked = true;
+        }
+
+        for (var zone = zone_lower; zone < zone_upper; ++zone) {
+          checkIndex(
+            "preset zone", INDICES, preset_index, "Zone", pbag_size, pbag_source, zone);
+          checkIndex(
+            "preset zone", INDICES, preset_index, "Zone", pbag_size, pbag_source, zone + 1);
+
+          final var gen_lower = pbag.generatorIndex(zone);
+          final var gen_upper = pbag.generatorIndex(zone + 1);
+          checkRange(
+            "Preset zone", names, preset_index, "Generator", gen_lower, gen_upper, pgen_source);
+          checkRangeIndices(
+            "preset zone", names, preset_index, "Generator index", pgen.size(), pgen_source,
+            gen_lower, gen_upper);
+
+          final var mod_lower = pbag.modulatorIndex(zone);
+          final var mod_upper = pbag.modulatorIndex(zone + 1);
+          checkRange(
+            "Preset zone", names, preset_index, "Modulator", mod_lower, mod_upper, pmod_source);
+          checkRangeIndices(
+            "preset zone", names, preset_index, "Modulator index", pmod.size(), pmod_source,
+            mod_lower, mod_upper);
+        }
+      }
+
+      zone_lower = zone_upper;
+    }
+  }
+
+  private static void validateInstruments(
+    final NTParsedFile file,
+    final boolean terminals_checked)
+    throws NTParseException
+  {
+    final var inst = file.instrumentTable();
+    final var size = inst.size();
+    final var ibag = file.instrumentZoneTable();
+    final var ibag_source = ibag.source();
+    final var ibag_size = ibag.size();
+    final var igen = file.instrumentZoneGeneratorTable();
+    final var igen_source = igen.source();
+    final var imod = file.instrumentZoneModulatorTable();
+    final var imod_source = imod.source();
+
+    if (!terminals_checked) {
+      NTInvariants.checkNamedTerminalRecordExists(
+        size,
+        inst::record,
+        "EOI",
+        "7.6",
+        file.instrumentRecordsSource());
+
+      if (size > 1) {
+        NTInvariants.checkUnnamedTerminalRecordExists(ibag_size, "7.7", ibag_source);
+      }
+    }
+
+    final IntFunction<String> names = index -> inst.name(index).value();
+    var zones_checked = terminals_checked;
+    var zone_lower = size > 1 ? inst.instrumentZoneIndex(0) : 0;
+
+    for (var instrument_index = 0; instrument_index + 1 < size; ++instrument_index) {
+      final var zone_upper = inst.instrumentZoneIndex(instrument_index + 1);
+      checkRange(
+        "Instrument", names, instrument_index, "Zone", zone_lower, zone_upper, ibag_source);
+
+      if (zone_upper - zone_lower >= 2) {
+        if (!zones_checked) {
+          NTInvariants.checkUnnamedTerminalRecordExists(igen.size(), "7.9", igen_source);
+          NTInvariants.checkUnnamedTerminalRecordExists(imod.size(), "7.8", imod_source);
+          zones_checked = true;
+        }
+
+        for (var zone = zone_lower; zone < zone_upper; ++zone) {
+          checkIndex(
+            "instrument zone", INDICES, instrument_index, "Zone", ibag_size, ibag_source, zone);
+          checkIndex(
+            "instrument zone", INDICES, instrument_index, "Zone", ibag_size, ibag_source, zone + 1);
+
+          final var gen_lower = ibag.generatorIndex(zone);
+          final var gen_upper = ibag.generatorIndex(zone + 1);
+          checkRange(
+            "Instrument zone", names, instrument_index, "Generator", gen_lower, gen_upper,
+            igen_source);
+          checkRangeIndices(
+            "instrument zone", names, instrument_index, "Generator index", igen.size(),
+            igen_source, gen_lower, gen_upper);
+
+          final var mod_lower = ibag.modulatorIndex(zone);
+          final var mod_upper = ibag.modulatorIndex(zone + 1);
+          checkRange(
+            "Instrument zone", names, instrument_index, "Modulator", mod_lower, mod_upper,
+            imod_source);
+          checkRangeIndices(
+            "instrument zone", names, instrument_index, "Modulator index", imod.size(),
+            imod_source, mod_lower, mod_upper);
+        }
+      }
+
+      zone_lower = zone_upper;
+    }
+  }
+
+  /**
+   * Check every index in a range. Ranges are ascending, and so only the first index that is
+   * not less than the upper bound needs to be checked.
+   */
+
+  private static void checkRangeIndices(
+    final String container_name,
+    final IntFunction<String> containers,
+    final int container,
+    final String name,
+    final int upper_bound,
+    final NTSource source,
+    final int range_lower,
+    final int range_upper)
+    throws NTParseException
+  {
+    final var first_invalid = Math.max(range_lower, upper_bound);
+    if (first_invalid < range_upper) {
+      checkIndex(container_name, containers, container, name, upper_bound, source, first_invalid);
+    }
+  }
+
+  /**
+   * Check that both ends of a range are unsigned 16-bit values and that the range is not
+   * inverted. The name of the containing
+   * record is only decoded if the check fails.
+   */
+
+  private static void checkRange(
+    final String container_name,
+    final IntFunction<String> containers,
+    final int container,
+    final String range_name,
+    final int range_lo,
+    final int range_hi,
+    final NTSource source)
+    throws NTParseException
+  {
+    final var valid = NTRanges.UNSIGNED_16_RANGE;
+    if (valid.includesValue(range_lo) && valid.includesValue(range_hi) && range_lo <= range_hi) {
+      return;
+    }
+
+    try {
+      RangeCheck.checkIncludedInInteger(range_lo, range_name, valid, "Valid " + range_name);
+      RangeCheck.checkIncludedInInteger(range_hi, range_name, valid, "Valid " + range_name);
+      RangeHalfOpenI.of(range_lo, range_hi);
+    } catch (final RangeCheckException e) {
+      final var separator = System.lineSeparator();
+      throw new NTParseException(
+        new StringBuilder(64)
+          .append("Corrupt ")
+          .append(container_name.toLowerCase())
+          .append(": ")
+          .append(range_name)
+          .append(" range is malformed")
+          .append(separator)
+
+          .append("  ")
+          .append(container_name)
+          .append(": ")
+          .append(containers.apply(container))
+          .append(separator)
+
+          .append("  ")
+          .append(range_name)
+          .append(" lower index: ")
+          .append(range_lo)
+          .append(separator)
+
+          .append("  ")
+          .append(range_name)
+          .append(" lower index: ")
+          .append(range_hi)
+          .append(separator)
+          .toString(),
+        e,
+        source.source(),
+        source.offset());
+    }
+  }
+
+  private static void checkIndex(
+    final String container_name,
+    final IntFunction<String> containers,
+    final int container,
+    final String name,
+    final int upper_bound,
+    final NTSource source,
+    final int index)
+    throws NTParseException
+  {
+    if (index >= upper_bound) {
+      final var separator = System.lineSeparator();
+      throw new NTParseException(
+        new StringBuilder(64)
+          .append("Corrupted ")
+          .append(container_name)
+          .append(": ")
+          .append(name)
+          .append(" out of range")
+          .append(separator)
+          .append("  ")
+          .append(container_name)
+          .append(": ")
+          .append(containers.apply(container))
+          .append(separator)
+          .append("  ")
+          .append(name)
+          .append(": ")
+          .append(index)
+          .append(separator)
+          .append("  Allowed range: [0, ")
+          .append(upper_bound)
+          .append(")")
+          .append(separator)
+          .toString(),
+        source.source(),
+        source.offset());
+    }
+  }
+
+  /**
+   * @return The underlying parsed file
+   */
+
+  NTParsedFile file()
+  {
+    return this.file;
+  }
+
+  /**
+   * @param preset The index of the preset record
+   *
+   * @return The range of zones that belong to the preset
+   */
+
+  RangeHalfOpenI presetZones(
+    final int preset)
+  {
+    final var phdr = this.file.presetTable();
+    return RangeHalfOpenI.of(phdr.presetBagIndex(preset), phdr.presetBagIndex(preset + 1));
+  }
+
+  /**
+   * @param instrument The index of the instrument record
+   *
+   * @return The range of zones that belong to the instrument
+   */
+
+  RangeHalfOpenI instrumentZones(
+    final int instrument)
+  {
+    final var inst = this.file.instrumentTable();
+    return RangeHalfOpenI.of(
+      inst.instrumentZoneIndex(instrument),
+      inst.instrumentZoneIndex(instrument + 1));
+  }
+
+  /**
+   * @param zone The index of a zone within a validated preset zone range
+   *
+   * @return The range of generators that belong to the zone
+   */
+
+  RangeHalfOpenI presetZoneGenerators(
+    final int zone)
+  {
+    final var pbag = this.file.presetZoneTable();
+    return RangeHalfOpenI.of(pbag.generatorIndex(zone), pbag.generatorIndex(zone + 1));
+  }
+
+  /**
+   * @param zone The index of a zone within a validated preset zone range
+   *
+   * @return The range of modulators that belong to the zone
+   */
+
+  RangeHalfOpenI presetZoneModulators(
+    final int zone)
+  {
+    final var pbag = this.file.presetZoneTable();
+    return RangeHalfOpenI.of(pbag.modulatorIndex(zone), pbag.modulatorIndex(zone + 1));
+  }
+
+  /**
+   * @param zone The index of a zone within a validated instrument zone range
+   *
+   * @return The range of generators that belong to the zone
+   */
+
+  RangeHalfOpenI instrumentZoneGenerators(
+    final int zone)
+  {
+    final var ibag = this.file.instrumentZoneTable();
+    return RangeHalfOpenI.of(ibag.generatorIndex(zone), ibag.generatorIndex(zone + 1));
+  }
+
+  /**
+   * @param zone The index of a zone within a validated instrument zone range
+   *
+   * @return The range of modulators that belong to the zone
+   */
+
+  RangeHalfOpenI instrumentZoneModulators(
+    final int zone)
+  {
+    final var ibag = this.file.instrumentZoneTable();
+    return RangeHalfOpenI.of(ibag.modulatorIndex(zone), ibag.modulatorIndex(zone + 1));
+  }
+}
@@ -19,38 +19,32 @@ package com.io7m.jnoisetype.vanilla.interpreter;
 import com.io7m.jnoisetype.api.NTBankIndex;
 import com.io7m.jnoisetype.api.NTFontType;
 import com.io7m.jnoisetype.api.NTGenerators;
-import com.io7m.jnoisetype.api.NTGenericAmount;
+import com.io7m.jnoisetype.api.NTGenericAmounts;
 import com.io7m.jnoisetype.api.NTInstrumentIndex;
 import com.io7m.jnoisetype.api.NTNamedType;
 import com.io7m.jnoisetype.api.NTPresetIndex;
 import com.io7m.jnoisetype.api.NTPresetType;
-import com.io7m.jnoisetype.api.NTRanges;
-import com.io7m.jnoisetype.api.NTSource;
 import com.io7m.jnoisetype.api.NTTransforms;
 import com.io7m.jnoisetype.parser.api.NTInterpreterProviderType;
 import com.io7m.jnoisetype.parser.api.NTInterpreterType;
 import com.io7m.jnoisetype.parser.api.NTParseException;
 import com.io7m.jnoisetype.parser.api.NTParsedFile;
-import com.io7m.jnoisetype.parser.api.NTParsedInstrument;
-import com.io7m.jnoisetype.parser.api.NTParsedInstrumentZone;
-import com.io7m.jnoisetype.parser.api.NTParsedInstrumentZoneGenerator;
-import com.io7m.jnoisetype.parser.api.NTParsedInstrumentZoneModulator;
-import com.io7m.jnoisetype.parser.api.NTParsedPreset;
-import com.io7m.jnoisetype.parser.api.NTParsedPresetZone;
-import com.io7m.jnoisetype.parser.api.NTParsedPresetZoneGenerator;
-import com.io7m.jnoisetype.parser.api.NTParsedPresetZoneModulator;
+import com.io7m.jnoisetype.parser.api.NTParsedGeneratorTableType;
+import com.io7m.jnoisetype.parser.api.NTParsedModulatorTableType;
 import com.io7m.jnoisetype.parser.api.NTParsedSample;
+import com.io7m.jnoisetype.parser.api.NTSampleDataSourceType;
 import com.io7m.jnoisetype.vanilla.NTInvariants;
-import com.io7m.jranges.RangeCheck;
-import com.io7m.jranges.RangeCheckException;
-import com.io7m.jranges.RangeHalfOpenI;
 import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.function.IntSupplier;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * An interpreter of parsed SoundFont® values.
@@ -61,6 +55,9 @@ public final class NTInterpreters implements NTInterpreterProviderType
 {
   private static final Logger LOG = LoggerFactory.getLogger(NTInterpreters.class);
 
+  private static final int GENERATOR_INSTRUMENT = 41;
+  private static final int GENERATOR_SAMPLE_ID = 53;
+
   /**
    * Construct a provider.
    */
@@ -71,7 +68,8 @@ public final class NTInterpreters implements NTInterpreterProviderType
   }
 
   /**
-   * Interpret a parsed file.
+   * Interpret a parsed file. If the file reports that its terminal records have already been
+   * checked, they are not checked again.
    *
    * @param file The file
    *
@@ -91,7 +89,7 @@ public final class NTInterpreters implements NTInterpreterProviderType
   public NTInterpreterType createInterpreter(
     final NTParsedFile file)
   {
-    return new Interpreter(Objects.requireNonNull(file, "file"));
+    return new Interpreter(file);
   }
 
   private static boolean isNamedTerminalRecord(
@@ -103,18 +101,41 @@ public final class NTInterpreters implements NTInterpreterProviderType
     return index + 1 == count && Objects.equals(named.nameText(), name);
   }
 
+  /**
+   * A function that interprets the preset or instrument record at a given index.
+   *
+   * @param <T> The type of interpreted values
+   */
+
+  private interface RecordInterpreterType<T>
+  {
+    T interpret(int index);
+  }
+
   private static final class Interpreter implements NTInterpreterType
   {
+    /**
+     * The number of presets or instruments interpreted by each task during parallel
+     * interpretation.
+     */
+
+    private static final int RECORDS_PER_TASK = 8;
+
     private final NTParsedFile file;
+    private final boolean terminals_checked;
+    private Optional<Executor> executor;
 
     private Interpreter(
       final NTParsedFile in_file)
     {
       this.file = Objects.requireNonNull(in_file, "file");
+      this.terminals_checked = this.file.terminalRecordsChecked();
+      this.executor = Optional.empty();
     }
 
     private static NTISample interpretSample(
       final NTIFont font,
+      final NTSampleDataSourceType data,
       final int sample_index,
       final NTParsedSample sample)
     {
@@ -127,338 +148,153 @@ public final class NTInterpreters implements NTInterpreterProviderType
           description.kind());
       }
 
-      return new NTISample(font, sample, sample.dataByteRange());
-    }
-
-    private static RangeHalfOpenI makeRange(
-      final String container_name,
-      final String container,
-      final String range_name,
-      final IntSupplier curr,
-      final IntSupplier next,
-      final NTSource source)
-      throws NTParseException
-    {
-      final RangeHalfOpenI mod_range;
-      final var range_lo = curr.getAsInt();
-      final var range_hi = next.getAsInt();
-
-      try {
-        RangeCheck.checkIncludedInInteger(
-          range_lo,
-          range_name,
-          NTRanges.UNSIGNED_16_RANGE,
-          "Valid " + range_name);
-        RangeCheck.checkIncludedInInteger(
-          range_hi,
-          range_name,
-          NTRanges.UNSIGNED_16_RANGE,
-          "Valid " + range_name);
-
-        mod_range = RangeHalfOpenI.of(range_lo, range_hi);
-      } catch (final RangeCheckException e) {
-        final var separator = System.lineSeparator();
-        throw new NTParseException(
-          new StringBuilder(64)
-            .append("Corrupt ")
-            .append(container_name.toLowerCase())
-            .append(": ")
-            .append(range_name)
-            .append(" range is malformed")
-            .append(separator)
-
-            .append("  ")
-            .append(container_name)
-            .append(": ")
-            .append(container)
-            .append(separator)
-
-            .append("  ")
-            .append(range_name)
-            .append(" lower index: ")
-            .append(range_lo)
-            .append(separator)
-
-            .append("  ")
-            .append(range_name)
-            .append(" lower index: ")
-            .append(range_hi)
-            .append(separator)
-            .toString(),
-          e,
-          source.source(),
-          source.offset());
-      }
-      return mod_range;
+      return new NTISample(font, sample, sample.dataByteRange(), data);
     }
 
     private static NTIInstrumentZoneGenerator interpretInstrumentZoneGenerator(
       final NTIInstrumentZone zone,
-      final NTParsedInstrumentZoneGenerator gen_curr)
+      final NTParsedGeneratorTableType igen,
+      final int gen_index)
     {
       final var named_generator =
-        NTGenerators.find(gen_curr.generatorOperator());
+        NTGenerators.find(igen.generatorOperator(gen_index));
       final var amount =
-        NTGenericAmount.of(gen_curr.amount().value());
+        NTGenericAmounts.of(igen.amount(gen_index));
 
       return new NTIInstrumentZoneGenerator(zone, named_generator, amount);
     }
 
-    private static void checkPresetZoneIndex(
-      final int preset_index,
-      final List<NTParsedPresetZone> pbag,
-      final NTSource pbag_source,
-      final int index)
-      throws NTParseException
-    {
-      checkIndex(
-        "preset zone",
-        Integer.toUnsignedString(preset_index),
-        "Zone",
-        pbag.size(),
-        pbag_source,
-        index);
-    }
-
-    private static void checkInstrumentZoneIndex(
-      final int instrument_index,
-      final List<NTParsedInstrumentZone> ibag,
-      final NTSource ibag_source,
-      final int index)
+    @Override
+    public NTFontType interpret()
       throws NTParseException
     {
-      checkIndex(
-        "instrument zone",
-        Integer.toUnsignedString(instrument_index),
-        "Zone",
-        ibag.size(),
-        ibag_source,
-        index);
+      this.executor = Optional.empty();
+      return this.interpretFont(false);
     }
 
-    private static void checkIndex(
-      final String container_name,
-      final String container_index,
-      final String name,
-      final int upper_bound,
-      final NTSource source,
-      final int index)
+    @Override
+    public NTFontType interpret(
+      final Executor in_executor)
       throws NTParseException
     {
-      if (index >= upper_bound) {
-        final var separator = System.lineSeparator();
-        throw new NTParseException(
-          new StringBuilder(64)
-            .append("Corrupted ")
-            .append(container_name)
-            .append(": ")
-            .append(name)
-            .append(" out of range")
-            .append(separator)
-            .append("  ")
-            .append(container_name)
-            .append(": ")
-            .append(container_index)
-            .append(separator)
-            .append("  ")
-            .append(name)
-            .append(": ")
-            .append(index)
-            .append(separator)
-            .append("  Allowed range: [0, ")
-            .append(upper_bound)
-            .append(")")
-            .append(separator)
-            .toString(),
-          source.source(),
-          source.offset());
-      }
+      this.executor = Optional.of(Objects.requireNonNull(in_executor, "executor"));
+      return this.interpretFont(false);
     }
 
-    private static void checkPresetZoneModulatorIndex(
-      final NTIPreset preset,
-      final List<NTParsedPresetZoneModulator> pmod,
-      final NTSource pmod_source,
-      final int mod_index)
+    @Override
+    public NTFontType interpretLazily()
       throws NTParseException
     {
-      checkIndex(
-        "preset zone",
-        preset.nameText(),
-        "Modulator index",
-        pmod.size(),
-        pmod_source,
-        mod_index);
+      this.executor = Optional.empty();
+      return this.interpretFont(true);
     }
 
-    private static void checkPresetZoneGeneratorIndex(
-      final NTIPreset preset,
-      final List<NTParsedPresetZoneGenerator> pgen,
-      final NTSource pgen_source,
-      final int gen_index)
-      throws NTParseException
-    {
-      checkIndex(
-        "preset zone",
-        preset.nameText(),
-        "Generator index",
-        pgen.size(),
-        pgen_source,
-        gen_index);
-    }
+    /**
+     * Interpret the records in the range {@code [0, count)}. If an executor has been provided,
+     * the records are split into ranges that are interpreted concurrently. The results are
+     * returned in index order, exactly as if the records had been interpreted sequentially.
+     */
 
-    private static void checkInstrumentZoneModulatorIndex(
-      final NTIIInstrument instrument,
-      final List<NTParsedInstrumentZoneModulator> imod,
-      final NTSource imod_source,
-      final int mod_index)
-      throws NTParseException
+    private <T> List<T> interpretRecords(
+      final int count,
+      final RecordInterpreterType<T> interpreter)
     {
-      checkIndex(
-        "instrument zone",
-        instrument.nameText(),
-        "Modulator index",
-        imod.size(),
-        imod_source,
-        mod_index);
-    }
+      if (this.executor.isEmpty() || count <= RECORDS_PER_TASK) {
+        return interpretRecordRange(interpreter, 0, count);
+      }
 
-    private static void checkInstrumentZoneGeneratorIndex(
-      final NTIIInstrument instrument,
-      final List<NTParsedInstrumentZoneGenerator> igen,
-      final NTSource igen_source,
-      final int gen_index)
-      throws NTParseException
-    {
-      checkIndex(
-        "instrument zone",
-        instrument.nameText(),
-        "Generator index",
-        igen.size(),
-        igen_source,
-        gen_index);
-    }
+      final var exec = this.executor.get();
+      final var tasks = new ArrayList<CompletableFuture<List<T>>>(
+        (count / RECORDS_PER_TASK) + 1);
 
-    private static RangeHalfOpenI makePresetZoneModulatorRange(
-      final NTIPreset preset,
-      final NTParsedPresetZone zone_curr,
-      final NTParsedPresetZone zone_next,
-      final NTSource pmod_source)
-      throws NTParseException
-    {
-      return makeRange(
-        "Preset zone",
-        preset.nameText(),
-        "Modulator",
-        zone_curr::modulatorIndex,
-        zone_next::modulatorIndex,
-        pmod_source);
-    }
+      for (var lower = 0; lower < count; lower += RECORDS_PER_TASK) {
+        final var task_lower = lower;
+        final var task_upper = Math.min(count, lower + RECORDS_PER_TASK);
+        tasks.add(CompletableFuture.supplyAsync(
+          () -> interpretRecordRange(interpreter, task_lower, task_upper), exec));
+      }
 
-    private static RangeHalfOpenI makePresetZoneGeneratorRange(
-      final NTIPreset preset,
-      final NTParsedPresetZone zone_curr,
-      final NTParsedPresetZone zone_next,
-      final NTSource pgen_source)
-      throws NTParseException
-    {
-      return makeRange(
-        "Preset zone",
-        preset.nameText(),
-        "Generator",
-        zone_curr::generatorIndex,
-        zone_next::generatorIndex,
-        pgen_source);
+      final var results = new ArrayList<T>(count);
+      for (final var task : tasks) {
+        results.addAll(joinRecordTask(task));
+      }
+      return results;
     }
 
-    private static RangeHalfOpenI makeInstrumentZoneModulatorRange(
-      final NTIIInstrument preset,
-      final NTParsedInstrumentZone zone_curr,
-      final NTParsedInstrumentZone zone_next,
-      final NTSource pmod_source)
-      throws NTParseException
+    private static <T> List<T> interpretRecordRange(
+      final RecordInterpreterType<T> interpreter,
+      final int lower,
+      final int upper)
     {
-      return makeRange(
-        "Instrument zone",
-        preset.nameText(),
-        "Modulator",
-        zone_curr::modulatorIndex,
-        zone_next::modulatorIndex,
-        pmod_source);
+      final var values = new ArrayList<T>(upper - lower);
+      for (var index = lower; index < upper; ++index) {
+        values.add(interpreter.interpret(index));
+      }
+      return values;
     }
 
-    private static RangeHalfOpenI makeInstrumentZoneGeneratorRange(
-      final NTIIInstrument preset,
-      final NTParsedInstrumentZone zone_curr,
-      final NTParsedInstrumentZone zone_next,
-      final NTSource pgen_source)
-      throws NTParseException
+    private static <T> List<T> joinRecordTask(
+      final CompletableFuture<List<T>> task)
     {
-      return makeRange(
-        "Instrument zone",
-        preset.nameText(),
-        "Generator",
-        zone_curr::generatorIndex,
-        zone_next::generatorIndex,
-        pgen_source);
+      try {
+        return task.join();
+      } catch (final CompletionException e) {
+        final var cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        throw e;
+      }
     }
 
-    @Override
-    public NTFontType interpret()
+    private NTFontType interpretFont(
+      final boolean lazy)
       throws NTParseException
     {
       final var font = new NTIFont(this.file.info());
       this.interpretSamples(font);
-      this.interpretInstruments(font);
-      this.interpretPresets(font);
+      final var validated = NTIValidatedFile.validate(this.file, this.terminals_checked);
+      this.interpretInstruments(font, validated, lazy);
+      this.interpretPresets(font, validated, lazy);
+      font.buildIndexes();
       return font;
     }
 
-    private void interpretPresets(final NTIFont font)
-      throws NTParseException
+    private void interpretPresets(
+      final NTIFont font,
+      final NTIValidatedFile validated,
+      final boolean lazy)
     {
-      final var phdr = this.file.phdr();
+      final var phdr = validated.file().presetTable();
+      final var size = phdr.size();
 
       if (LOG.isDebugEnabled()) {
         LOG.debug(
           "interpreting {} preset records (including terminal record)",
-          Integer.valueOf(phdr.size()));
+          Integer.valueOf(size));
       }
 
-      NTInvariants.checkNamedTerminalRecordExists(
-        phdr,
-        "EOP",
-        "7.2",
-        this.file.presetRecordsSource());
-
-      for (var preset_index = 0; preset_index < phdr.size(); ++preset_index) {
-        final var input_curr = phdr.get(preset_index);
-        if (isNamedTerminalRecord(
-          preset_index,
-          phdr.size(),
-          input_curr,
-          "EOP")) {
-          break;
-        }
-
-        final var input_next = phdr.get(preset_index + 1);
-        font.addPreset(this.interpretPreset(
+      final var presets =
+        this.interpretRecords(size - 1, preset_index -> interpretPreset(
           font,
+          validated,
           preset_index,
-          input_curr,
-          input_next));
+          lazy));
+
+      for (final var preset : presets) {
+        font.addPreset(preset);
       }
     }
 
-    private NTPresetType interpretPreset(
+    private static NTPresetType interpretPreset(
       final NTIFont font,
+      final NTIValidatedFile validated,
       final int preset_index,
-      final NTParsedPreset input_preset_curr,
-      final NTParsedPreset input_preset_next)
-      throws NTParseException
+      final boolean lazy)
     {
+      final var phdr = validated.file().presetTable();
       final var bankIndex =
-        NTBankIndex.of((int) (char) input_preset_curr.bank());
+        NTBankIndex.of((int) (char) phdr.bank(preset_index));
       final NTPresetIndex presetIndex =
         NTPresetIndex.of(preset_index);
 
@@ -467,78 +303,65 @@ public final class NTInterpreters implements NTInterpreterProviderType
           font,
           bankIndex,
           presetIndex,
-          input_preset_curr.name());
+          (int) (char) phdr.preset(preset_index),
+          phdr.name(preset_index));
 
-      final var pbag = this.file.pbag();
-      final var pbag_source = this.file.presetZoneRecordsSource();
+      if (lazy) {
+        preset.setZoneLoader(() -> interpretPresetZones(validated, preset_index, preset));
+      } else {
+        interpretPresetZones(validated, preset_index, preset);
+      }
+      return preset;
+    }
 
-      final var zone_range =
-        makeRange(
-          "Preset",
-          preset.nameText(),
-          "Zone",
-          input_preset_curr::presetBagIndex,
-          input_preset_next::presetBagIndex,
-          pbag_source);
+    private static void interpretPresetZones(
+      final NTIValidatedFile validated,
+      final int preset_index,
+      final NTIPreset preset)
+    {
+      final var zone_range = validated.presetZones(preset_index);
 
       if (LOG.isTraceEnabled()) {
         LOG.trace(
           "preset [{}][\"{}\"] zone range [{}, {}) ({} zones)",
           Integer.valueOf(preset_index),
-          input_preset_curr.name().value(),
+          preset.name().value(),
           Integer.valueOf(zone_range.lower()),
           Integer.valueOf(zone_range.upper()),
           Integer.valueOf(zone_range.interval()));
       }
 
-      NTInvariants.checkUnnamedTerminalRecordExists(pbag, "7.7", pbag_source);
-
       if (zone_range.interval() < 2) {
-        return preset;
+        return;
       }
 
       for (var zone_index = zone_range.lower(); zone_index < zone_range.upper(); ++zone_index) {
-        checkPresetZoneIndex(preset_index, pbag, pbag_source, zone_index);
-        final var zone_curr = pbag.get(zone_index);
-        checkPresetZoneIndex(preset_index, pbag, pbag_source, zone_index + 1);
-        final var zone_next = pbag.get(zone_index + 1);
-
         preset.addZone(
-          this.interpretPresetZone(
+          interpretPresetZone(
+            validated,
             preset_index,
             preset,
             zone_index,
-            zone_range.lower(),
-            zone_curr,
-            zone_next));
+            zone_range.lower()));
       }
-
-      return preset;
     }
 
-    private NTIPresetZone interpretPresetZone(
+    private static NTIPresetZone interpretPresetZone(
+      final NTIValidatedFile validated,
       final int preset_index,
       final NTIPreset preset,
       final int zone_index,
-      final int zone_lower,
-      final NTParsedPresetZone zone_curr,
-      final NTParsedPresetZone zone_next)
-      throws NTParseException
+      final int zone_lower)
     {
-      final var pgen = this.file.pgen();
-      final var pmod = this.file.pmod();
-
-      final var pgen_source = this.file.presetZoneGeneratorRecordsSource();
-      NTInvariants.checkUnnamedTerminalRecordExists(pgen, "7.5", pgen_source);
-      final var pmod_source = this.file.presetZoneModulatorRecordsSource();
-      NTInvariants.checkUnnamedTerminalRecordExists(pmod, "7.4", pmod_source);
+      final var pgen = validated.file().presetZoneGeneratorTable();
+      final var pmod = validated.file().presetZoneModulatorTable();
 
       final var zone =
         new NTIPresetZone(preset, zone_index - zone_lower);
       final var gen_range =
-        makePresetZoneGeneratorRange(preset, zone_curr, zone_next, pgen_source);
+        validated.presetZoneGenerators(zone_index);
       final var mod_range =
-        makePresetZoneModulatorRange(preset, zone_curr, zone_next, pmod_source);
+        validated.presetZoneModulators(zone_index);
 
       if (LOG.isTraceEnabled()) {
         LOG.trace(
@@ -552,12 +375,11 @@ public final class NTInterpreters implements NTInterpreterProviderType
       }
 
       for (var gen_index = gen_range.lower(); gen_index < gen_range.upper(); ++gen_index) {
-        checkPresetZoneGeneratorIndex(preset, pgen, pgen_source, gen_index);
-        zone.addGenerator(interpretPresetZoneGenerator(
-          zone,
-          pgen.get(gen_index)));
+        zone.addGenerator(interpretPresetZoneGenerator(zone, pgen, gen_index));
       }
 
+      resolvePresetZoneInstrument(preset, zone);
+
       if (LOG.isTraceEnabled()) {
         LOG.trace(
           "preset [{}][\"{}\"] zone [{}] modulator range [{}, {}) ({} modulators)",
@@ -570,10 +392,7 @@ public final class NTInterpreters implements NTInterpreterProviderType
       }
 
       for (var mod_index = mod_range.lower(); mod_index < mod_range.upper(); ++mod_index) {
-        checkPresetZoneModulatorIndex(preset, pmod, pmod_source, mod_index);
-        zone.addModulator(interpretPresetZoneModulator(
-          zone,
-          pmod.get(mod_index)));
+        zone.addModulator(interpretPresetZoneModulator(zone, pmod, mod_index));
       }
 
       if (LOG.isTraceEnabled()) {
@@ -588,168 +407,173 @@ public final class NTInterpreters implements NTInterpreterProviderType
       return zone;
     }
 
+    private static void resolvePresetZoneInstrument(
+      final NTIPreset preset,
+      final NTIPresetZone zone)
+    {
+      final var generator = zone.generatorFor(GENERATOR_INSTRUMENT);
+      if (generator.isPresent()) {
+        final var instruments = preset.font().instruments();
+        final var target = generator.get().amount().asUnsigned16();
+        if (target < instruments.size()) {
+          zone.setLinkedInstrument(instruments.get(target));
+        } else {
+          LOG.warn(
+            "preset [\"{}\"] zone {} refers to nonexistent instrument {}",
+            preset.name().value(),
+            zone,
+            Integer.valueOf(target));
+        }
+      }
+    }
+
+    private static void resolveInstrumentZoneSample(
+      final NTIIInstrument instrument,
+      final NTIInstrumentZone zone)
+    {
+      final var generator = zone.generatorFor(GENERATOR_SAMPLE_ID);
+      if (generator.isPresent()) {
+        final var samples = instrument.font().samples();
+        final var target = generator.get().amount().asUnsigned16();
+        if (target < samples.size()) {
+          zone.setLinkedSample(samples.get(target));
+        } else {
+          LOG.warn(
+            "instrument [\"{}\"] zone {} refers to nonexistent sample {}",
+            instrument.name().value(),
+            zone,
+            Integer.valueOf(target));
+        }
+      }
+    }
+
     private static NTIPresetZoneModulator interpretPresetZoneModulator(
       final NTIPresetZone zone,
-      final NTParsedPresetZoneModulator mod_curr)
+      final NTParsedModulatorTableType pmod,
+      final int mod_index)
     {
       final var named_generator =
-        NTGenerators.find(mod_curr.targetOperator());
+        NTGenerators.find(pmod.targetOperator(mod_index));
       final var named_transform =
-        NTTransforms.find(mod_curr.modulationTransformOperator());
+        NTTransforms.find(pmod.modulationTransformOperator(mod_index));
 
       return new NTIPresetZoneModulator(
         zone,
-        mod_curr.sourceOperator(),
+        pmod.sourceOperator(mod_index),
         named_generator,
-        mod_curr.modulationAmount(),
-        mod_curr.modulationAmountSourceOperator(),
+        pmod.modulationAmount(mod_index),
+        pmod.modulationAmountSourceOperator(mod_index),
         named_transform);
     }
 
     private static NTIPresetZoneGenerator interpretPresetZoneGenerator(
       final NTIPresetZone zone,
-      final NTParsedPresetZoneGenerator gen_curr)
+      final NTParsedGeneratorTableType pgen,
+      final int gen_index)
     {
       final var named_generator =
-        NTGenerators.find(gen_curr.generatorOperator());
+        NTGenerators.find(pgen.generatorOperator(gen_index));
       final var amount =
-        NTGenericAmount.of(gen_curr.amount().value());
+        NTGenericAmounts.of(pgen.amount(gen_index));
 
       return new NTIPresetZoneGenerator(zone, named_generator, amount);
     }
 
     private void interpretInstruments(
-      final NTIFont font)
-      throws NTParseException
+      final NTIFont font,
+      final NTIValidatedFile validated,
+      final boolean lazy)
     {
-      final var inst = this.file.inst();
+      final var inst = validated.file().instrumentTable();
+      final var size = inst.size();
 
       if (LOG.isDebugEnabled()) {
         LOG.debug(
           "interpreting {} instrument records (including terminal record)",
-          Integer.valueOf(inst.size()));
+          Integer.valueOf(size));
       }
 
-      NTInvariants.checkNamedTerminalRecordExists(
-        inst,
-        "EOI",
-        "7.6",
-        this.file.instrumentRecordsSource());
-
-      for (var index = 0; index < inst.size(); ++index) {
-        final var input_curr = inst.get(index);
-        if (isNamedTerminalRecord(index, inst.size(), input_curr, "EOI")) {
-          break;
-        }
-
-        final var input_next = inst.get(index + 1);
-        font.addInstrument(this.interpretInstrument(
+      final var instruments =
+        this.interpretRecords(size - 1, index -> interpretInstrument(
           font,
+          validated,
           index,
-          input_curr,
-          input_next));
+          lazy));
+
+      for (final var instrument : instruments) {
+        font.addInstrument(instrument);
       }
     }
 
-    private NTIIInstrument interpretInstrument(
+    private static NTIIInstrument interpretInstrument(
       final NTIFont font,
+      final NTIValidatedFile validated,
       final int instrument_index,
-      final NTParsedInstrument input_instrument_curr,
-      final NTParsedInstrument input_instrument_next)
-      throws NTParseException
+      final boolean lazy)
     {
       final var instrument =
         new NTIIInstrument(
           font,
           NTInstrumentIndex.of(instrument_index),
-          input_instrument_curr.name());
+          validated.file().instrumentTable().name(instrument_index));
 
-      final var ibag = this.file.ibag();
-      final var ibag_source = this.file.instrumentZoneRecordsSource();
+      if (lazy) {
+        instrument.setZoneLoader(
+          () -> interpretInstrumentZones(validated, instrument_index, instrument));
+      } else {
+        interpretInstrumentZones(validated, instrument_index, instrument);
+      }
+      return instrument;
+    }
 
-      final var zone_range =
-        makeRange(
-          "Instrument",
-          instrument.nameText(),
-          "Zone",
-          input_instrument_curr::instrumentZoneIndex,
-          input_instrument_next::instrumentZoneIndex,
-          ibag_source);
+    private static void interpretInstrumentZones(
+      final NTIValidatedFile validated,
+      final int instrument_index,
+      final NTIIInstrument instrument)
+    {
+      final var zone_range = validated.instrumentZones(instrument_index);
 
       if (LOG.isTraceEnabled()) {
         LOG.trace(
           "instrument [{}][\"{}\"] zone range [{}, {}) ({} zones)",
           Integer.valueOf(instrument_index),
-          input_instrument_curr.name().value(),
+          instrument.name().value(),
           Integer.valueOf(zone_range.lower()),
           Integer.valueOf(zone_range.upper()),
           Integer.valueOf(zone_range.interval()));
       }
 
-      NTInvariants.checkUnnamedTerminalRecordExists(ibag, "7.7", ibag_source);
-
       if (zone_range.interval() < 2) {
-        return instrument;
+        return;
       }
 
       for (var zone_index = zone_range.lower(); zone_index < zone_range.upper(); ++zone_index) {
-        checkInstrumentZoneIndex(
-          instrument_index,
-          ibag,
-          ibag_source,
-          zone_index);
-        final var zone_curr = ibag.get(zone_index);
-        checkInstrumentZoneIndex(
-          instrument_index,
-          ibag,
-          ibag_source,
-          zone_index + 1);
-        final var zone_next = ibag.get(zone_index + 1);
-
         instrument.addZone(
-          this.interpretInstrumentZone(
+          interpretInstrumentZone(
+            validated,
             instrument_index,
             instrument,
             zone_index,
-            zone_range.lower(),
-            zone_curr,
-            zone_next));
+            zone_range.lower()));
       }
-
-      return instrument;
     }
 
-    private NTIInstrumentZone interpretInstrumentZone(
+    private static NTIInstrumentZone interpretInstrumentZone(
+      final NTIValidatedFile validated,
       final int instrument_index,
       final NTIIInstrument instrument,
       final int zone_index,
-      final int zone_lower,
-      final NTParsedInstrumentZone zone_curr,
-      final NTParsedInstrumentZone zone_next)
-      throws NTParseException
+      final int zone_lower)
     {
-      final var igen = this.file.igen();
-      final var imod = this.file.imod();
-
-      final var igen_source = this.file.instrumentZoneGeneratorRecordsSource();
-      NTInvariants.checkUnnamedTerminalRecordExists(igen, "7.9", igen_source);
-      final var imod_source = this.file.instrumentZoneModulatorRecordsSource();
-      NTInvariants.checkUnnamedTerminalRecordExists(imod, "7.8", imod_source);
+      final var igen = validated.file().instrumentZoneGeneratorTable();
+      final var imod = validated.file().instrumentZoneModulatorTable();
 
       final var zone =
         new NTIInstrumentZone(instrument, zone_index - zone_lower);
       final var gen_range =
-        makeInstrumentZoneGeneratorRange(
-          instrument,
-          zone_curr,
-          zone_next,
-          igen_source);
+        validated.instrumentZoneGenerators(zone_index);
       final var mod_range =
-        makeInstrumentZoneModulatorRange(
-          instrument,
-          zone_curr,
-          zone_next,
-          imod_source);
+        validated.instrumentZoneModulators(zone_index);
 
       if (LOG.isTraceEnabled()) {
         LOG.trace(
@@ -763,16 +587,11 @@ public final class NTInterpreters implements NTInterpreterProviderType
       }
 
       for (var gen_index = gen_range.lower(); gen_index < gen_range.upper(); ++gen_index) {
-        checkInstrumentZoneGeneratorIndex(
-          instrument,
-          igen,
-          igen_source,
-          gen_index);
-        zone.addGenerator(interpretInstrumentZoneGenerator(
-          zone,
-          igen.get(gen_index)));
+        zone.addGenerator(interpretInstrumentZoneGenerator(zone, igen, gen_index));
       }
 
+      resolveInstrumentZoneSample(instrument, zone);
+
       if (LOG.isTraceEnabled()) {
         LOG.trace(
           "instrument [{}][\"{}\"] zone [{}] modulator range [{}, {}) ({} modulators)",
@@ -785,14 +604,7 @@ public final class NTInterpreters implements NTInterpreterProviderType
       }
 
       for (var mod_index = mod_range.lower(); mod_index < mod_range.upper(); ++mod_index) {
-        checkInstrumentZoneModulatorIndex(
-          instrument,
-          imod,
-          imod_source,
-          mod_index);
-        zone.addModulator(this.interpretInstrumentZoneModulator(
-          zone,
-          imod.get(mod_index)));
+        zone.addModulator(interpretInstrumentZoneModulator(zone, imod, mod_index));
       }
 
       if (LOG.isTraceEnabled()) {
@@ -807,21 +619,22 @@ public final class NTInterpreters implements NTInterpreterProviderType
       return zone;
     }
 
-    private NTIInstrumentZoneModulator interpretInstrumentZoneModulator(
+    private static NTIInstrumentZoneModulator interpretInstrumentZoneModulator(
       final NTIInstrumentZone zone,
-      final NTParsedInstrumentZoneModulator mod_curr)
+      final NTParsedModulatorTableType imod,
+      final int mod_index)
     {
       final var named_generator =
-        NTGenerators.find(mod_curr.targetOperator());
+        NTGenerators.find(imod.targetOperator(mod_index));
       final var named_transform =
-        NTTransforms.find(mod_curr.modulationTransformOperator());
+        NTTransforms.find(imod.modulationTransformOperator(mod_index));
 
       return new NTIInstrumentZoneModulator(
         zone,
-        mod_curr.sourceOperator(),
+        imod.sourceOperator(mod_index),
         named_generator,
-        mod_curr.modulationAmount(),
-        mod_curr.modulationAmountSourceOperator(),
+        imod.modulationAmount(mod_index),
+        imod.modulationAmountSourceOperator(mod_index),
         named_transform);
     }
 
@@ -829,33 +642,37 @@ public final class NTInterpreters implements NTInterpreterProviderType
       final NTIFont font)
       throws NTParseException
     {
-      final var samples = this.file.sampleRecords();
+      final var samples = this.file.sampleTable();
+      final var size = samples.size();
 
       if (LOG.isDebugEnabled()) {
         LOG.debug(
           "interpreting {} sample records (including terminal record)",
-          Integer.valueOf(samples.size()));
+          Integer.valueOf(size));
       }
 
-      NTInvariants.checkNamedTerminalRecordExists(
-        samples,
-        "EOS",
-        "7.10",
-        this.file.sampleRecordsSource());
+      if (!this.terminals_checked) {
+        NTInvariants.checkNamedTerminalRecordExists(
+          size,
+          samples::record,
+          "EOS",
+          "7.10",
+          this.file.sampleRecordsSource());
+      }
 
-      for (var sample_index = 0; sample_index < samples.size(); ++sample_index) {
-        final var input_sample = samples.get(sample_index);
+      final var data = this.file.sampleData();
+      for (var sample_index = 0; sample_index < size; ++sample_index) {
+        final var input_sample = samples.record(sample_index);
         if (isNamedTerminalRecord(
           sample_index,
-          samples.size(),
+          size,
           input_sample,
           "EOS")) {
           break;
         }
 
-        font.addSample(interpretSample(font, sample_index, input_sample));
+        font.addSample(interpretSample(font, data, sample_index, input_sample));
       }
     }
   }
-
 }
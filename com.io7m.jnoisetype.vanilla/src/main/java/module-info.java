@@ -38,6 +38,8 @@ module com.io7m.jnoisetype.vanilla
     with com.io7m.jnoisetype.vanilla.NTParsersService;
   provides com.io7m.jnoisetype.parser.api.NTInterpreterProviderType
     with com.io7m.jnoisetype.vanilla.interpreter.NTInterpreters;
+  provides com.io7m.jnoisetype.parser.api.NTFontLoaderProviderType
+    with com.io7m.jnoisetype.vanilla.NTFontLoaders;
   provides com.io7m.jnoisetype.writer.api.NTWriterProviderType
     with com.io7m.jnoisetype.vanilla.NTWritersService;
   provides com.io7m.jnoisetype.writer.api.NTBuilderProviderType
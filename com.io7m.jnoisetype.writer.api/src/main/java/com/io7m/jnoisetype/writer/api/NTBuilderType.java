@@ -30,6 +30,10 @@ public interface NTBuilderType
 {
   /**
    * @return An immutable description of a file to be written
+   *
+   * @throws IllegalStateException If a sample has a low byte writer but the font version is
+   *                               older than 2.04
+   * @see NTSampleBuilderType#setLowByteDataWriter(NTSampleDataWriterType)
    */
 
   NTWriterDescriptionType build();
@@ -25,6 +25,8 @@ import com.io7m.jranges.RangeCheck;
 import com.io7m.jranges.Ranges;
 import org.immutables.value.Value;
 
+import java.util.Optional;
+
 /**
  * A description of a sample.
  */
@@ -115,6 +117,14 @@ public interface NTSampleBuilderDescriptionType
 
   NTSampleDataWriterType dataWriter();
 
+  /**
+   * @return The writer function for the least significant eight bits of 24-bit sample values
+   *
+   * @see NTSampleBuilderType#setLowByteDataWriter(NTSampleDataWriterType)
+   */
+
+  Optional<NTSampleDataWriterType> lowByteDataWriter();
+
   /**
    * Check preconditions for the type.
    */
@@ -187,4 +187,23 @@ public interface NTSampleBuilderType
    */
 
   NTSampleBuilderType setDataWriter(NTSampleDataWriterType writer);
+
+  /**
+   * Set the writer for the least significant eight bits of the sample values, making the sample
+   * a 24-bit sample. The writer is expected to produce exactly {@link #sampleCount()} bytes upon
+   * request, and the data writer set with {@link #setDataWriter(NTSampleDataWriterType)} then
+   * produces the most significant sixteen bits of each sample value. If any sample in a font has
+   * a low byte writer, an {@code sm24} chunk is written, and samples without a low byte writer
+   * have their low bytes written as zeros. Readers ignore the {@code sm24} chunk unless the font
+   * version is at least 2.04, and so {@link NTBuilderType#build()} rejects fonts that contain
+   * 24-bit samples but declare an older version.
+   *
+   * @param writer The writer
+   *
+   * @return The current builder
+   *
+   * @see "SoundFont® Technical Specification 2.04, §6.2 Sample Data Format in the sm24 Sub-chunk"
+   */
+
+  NTSampleBuilderType setLowByteDataWriter(NTSampleDataWriterType writer);
 }